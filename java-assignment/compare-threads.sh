@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Platform vs virtual thread comparison: starts the packaged application once per mode, drives it
+# with EndpointLoadTest at each concurrency and prints the Markdown table of all runs.
+#
+#   ./compare-threads.sh [concurrency ...]    (default: 50 400 1000)
+#
+# Needs a running PostgreSQL (docker-compose.yml) and JDK 21. Results are appended to
+# target/load-result.json; the table is also written to target/load-result.md.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+if [[ $# -gt 0 ]]; then levels=("$@"); else levels=(50 400 1000); fi
+out=target/load-result.json
+app=
+
+stop_app() {
+  if [[ -n "$app" ]]; then
+    kill "$app" 2>/dev/null || true
+    wait "$app" 2>/dev/null || true
+    app=
+  fi
+}
+trap stop_app EXIT
+
+mvn -B -q package -DskipTests
+mvn -B -q -Pjmh compile
+rm -f "$out"
+
+for mode in platform virtual; do
+  flags=()
+  [[ "$mode" == platform ]] && flags+=(-Dquarkus.virtual-threads.enabled=false)
+  java "${flags[@]}" -jar target/quarkus-app/quarkus-run.jar > "target/app-$mode.log" 2>&1 &
+  app=$!
+  until curl -sf localhost:8080/q/health/ready > /dev/null; do sleep 1; done
+
+  for concurrency in "${levels[@]}"; do
+    mvn -B -q -Pjmh exec:java \
+      -Dexec.mainClass=com.fulfilment.application.monolith.benchmarks.EndpointLoadTest \
+      -Dexec.args="--label $mode --concurrency $concurrency --out $out"
+  done
+  stop_app
+done
+
+mvn -B -q -Pjmh exec:java \
+  -Dexec.mainClass=com.fulfilment.application.monolith.benchmarks.EndpointLoadTest \
+  -Dexec.args="--report $out" | tee target/load-result.md
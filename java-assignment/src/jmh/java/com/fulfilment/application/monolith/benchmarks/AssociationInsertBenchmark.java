@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts per second for a bulk import of 100k associations, issuing the JDBC calls Hibernate
+ * makes for {@code WarehouseProductStoreRepository.bulkInsert}: one sequence call per {@code
+ * allocationSize} ids and one round trip per {@code batchSize} inserts.
+ *
+ * <p>{@code allocationSize=50} is the previous default id generator and {@code 500} the pooled-lo
+ * sequence of {@code DbWarehouseProductStore}; {@code batchSize=1} is an import without JDBC
+ * batching. Against in-memory H2 a round trip costs next to nothing, so point {@code url} at
+ * PostgreSQL (with {@code reWriteBatchedInserts=true}) to see the network cost; the benchmark
+ * only touches its own {@code bench_association} table and sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class AssociationInsertBenchmark {
+
+  private static final int ROWS = 100_000;
+
+  @Param({"jdbc:h2:mem:bench-insert;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;USER=sa"})
+  String url;
+
+  @Param({"50", "500"})
+  int allocationSize;
+
+  @Param({"1", "50"})
+  int batchSize;
+
+  private Connection connection;
+  private PreparedStatement nextId;
+  private PreparedStatement insert;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection(url);
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute("drop table if exists bench_association");
+      ddl.execute("drop sequence if exists bench_association_seq");
+      ddl.execute(
+          "create table bench_association (id bigint primary key, productId bigint,"
+              + " storeId bigint, warehouseBusinessUnitCode varchar(255), createdAt timestamp,"
+              + " constraint uk_bench_association"
+              + " unique (productId, storeId, warehouseBusinessUnitCode))");
+      ddl.execute(
+          "create sequence bench_association_seq start with 1 increment by " + allocationSize);
+    }
+    connection.setAutoCommit(false);
+    nextId = connection.prepareStatement("select nextval('bench_association_seq')");
+    insert =
+        connection.prepareStatement(
+            "insert into bench_association"
+                + " (createdAt, productId, storeId, warehouseBusinessUnitCode, id)"
+                + " values (?, ?, ?, ?, ?)");
+  }
+
+  @Setup(Level.Invocation)
+  public void emptyTable() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("truncate table bench_association");
+    }
+    connection.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute("drop table bench_association");
+      ddl.execute("drop sequence bench_association_seq");
+    }
+    connection.commit();
+    connection.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void bulkInsert() throws SQLException {
+    var createdAt = new Timestamp(System.currentTimeMillis());
+    long id = 0;
+    long lastId = -1;
+    for (int i = 0; i < ROWS; i++) {
+      if (id > lastId) {
+        // pooled-lo: the sequence value is the first id of the next block
+        id = nextSequenceValue();
+        lastId = id + allocationSize - 1;
+      }
+      var association = BenchmarkData.association(i);
+      insert.setTimestamp(1, createdAt);
+      insert.setLong(2, association.productId);
+      insert.setLong(3, association.storeId);
+      insert.setString(4, association.warehouseBusinessUnitCode);
+      insert.setLong(5, id++);
+      if (batchSize == 1) {
+        insert.executeUpdate();
+        continue;
+      }
+      insert.addBatch();
+      if ((i + 1) % batchSize == 0) {
+        insert.executeBatch();
+      }
+    }
+    insert.executeBatch();
+    connection.commit();
+  }
+
+  private long nextSequenceValue() throws SQLException {
+    try (ResultSet rows = nextId.executeQuery()) {
+      rows.next();
+      return rows.getLong(1);
+    }
+  }
+}
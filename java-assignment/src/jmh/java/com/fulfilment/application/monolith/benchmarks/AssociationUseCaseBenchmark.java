@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationResult;
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import com.fulfilment.application.monolith.fulfillment.domain.usecases.AssociateWarehouseToProductStoreUseCase;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Association use case against {@link InMemoryWarehouseProductStoreStore} seeded with {@code size}
+ * associations, 12 per store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssociationUseCaseBenchmark {
+
+  private static final int BULK_STORES = 100;
+
+  @Param({"1000", "100000", "1000000"})
+  int size;
+
+  private InMemoryWarehouseProductStoreStore store;
+  private AssociateWarehouseToProductStoreUseCase useCase;
+  private SplittableRandom random;
+  private long stores;
+  private long nextBulkStore;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    store = new InMemoryWarehouseProductStoreStore();
+    for (long row = 0; row < size; row++) {
+      store.create(BenchmarkData.association(row));
+    }
+    useCase = new AssociateWarehouseToProductStoreUseCase(store);
+    random = new SplittableRandom(42);
+    stores = size / BenchmarkData.ASSOCIATIONS_PER_STORE;
+    nextBulkStore = stores + 1;
+  }
+
+  /** Adds a fifth product to a seeded warehouse, then removes it again. */
+  @Benchmark
+  public void associateAccepted() {
+    long storeId = random.nextLong(stores);
+    String warehouse = BenchmarkData.storeWarehouse(storeId, 0);
+    useCase.associate(99L, storeId, warehouse);
+    store.remove(99L, storeId, warehouse);
+  }
+
+  /** Duplicate of a seeded association: exercises the full check and the 409 path. */
+  @Benchmark
+  public String associateRejected() {
+    long storeId = random.nextLong(stores);
+    try {
+      useCase.associate(0L, storeId, BenchmarkData.storeWarehouse(storeId, 0));
+      return null;
+    } catch (WebApplicationException e) {
+      return e.getMessage();
+    }
+  }
+
+  /** Bulk import of 12 associations into each of 100 new stores (1,200 rows). */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<AssociationResult> associateAllBulk() {
+    var requests = new ArrayList<WarehouseProductStore>(
+        BULK_STORES * BenchmarkData.ASSOCIATIONS_PER_STORE);
+    for (int s = 0; s < BULK_STORES; s++) {
+      long base = nextBulkStore++ * BenchmarkData.ASSOCIATIONS_PER_STORE;
+      for (int r = 0; r < BenchmarkData.ASSOCIATIONS_PER_STORE; r++) {
+        requests.add(BenchmarkData.association(base + r));
+      }
+    }
+    return useCase.associateAll(requests);
+  }
+}
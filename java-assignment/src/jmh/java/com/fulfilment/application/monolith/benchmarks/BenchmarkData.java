@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic datasets shared by the benchmarks. */
+final class BenchmarkData {
+
+  // Associations per seeded store: 3 warehouses x 4 products, one product short of every limit
+  static final int ASSOCIATIONS_PER_STORE = 12;
+  static final int WAREHOUSES_PER_STORE = 3;
+
+  static final int WAREHOUSE_STOCK = 10;
+
+  private BenchmarkData() {}
+
+  static String locationId(int index) {
+    return "LOC-" + index;
+  }
+
+  static String businessUnitCode(long index) {
+    return "MWH." + index;
+  }
+
+  /** Locations roomy enough that the use case checks pass and the full happy path is measured. */
+  static List<Location> locations(int count) {
+    var locations = new ArrayList<Location>(count);
+    for (int i = 0; i < count; i++) {
+      locations.add(new Location(locationId(i), Integer.MAX_VALUE, 1_000_000));
+    }
+    return locations;
+  }
+
+  static Warehouse warehouse(long index, int locationCount) {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode(index);
+    warehouse.location = locationId((int) (index % locationCount));
+    warehouse.capacity = 100;
+    warehouse.stock = WAREHOUSE_STOCK;
+    return warehouse;
+  }
+
+  static String storeWarehouse(long storeId, int slot) {
+    return "WH-" + storeId + "-" + slot;
+  }
+
+  /** The {@code row}-th association: store {@code row / 12}, warehouse {@code row % 3}. */
+  static WarehouseProductStore association(long row) {
+    long storeId = row / ASSOCIATIONS_PER_STORE;
+    int inStore = (int) (row % ASSOCIATIONS_PER_STORE);
+    return new WarehouseProductStore(
+        (long) (inStore / WAREHOUSES_PER_STORE),
+        storeId,
+        storeWarehouse(storeId, inStore % WAREHOUSES_PER_STORE));
+  }
+}
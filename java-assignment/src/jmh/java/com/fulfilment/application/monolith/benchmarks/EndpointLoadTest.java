@@ -0,0 +1,285 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop HTTP load test against a running instance of the application.
+ *
+ * <p>{@code concurrency} clients each issue requests back to back, cycling through {@code paths},
+ * for a warm-up period and then a measured period. The summary reports throughput and latency
+ * percentiles over the measured period only. Comparing platform and virtual threads means running
+ * it twice against the same build: once as started normally, once started with
+ * {@code -Dquarkus.virtual-threads.enabled=false}, which puts the {@code @RunOnVirtualThread}
+ * endpoints back on the worker pool.
+ *
+ * <p>Options (all optional): {@code --url}, {@code --paths} (comma separated),
+ * {@code --concurrency}, {@code --warmup} and {@code --duration} (seconds), {@code --label} and
+ * {@code --out}, a file one JSON line per run is appended to.
+ *
+ * <p>{@code --report <file>} runs nothing: it reads such a file and prints its runs as a Markdown
+ * table, one row per label and concurrency, with throughput and p99 of every label relative to
+ * the first label at the same concurrency.
+ */
+public final class EndpointLoadTest {
+
+  private EndpointLoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    if (options.containsKey("report")) {
+      System.out.print(report(Files.readAllLines(Path.of(options.get("report")))));
+      return;
+    }
+    URI base = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+    List<String> paths =
+        Arrays.asList(options.getOrDefault("paths", "/warehouse,/store,/product").split(","));
+    int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+    Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+    Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+    String label = options.getOrDefault("label", "run");
+
+    Result result = run(base, paths, concurrency, warmup, duration);
+    String summary = result.toJson(label, concurrency);
+    System.out.println(summary);
+    if (options.containsKey("out")) {
+      Files.writeString(
+          Path.of(options.get("out")),
+          summary + System.lineSeparator(),
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    }
+  }
+
+  static Result run(
+      URI base, List<String> paths, int concurrency, Duration warmup, Duration duration)
+      throws Exception {
+    // The client side runs on virtual threads regardless of the server mode, so it is never the
+    // limit on how many requests are in flight.
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      HttpClient http =
+          HttpClient.newBuilder()
+              .executor(clients)
+              .connectTimeout(Duration.ofSeconds(5))
+              .build();
+      List<HttpRequest> requests = new ArrayList<>(paths.size());
+      for (String path : paths) {
+        requests.add(
+            HttpRequest.newBuilder(base.resolve(path.trim()))
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build());
+      }
+
+      AtomicBoolean measuring = new AtomicBoolean(false);
+      AtomicBoolean stopped = new AtomicBoolean(false);
+      List<Future<Recorder>> workers = new ArrayList<>(concurrency);
+      for (int i = 0; i < concurrency; i++) {
+        int offset = i;
+        workers.add(
+            clients.submit(() -> drive(http, requests, offset, measuring, stopped)));
+      }
+
+      Thread.sleep(warmup.toMillis());
+      measuring.set(true);
+      long start = System.nanoTime();
+      Thread.sleep(duration.toMillis());
+      stopped.set(true);
+      long elapsed = System.nanoTime() - start;
+
+      Recorder total = new Recorder();
+      for (Future<Recorder> worker : workers) {
+        total.addAll(worker.get());
+      }
+      return total.result(elapsed);
+    }
+  }
+
+  private static Recorder drive(
+      HttpClient http,
+      List<HttpRequest> requests,
+      int offset,
+      AtomicBoolean measuring,
+      AtomicBoolean stopped) {
+    Recorder recorder = new Recorder();
+    int next = offset;
+    while (!stopped.get()) {
+      HttpRequest request = requests.get(next++ % requests.size());
+      long sent = System.nanoTime();
+      boolean ok;
+      try {
+        ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+      } catch (IOException e) {
+        ok = false;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      if (measuring.get() && !stopped.get()) {
+        recorder.record(System.nanoTime() - sent, ok);
+      }
+    }
+    return recorder;
+  }
+
+  /** Markdown table of the JSON lines written by {@code --out}. */
+  static String report(List<String> lines) {
+    List<Map<String, String>> runs = new ArrayList<>();
+    for (String line : lines) {
+      if (!line.isBlank()) {
+        runs.add(fields(line));
+      }
+    }
+    Map<String, Map<String, String>> baselines = new HashMap<>();
+    for (Map<String, String> run : runs) {
+      baselines.putIfAbsent(run.get("concurrency"), run);
+    }
+    StringBuilder table =
+        new StringBuilder(
+            "| Mode | Concurrency | Requests/s | p50 ms | p99 ms | p99.9 ms | Max ms | Errors"
+                + " | Throughput vs first | p99 vs first |\n"
+                + "|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+    for (Map<String, String> run : runs) {
+      Map<String, String> baseline = baselines.get(run.get("concurrency"));
+      table.append(
+          String.format(
+              Locale.ROOT,
+              "| %s | %s | %s | %s | %s | %s | %s | %s | %.2fx | %.2fx |%n",
+              run.get("label"),
+              run.get("concurrency"),
+              run.get("throughput"),
+              run.get("p50Ms"),
+              run.get("p99Ms"),
+              run.get("p999Ms"),
+              run.get("maxMs"),
+              run.get("errors"),
+              ratio(run, baseline, "throughput"),
+              ratio(run, baseline, "p99Ms")));
+    }
+    return table.toString();
+  }
+
+  private static double ratio(Map<String, String> run, Map<String, String> baseline, String key) {
+    double base = Double.parseDouble(baseline.get(key));
+    return base == 0 ? 0 : Double.parseDouble(run.get(key)) / base;
+  }
+
+  // The lines are the flat objects written by Result.toJson, so splitting on commas is enough
+  private static Map<String, String> fields(String json) {
+    Map<String, String> fields = new HashMap<>();
+    String body = json.strip();
+    for (String pair : body.substring(1, body.length() - 1).split(",")) {
+      int colon = pair.indexOf(':');
+      fields.put(
+          pair.substring(0, colon).replace("\"", "").strip(),
+          pair.substring(colon + 1).replace("\"", "").strip());
+    }
+    return fields;
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      if (!args[i].startsWith("--")) {
+        throw new IllegalArgumentException("Expected an option but got '" + args[i] + "'");
+      }
+      options.put(args[i].substring(2), args[i + 1]);
+    }
+    return options;
+  }
+
+  /** Per-client latency log; merged once the run is over, so recording never contends. */
+  static final class Recorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean ok) {
+      if (!ok) {
+        errors++;
+      }
+      if (size == latencies.length) {
+        latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = nanos;
+    }
+
+    void addAll(Recorder other) {
+      if (size + other.size > latencies.length) {
+        latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+      }
+      System.arraycopy(other.latencies, 0, latencies, size, other.size);
+      size += other.size;
+      errors += other.errors;
+    }
+
+    Result result(long elapsedNanos) {
+      long[] sorted = Arrays.copyOf(latencies, size);
+      Arrays.sort(sorted);
+      return new Result(
+          size,
+          errors,
+          size * 1_000_000_000d / elapsedNanos,
+          percentile(sorted, 0.50),
+          percentile(sorted, 0.99),
+          percentile(sorted, 0.999),
+          size == 0 ? 0 : sorted[size - 1]);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(p * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+  }
+
+  record Result(
+      long requests,
+      long errors,
+      double throughputPerSecond,
+      long p50Nanos,
+      long p99Nanos,
+      long p999Nanos,
+      long maxNanos) {
+
+    String toJson(String label, int concurrency) {
+      return String.format(
+          Locale.ROOT,
+          "{\"label\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+              + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"p999Ms\":%.2f,"
+              + "\"maxMs\":%.2f}",
+          label,
+          concurrency,
+          requests,
+          errors,
+          throughputPerSecond,
+          p50Nanos / 1e6,
+          p99Nanos / 1e6,
+          p999Nanos / 1e6,
+          maxNanos / 1e6);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The SQL issued by {@code WarehouseRepository} and {@code WarehouseProductStoreRepository}, run
+ * over JDBC against an in-memory H2 database (PostgreSQL mode) with the same tables and indexes as
+ * the entities. {@code size} rows are seeded into both tables.
+ *
+ * <p>{@link #associationChecksFourQueries} replays the per-association lookups the use case made
+ * before the single aggregate query, for a direct comparison with {@link
+ * #associationChecksAggregate}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class H2RepositoryBenchmark {
+
+  private static final int LOCATIONS = 1_000;
+
+  private static final String CONSTRAINT_COUNTS_SQL =
+      "select"
+          + " count(case when productId = ? and warehouseBusinessUnitCode = ? then 1 end),"
+          + " count(distinct case when productId = ? then warehouseBusinessUnitCode end),"
+          + " count(distinct warehouseBusinessUnitCode),"
+          + " count(distinct case when warehouseBusinessUnitCode = ? then productId end)"
+          + " from warehouse_product_store where storeId = ?";
+
+  private static final String ASSOCIATION_COLUMNS =
+      "select id, productId, storeId, warehouseBusinessUnitCode, createdAt"
+          + " from warehouse_product_store where ";
+
+  @Param({"1000", "100000", "1000000"})
+  int size;
+
+  private Connection connection;
+  private PreparedStatement findActiveByCode;
+  private PreparedStatement countActiveByLocation;
+  private PreparedStatement constraintCounts;
+  private PreparedStatement findAssociation;
+  private PreparedStatement findByProductAndStore;
+  private PreparedStatement findByStore;
+  private PreparedStatement findByWarehouse;
+  private SplittableRandom random;
+  private long stores;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection =
+        DriverManager.getConnection(
+            "jdbc:h2:mem:bench-" + size + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute(
+          "create table warehouse (id bigint primary key, businessUnitCode varchar(255),"
+              + " activeBusinessUnitCode varchar(255), location varchar(255), capacity integer,"
+              + " stock integer, createdAt timestamp, archivedAt timestamp,"
+              + " constraint uk_warehouse_active_business_unit_code"
+              + " unique (activeBusinessUnitCode))");
+      ddl.execute(
+          "create index idx_warehouse_location_archived on warehouse (location, archivedAt)");
+      ddl.execute("create index idx_warehouse_business_unit_code on warehouse (businessUnitCode)");
+      ddl.execute(
+          "create table warehouse_product_store (id bigint primary key, productId bigint,"
+              + " storeId bigint, warehouseBusinessUnitCode varchar(255), createdAt timestamp,"
+              + " constraint uk_warehouse_product_store"
+              + " unique (productId, storeId, warehouseBusinessUnitCode))");
+      ddl.execute(
+          "create index idx_wps_store_warehouse"
+              + " on warehouse_product_store (storeId, warehouseBusinessUnitCode)");
+      ddl.execute(
+          "create index idx_wps_warehouse on warehouse_product_store (warehouseBusinessUnitCode)");
+
+      // Set-based seed, same layout as BenchmarkData
+      ddl.execute(
+          "insert into warehouse"
+              + " select x, 'MWH.' || x, 'MWH.' || x, 'LOC-' || mod(x, "
+              + LOCATIONS
+              + "), 100, 10, current_timestamp, null from system_range(0, "
+              + (size - 1)
+              + ")");
+      ddl.execute(
+          "insert into warehouse_product_store"
+              + " select x, mod(x, 12) / 3, x / 12, 'WH-' || (x / 12) || '-' || mod(x, 3),"
+              + " current_timestamp from system_range(0, "
+              + (size - 1)
+              + ")");
+      ddl.execute("analyze");
+    }
+
+    findActiveByCode =
+        connection.prepareStatement(
+            "select id, businessUnitCode, location, capacity, stock, createdAt, archivedAt"
+                + " from warehouse where activeBusinessUnitCode = ?");
+    countActiveByLocation =
+        connection.prepareStatement(
+            "select count(*) from warehouse where location = ? and archivedAt is null");
+    constraintCounts = connection.prepareStatement(CONSTRAINT_COUNTS_SQL);
+    findAssociation =
+        connection.prepareStatement(
+            ASSOCIATION_COLUMNS
+                + "productId = ? and storeId = ? and warehouseBusinessUnitCode = ?");
+    findByProductAndStore =
+        connection.prepareStatement(ASSOCIATION_COLUMNS + "productId = ? and storeId = ?");
+    findByStore = connection.prepareStatement(ASSOCIATION_COLUMNS + "storeId = ?");
+    findByWarehouse =
+        connection.prepareStatement(ASSOCIATION_COLUMNS + "warehouseBusinessUnitCode = ?");
+
+    random = new SplittableRandom(42);
+    stores = Math.max(1, size / BenchmarkData.ASSOCIATIONS_PER_STORE);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("drop all objects");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public void findActiveByBusinessUnitCode(Blackhole blackhole) throws SQLException {
+    findActiveByCode.setString(1, BenchmarkData.businessUnitCode(random.nextInt(size)));
+    drain(findActiveByCode, blackhole);
+  }
+
+  @Benchmark
+  public void countActiveByLocation(Blackhole blackhole) throws SQLException {
+    countActiveByLocation.setString(1, BenchmarkData.locationId(random.nextInt(LOCATIONS)));
+    drain(countActiveByLocation, blackhole);
+  }
+
+  @Benchmark
+  public void associationChecksAggregate(Blackhole blackhole) throws SQLException {
+    long storeId = random.nextLong(stores);
+    String warehouse = BenchmarkData.storeWarehouse(storeId, 0);
+    constraintCounts.setLong(1, 99L);
+    constraintCounts.setString(2, warehouse);
+    constraintCounts.setLong(3, 99L);
+    constraintCounts.setString(4, warehouse);
+    constraintCounts.setLong(5, storeId);
+    drain(constraintCounts, blackhole);
+  }
+
+  @Benchmark
+  public void associationChecksFourQueries(Blackhole blackhole) throws SQLException {
+    long storeId = random.nextLong(stores);
+    String warehouse = BenchmarkData.storeWarehouse(storeId, 0);
+    findAssociation.setLong(1, 99L);
+    findAssociation.setLong(2, storeId);
+    findAssociation.setString(3, warehouse);
+    drain(findAssociation, blackhole);
+    findByProductAndStore.setLong(1, 99L);
+    findByProductAndStore.setLong(2, storeId);
+    drain(findByProductAndStore, blackhole);
+    findByStore.setLong(1, storeId);
+    drain(findByStore, blackhole);
+    findByWarehouse.setString(1, warehouse);
+    drain(findByWarehouse, blackhole);
+  }
+
+  private static void drain(PreparedStatement statement, Blackhole blackhole)
+      throws SQLException {
+    try (ResultSet rows = statement.executeQuery()) {
+      int columns = rows.getMetaData().getColumnCount();
+      while (rows.next()) {
+        for (int i = 1; i <= columns; i++) {
+          blackhole.consume(rows.getObject(i));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
+import com.fulfilment.application.monolith.fulfillment.domain.models.StoreAssociationSnapshot;
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import com.fulfilment.application.monolith.fulfillment.domain.ports.WarehouseProductStoreStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/** Store-indexed {@link WarehouseProductStoreStore} fake for the association benchmarks. */
+class InMemoryWarehouseProductStoreStore implements WarehouseProductStoreStore {
+
+  private final Map<Long, List<WarehouseProductStore>> byStore = new HashMap<>();
+
+  @Override
+  public void create(WarehouseProductStore association) {
+    byStore.computeIfAbsent(association.storeId, id -> new ArrayList<>()).add(association);
+  }
+
+  @Override
+  public void createAll(List<WarehouseProductStore> associations) {
+    associations.forEach(this::create);
+  }
+
+  @Override
+  public void remove(Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    var associations = byStore.get(storeId);
+    if (associations != null) {
+      associations.removeIf(a -> matches(a, productId, warehouseBusinessUnitCode));
+    }
+  }
+
+  @Override
+  public List<WarehouseProductStore> findByProductAndStore(Long productId, Long storeId) {
+    return findByStore(storeId).stream().filter(a -> a.productId.equals(productId)).toList();
+  }
+
+  @Override
+  public List<WarehouseProductStore> findByStore(Long storeId) {
+    return byStore.getOrDefault(storeId, List.of());
+  }
+
+  @Override
+  public List<WarehouseProductStore> findByStores(Collection<Long> storeIds) {
+    var result = new ArrayList<WarehouseProductStore>();
+    storeIds.forEach(id -> result.addAll(findByStore(id)));
+    return result;
+  }
+
+  @Override
+  public List<WarehouseProductStore> findByWarehouse(String warehouseBusinessUnitCode) {
+    return byStore.values().stream()
+        .flatMap(List::stream)
+        .filter(a -> a.warehouseBusinessUnitCode.equals(warehouseBusinessUnitCode))
+        .toList();
+  }
+
+  @Override
+  public WarehouseProductStore findAssociation(
+      Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    return findByStore(storeId).stream()
+        .filter(a -> matches(a, productId, warehouseBusinessUnitCode))
+        .findFirst()
+        .orElse(null);
+  }
+
+  @Override
+  public AssociationConstraintCounts countConstraints(
+      Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    return new StoreAssociationSnapshot(findByStore(storeId))
+        .countConstraints(productId, storeId, warehouseBusinessUnitCode);
+  }
+
+  private static boolean matches(
+      WarehouseProductStore association, Long productId, String warehouseBusinessUnitCode) {
+    return association.productId.equals(productId)
+        && Objects.equals(association.warehouseBusinessUnitCode, warehouseBusinessUnitCode);
+  }
+}
@@ -0,0 +1,131 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-indexed {@link WarehouseStore} fake, so use case benchmarks measure the domain logic rather
+ * than the database. Archived warehouses are only counted, which keeps the active set stable
+ * across replace benchmarks.
+ */
+class InMemoryWarehouseStore implements WarehouseStore {
+
+  private final Map<String, Warehouse> activeByCode = new HashMap<>();
+  private final Map<String, long[]> countAndCapacityByLocation = new HashMap<>();
+  private long archivedCount;
+  private long nextId = 1;
+
+  @Override
+  public List<Warehouse> getAll() {
+    return new ArrayList<>(activeByCode.values());
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    warehouse.id = nextId++;
+    activeByCode.put(warehouse.businessUnitCode, warehouse);
+    var totals = countAndCapacityByLocation.computeIfAbsent(warehouse.location, l -> new long[2]);
+    totals[0]++;
+    totals[1] += warehouse.capacity;
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    var existing = activeByCode.get(warehouse.businessUnitCode);
+    if (existing == null) {
+      return;
+    }
+    if (warehouse.archivedAt != null) {
+      remove(existing);
+      return;
+    }
+    var totals = countAndCapacityByLocation.get(existing.location);
+    totals[1] += warehouse.capacity - existing.capacity;
+    existing.capacity = warehouse.capacity;
+    existing.stock = warehouse.stock;
+  }
+
+  @Override
+  public void replaceActive(Warehouse oldWarehouse, Warehouse newWarehouse) {
+    remove(oldWarehouse);
+    create(newWarehouse);
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    var existing = activeByCode.remove(warehouse.businessUnitCode);
+    if (existing != null) {
+      var totals = countAndCapacityByLocation.get(existing.location);
+      totals[0]--;
+      totals[1] -= existing.capacity;
+      archivedCount++;
+    }
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    return activeByCode.get(buCode);
+  }
+
+  @Override
+  public Map<String, Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    var warehouses = new HashMap<String, Warehouse>();
+    for (String buCode : buCodes) {
+      var warehouse = activeByCode.get(buCode);
+      if (warehouse != null) {
+        warehouses.put(buCode, warehouse);
+      }
+    }
+    return warehouses;
+  }
+
+  @Override
+  public long countActiveByLocation(String location) {
+    var totals = countAndCapacityByLocation.get(location);
+    return totals == null ? 0 : totals[0];
+  }
+
+  @Override
+  public long sumActiveCapacityByLocation(String location) {
+    var totals = countAndCapacityByLocation.get(location);
+    return totals == null ? 0 : totals[1];
+  }
+
+  // Single-threaded, so the active totals double as the quota: create and remove keep them current
+  @Override
+  public boolean reserveLocationCapacity(Location location, int warehouses, int capacity) {
+    return (warehouses <= 0
+            || countActiveByLocation(location.identification) + warehouses
+                <= location.maxNumberOfWarehouses)
+        && (capacity <= 0
+            || sumActiveCapacityByLocation(location.identification) + capacity
+                <= location.maxCapacity);
+  }
+
+  @Override
+  public void releaseLocationCapacity(String location, int capacity) {}
+
+  @Override
+  public LocationOccupancy findLocationOccupancy(String location) {
+    return new LocationOccupancy(
+        countActiveByLocation(location), sumActiveCapacityByLocation(location));
+  }
+
+  @Override
+  public Map<String, LocationOccupancy> findLocationOccupancies(Collection<String> locations) {
+    var occupancies = new HashMap<String, LocationOccupancy>();
+    locations.forEach(location -> occupancies.put(location, findLocationOccupancy(location)));
+    return occupancies;
+  }
+
+  long archivedCount() {
+    return archivedCount;
+  }
+}
@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Location lookups against a registry of {@code size} locations. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationGatewayBenchmark {
+
+  private static final int BATCH = 100;
+
+  @Param({"1000", "100000", "1000000"})
+  int size;
+
+  private LocationGateway gateway;
+  private String[] identifiers;
+  private List<String> batch;
+  private int cursor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    gateway = new LocationGateway();
+    gateway.reload(BenchmarkData.locations(size));
+
+    var random = new SplittableRandom(42);
+    identifiers = new String[4096];
+    for (int i = 0; i < identifiers.length; i++) {
+      identifiers[i] = BenchmarkData.locationId(random.nextInt(size));
+    }
+    batch = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      batch.add(identifiers[i]);
+    }
+  }
+
+  @Benchmark
+  public Location resolveHit() {
+    return gateway.resolveByIdentifier(identifiers[cursor++ & (identifiers.length - 1)]);
+  }
+
+  @Benchmark
+  public Location resolveMiss() {
+    return gateway.resolveByIdentifier("UNKNOWN-LOCATION");
+  }
+
+  @Benchmark
+  public Map<String, Location> resolveAllBatch() {
+    return gateway.resolveAll(batch);
+  }
+}
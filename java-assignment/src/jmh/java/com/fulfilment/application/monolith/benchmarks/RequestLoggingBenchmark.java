@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.logging.AccessLog;
+import com.fulfilment.application.monolith.logging.BusinessEventLogger;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import org.jboss.logging.Logger;
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Logging cost per request, old per-call INFO lines against the access log plus sampled business
+ * events. Read the {@code gc.alloc.rate.norm} column (bytes per request) of the GC profiler.
+ *
+ * <p>Runs on the JBoss LogManager, as the application does, with a handler that formats every
+ * record it receives but writes nothing, so the numbers cover logger, record and message
+ * formatting without console I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class RequestLoggingBenchmark {
+
+  private static final Logger LEGACY = Logger.getLogger(RequestLoggingBenchmark.class);
+
+  @Param({"1", "0.1"})
+  double sampleRate;
+
+  private BusinessEventLogger events;
+  private final Long storeId = 42L;
+  private final String storeName = "TONSTAD Store";
+
+  @Setup
+  public void setUp() {
+    var root = org.jboss.logmanager.Logger.getLogger("");
+    for (Handler handler : root.getHandlers()) {
+      root.removeHandler(handler);
+    }
+    root.addHandler(new FormattingHandler());
+    root.setLevel(Level.INFO);
+    events = new BusinessEventLogger(sampleRate);
+  }
+
+  /** GET /store/{id} as it used to log: two INFO lines from the handler. */
+  @Benchmark
+  public void readPerCallLogging() {
+    LEGACY.infof("Retrieving store with ID: %d", storeId);
+    LEGACY.infof("Successfully retrieved store: %s (ID: %d)", storeName, storeId);
+  }
+
+  /** GET /store/{id} now: the access line only. */
+  @Benchmark
+  public void readAccessLog() {
+    AccessLog.log("GET", "/store/42", 200, 812_345L);
+  }
+
+  /** POST /warehouse as it used to log: two INFO lines from the handler. */
+  @Benchmark
+  public void writePerCallLogging() {
+    LEGACY.infof(
+        "Creating new warehouse with Business Unit Code: %s at Location: %s",
+        "MWH.012",
+        "AMSTERDAM-001");
+    LEGACY.infof("Successfully created warehouse: %s", "MWH.012");
+  }
+
+  /** POST /warehouse now: the access line and a (sampled) business event. */
+  @Benchmark
+  public void writeAccessLogAndEvent() {
+    AccessLog.log("POST", "/warehouse", 200, 2_345_678L);
+    events.event("warehouse.created", "MWH.012", "AMSTERDAM-001");
+  }
+
+  /** Formats like the console handler would, then drops the message. */
+  static final class FormattingHandler extends ExtHandler {
+
+    volatile int sink;
+
+    @Override
+    protected void doPublish(ExtLogRecord record) {
+      sink += record.getFormattedMessage().length();
+    }
+  }
+}
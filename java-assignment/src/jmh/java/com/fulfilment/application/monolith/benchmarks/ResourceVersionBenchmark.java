@@ -0,0 +1,146 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Store writes per millisecond from {@value #WRITERS} concurrent writers that all count their
+ * change on the same {@code resource_version} row, each writer updating a store row of its own.
+ *
+ * <p>{@link #counterInWriteTransaction} issues the statements in the order Hibernate did when the
+ * counter was moved inside the write: the counter update runs at once, the entity update at the
+ * flush on commit, so the counter row stays locked across both. {@link #counterAfterCommit} is
+ * what {@code ResourceVersions.changed} does now: the write commits, then the counter moves in a
+ * transaction of its own. The two lookups compare a conditional GET that reads the counter per
+ * request with one served from memory. Point {@code url} at PostgreSQL to include commit and
+ * network latency; the benchmark only touches its own {@code bench_*} tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(ResourceVersionBenchmark.WRITERS)
+@Fork(1)
+public class ResourceVersionBenchmark {
+
+  static final int WRITERS = 8;
+
+  private static final String BUMP =
+      "update bench_resource_version set version = version + 1, modifiedAt = current_timestamp"
+          + " where resource = 'store'";
+
+  @Param({"jdbc:h2:mem:bench-version;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000;USER=sa"})
+  String url;
+
+  private final Map<String, Long> cachedVersions = new ConcurrentHashMap<>();
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(url);
+        Statement ddl = connection.createStatement()) {
+      ddl.execute("drop table if exists bench_store");
+      ddl.execute("drop table if exists bench_resource_version");
+      ddl.execute("create table bench_store (id bigint primary key, quantity integer)");
+      ddl.execute(
+          "create table bench_resource_version (resource varchar(40) primary key,"
+              + " version bigint not null, modifiedAt timestamp(6))");
+      for (int i = 0; i < WRITERS; i++) {
+        ddl.execute("insert into bench_store values (" + i + ", 0)");
+      }
+      ddl.execute("insert into bench_resource_version values ('store', 0, current_timestamp)");
+    }
+    cachedVersions.put("store", 0L);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(url);
+        Statement ddl = connection.createStatement()) {
+      ddl.execute("drop table bench_store");
+      ddl.execute("drop table bench_resource_version");
+    }
+  }
+
+  /** One writer thread with its own connection and store row. */
+  @State(Scope.Thread)
+  public static class Writer {
+
+    Connection connection;
+    PreparedStatement write;
+    PreparedStatement bump;
+    PreparedStatement lookup;
+
+    @Setup(Level.Trial)
+    public void open(ResourceVersionBenchmark benchmark, ThreadParams thread)
+        throws SQLException {
+      connection = DriverManager.getConnection(benchmark.url);
+      connection.setAutoCommit(false);
+      write = connection.prepareStatement("update bench_store set quantity = ? where id = ?");
+      write.setLong(2, thread.getThreadIndex() % WRITERS);
+      bump = connection.prepareStatement(BUMP);
+      lookup =
+          connection.prepareStatement(
+              "select version, modifiedAt from bench_resource_version where resource = 'store'");
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+      connection.close();
+    }
+  }
+
+  @Benchmark
+  public void counterInWriteTransaction(Writer writer) throws SQLException {
+    writer.bump.executeUpdate();
+    writer.write.setInt(1, (int) System.nanoTime());
+    writer.write.executeUpdate();
+    writer.connection.commit();
+  }
+
+  @Benchmark
+  public void counterAfterCommit(Writer writer) throws SQLException {
+    writer.write.setInt(1, (int) System.nanoTime());
+    writer.write.executeUpdate();
+    writer.connection.commit();
+    writer.bump.executeUpdate();
+    writer.connection.commit();
+  }
+
+  @Benchmark
+  public long conditionalGetFromDatabase(Writer writer) throws SQLException {
+    try (ResultSet rows = writer.lookup.executeQuery()) {
+      rows.next();
+      long version = rows.getLong(1);
+      writer.connection.commit();
+      return version;
+    }
+  }
+
+  @Benchmark
+  public long conditionalGetFromMemory() {
+    return cachedVersions.get("store");
+  }
+}
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Warehouse use cases against the in-memory {@link InMemoryWarehouseStore}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WarehouseUseCaseBenchmark {
+
+  private static final int LOCATIONS = 1_000;
+
+  @Param({"1000", "100000", "1000000"})
+  int size;
+
+  private InMemoryWarehouseStore store;
+  private CreateWarehouseUseCase createUseCase;
+  private ReplaceWarehouseUseCase replaceUseCase;
+  private ArchiveWarehouseUseCase archiveUseCase;
+  private SplittableRandom random;
+  private long nextCode;
+
+  // Rebuilt every iteration so creates from the previous iteration do not grow the dataset
+  @Setup(Level.Iteration)
+  public void setUp() {
+    var locations = new LocationGateway();
+    locations.reload(BenchmarkData.locations(LOCATIONS));
+    store = new InMemoryWarehouseStore();
+    for (int i = 0; i < size; i++) {
+      store.create(BenchmarkData.warehouse(i, LOCATIONS));
+    }
+    createUseCase = new CreateWarehouseUseCase(store, locations);
+    replaceUseCase = new ReplaceWarehouseUseCase(store, locations);
+    archiveUseCase = new ArchiveWarehouseUseCase(store);
+    random = new SplittableRandom(42);
+    nextCode = size;
+  }
+
+  @Benchmark
+  public void create() {
+    createUseCase.create(BenchmarkData.warehouse(nextCode++, LOCATIONS));
+  }
+
+  @Benchmark
+  public void replace() {
+    Warehouse replacement = BenchmarkData.warehouse(random.nextInt(size), LOCATIONS);
+    replacement.capacity = 120;
+    replaceUseCase.replace(replacement);
+  }
+
+  /** Archives a warehouse and puts it straight back so the active set stays the same size. */
+  @Benchmark
+  public void archive() {
+    long index = random.nextInt(size);
+    archiveUseCase.archive(BenchmarkData.warehouse(index, LOCATIONS));
+    store.create(BenchmarkData.warehouse(index, LOCATIONS));
+  }
+}
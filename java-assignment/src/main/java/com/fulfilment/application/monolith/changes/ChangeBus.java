@@ -0,0 +1,269 @@
+package com.fulfilment.application.monolith.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * In-process bus of committed warehouse and association changes, served to subscribers by {@link
+ * ChangeStreamResource}.
+ *
+ * <p>Changes are kept in one ring of the last {@code changes.buffer-size} events shared by all
+ * subscribers. A subscriber is only a cursor into the ring and is handed events as it requests
+ * them, so a slow subscriber holds no copies and never blocks a publisher or another subscriber.
+ * One that falls a whole ring behind gets a {@value ChangeEvent#RESET} event and continues from
+ * the newest change; it has to reload the state it tracks.
+ *
+ * <p>Event ids combine an epoch chosen at startup with the offset, so a subscriber can resume
+ * after a reconnect from the event it saw last, and one resuming with an id from before a restart
+ * is told to reload rather than silently missing what changed meanwhile. Changes are only seen by
+ * subscribers of the instance that made them.
+ */
+@ApplicationScoped
+public class ChangeBus implements ChangePublisher {
+
+  private final int capacity;
+
+  private final int maxSubscribers;
+
+  private final ObjectMapper objectMapper;
+
+  private final TransactionSynchronizationRegistry transactions;
+
+  private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+  private final AtomicReferenceArray<ChangeEvent> ring;
+
+  // Offset of the next change; events below it are readable
+  private final AtomicLong head = new AtomicLong();
+
+  private final ReentrantLock appendLock = new ReentrantLock();
+
+  private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final ExecutorService fanOut =
+      Executors.newSingleThreadExecutor(
+          r -> {
+            Thread thread = new Thread(r, "change-bus-fan-out");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final AtomicBoolean fanOutScheduled = new AtomicBoolean();
+
+  @Inject
+  public ChangeBus(
+      @ConfigProperty(name = "changes.buffer-size", defaultValue = "4096") int capacity,
+      @ConfigProperty(name = "changes.max-subscribers", defaultValue = "10000")
+          int maxSubscribers,
+      ObjectMapper objectMapper,
+      TransactionSynchronizationRegistry transactions) {
+    this.capacity = capacity;
+    this.maxSubscribers = maxSubscribers;
+    this.objectMapper = objectMapper;
+    this.transactions = transactions;
+    this.ring = new AtomicReferenceArray<>(capacity);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    fanOut.shutdownNow();
+  }
+
+  @Override
+  public void publish(String type, String key, Map<String, ?> data) {
+    String json = serialize(type, key, data);
+    if (json == null) {
+      return;
+    }
+    if (transactions.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+      append(type, json);
+      return;
+    }
+    transactions.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {}
+
+          @Override
+          public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+              append(type, json);
+            }
+          }
+        });
+  }
+
+  /**
+   * Changes after {@code lastEventId} followed by every later change, as requested downstream.
+   *
+   * @param lastEventId Id of the last event the caller saw, or null for new changes only
+   * @param topic Only changes of this topic ({@code warehouse}, {@code association}), or null
+   * @return null if the subscriber limit is reached
+   */
+  public Multi<ChangeEvent> subscribe(String lastEventId, String topic) {
+    if (subscribers.size() >= maxSubscribers) {
+      return null;
+    }
+    return Multi.createFrom()
+        .emitter(
+            emitter -> {
+              var subscription = new Subscription(emitter, topic);
+              subscription.start(lastEventId);
+              subscribers.add(subscription);
+              emitter.onTermination(() -> subscribers.remove(subscription));
+              emitter.onRequest(requested -> subscription.drain());
+              subscription.drain();
+            },
+            BackPressureStrategy.ERROR);
+  }
+
+  /** SSE id of an event; the resume point a subscriber sends back as {@code Last-Event-ID}. */
+  public String eventId(ChangeEvent event) {
+    return epoch + '.' + event.offset();
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  private void append(String type, String json) {
+    appendLock.lock();
+    try {
+      long offset = head.get();
+      ring.set(slot(offset), new ChangeEvent(offset, type, json));
+      head.set(offset + 1);
+    } finally {
+      appendLock.unlock();
+    }
+    signalSubscribers();
+  }
+
+  // One fan-out pass per burst of appends, off the committing thread
+  private void signalSubscribers() {
+    if (fanOutScheduled.compareAndSet(false, true)) {
+      fanOut.execute(
+          () -> {
+            fanOutScheduled.set(false);
+            subscribers.forEach(Subscription::drain);
+          });
+    }
+  }
+
+  /** The event at {@code offset}, or null if the ring has moved past it. */
+  private ChangeEvent eventAt(long offset) {
+    ChangeEvent event = ring.get(slot(offset));
+    return event != null && event.offset() == offset ? event : null;
+  }
+
+  private int slot(long offset) {
+    return (int) (offset % capacity);
+  }
+
+  private String serialize(String type, String key, Map<String, ?> data) {
+    var body = new LinkedHashMap<String, Object>();
+    body.put("type", type);
+    if (key != null) {
+      body.put("key", key);
+    }
+    body.putAll(data);
+    try {
+      return objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      Log.errorf(e, "Dropped change %s %s", type, key);
+      return null;
+    }
+  }
+
+  /** A subscriber's cursor into the ring. */
+  private final class Subscription {
+
+    private final MultiEmitter<? super ChangeEvent> emitter;
+
+    private final String topic;
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private long cursor;
+
+    private ChangeEvent pendingReset;
+
+    Subscription(MultiEmitter<? super ChangeEvent> emitter, String topic) {
+      this.emitter = emitter;
+      this.topic = topic;
+    }
+
+    void start(String lastEventId) {
+      long newest = head.get();
+      cursor = newest;
+      if (lastEventId == null) {
+        return;
+      }
+      int dot = lastEventId.indexOf('.');
+      if (dot > 0 && lastEventId.substring(0, dot).equals(epoch)) {
+        try {
+          long resume = Long.parseLong(lastEventId.substring(dot + 1)) + 1;
+          if (resume <= newest && (resume == newest || eventAt(resume) != null)) {
+            cursor = resume;
+            return;
+          }
+        } catch (NumberFormatException e) {
+          // Not one of ours; handled as an unknown id below
+        }
+      }
+      pendingReset = ChangeEvent.reset(newest - 1, "unknown-last-event-id");
+    }
+
+    // Only one thread drains a subscription at a time; a signal arriving meanwhile makes the
+    // draining thread go round again.
+    void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (!emitter.isCancelled() && emitter.requested() > 0) {
+          if (pendingReset != null) {
+            emitter.emit(pendingReset);
+            pendingReset = null;
+            continue;
+          }
+          if (cursor >= head.get()) {
+            break;
+          }
+          ChangeEvent event = eventAt(cursor);
+          if (event == null) {
+            long newest = head.get();
+            pendingReset = ChangeEvent.reset(newest - 1, "subscriber-lagged");
+            cursor = newest;
+            continue;
+          }
+          cursor++;
+          if (topic == null || topic.equals(event.topic())) {
+            emitter.emit(event);
+          }
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.changes;
+
+/**
+ * A committed change as held in the {@link ChangeBus} ring.
+ *
+ * @param offset Position in the bus, increasing by one per change since startup
+ * @param type {@code <topic>.<action>}, or {@value #RESET} for the marker telling a subscriber it
+ *     missed changes and must reload
+ * @param json The change serialised once, shared by every subscriber
+ */
+public record ChangeEvent(long offset, String type, String json) {
+
+  public static final String RESET = "reset";
+
+  static ChangeEvent reset(long offset, String reason) {
+    return new ChangeEvent(offset, RESET, "{\"reason\":\"" + reason + "\"}");
+  }
+
+  public String topic() {
+    int dot = type.indexOf('.');
+    return dot < 0 ? type : type.substring(0, dot);
+  }
+}
@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.changes;
+
+import java.util.Map;
+
+/**
+ * Port through which use cases announce a change to warehouses or associations.
+ *
+ * <p>Called inside the transaction that makes the change; the change is only passed on to
+ * subscribers once that transaction has committed, and never if it rolls back.
+ */
+public interface ChangePublisher {
+
+  /** Publishes nothing; for use cases constructed outside CDI. */
+  ChangePublisher NONE = (type, key, data) -> {};
+
+  /**
+   * @param type {@code <topic>.<action>}, for example {@code warehouse.created}
+   * @param key Business key of the changed entity, or null for changes to many entities
+   * @param data Fields of the change, serialised as they are when this is called
+   */
+  void publish(String type, String key, Map<String, ?> data);
+}
@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.changes;
+
+import com.fulfilment.application.monolith.errors.InvalidRequestException;
+import io.smallrye.mutiny.Multi;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import java.util.Set;
+
+/**
+ * Server-sent events of committed warehouse and association changes, as an alternative to
+ * polling {@code GET /warehouse} and {@code GET /fulfillment/warehouse-product-store}.
+ *
+ * <p>GET /changes streams one event per change, named after its type ({@code warehouse.created},
+ * {@code association.removed}, ...) with the change as JSON data. Reconnecting with the standard
+ * {@code Last-Event-ID} header (or {@code ?lastEventId=}) resumes after that event. A {@value
+ * ChangeEvent#RESET} event means changes were missed: reload, then keep applying events. Serving
+ * subscribers never touches the database.
+ */
+@Path("changes")
+@ApplicationScoped
+public class ChangeStreamResource {
+
+  static final Set<String> TOPICS = Set.of("warehouse", "association");
+
+  @Inject ChangeBus changeBus;
+
+  /**
+   * @param lastEventId Id of the last event received, from the {@code Last-Event-ID} header
+   * @param lastEventIdParam Same as {@code lastEventId}, for clients that cannot set the header
+   * @param topic Optional filter: {@code warehouse} or {@code association}
+   */
+  @GET
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public Multi<OutboundSseEvent> stream(
+      @HeaderParam("Last-Event-ID") String lastEventId,
+      @QueryParam("lastEventId") String lastEventIdParam,
+      @QueryParam("topic") String topic,
+      @Context Sse sse) {
+    if (topic != null && !TOPICS.contains(topic)) {
+      throw new InvalidRequestException(
+          "Unknown topic '" + topic + "'; expected one of " + TOPICS + ".");
+    }
+    Multi<ChangeEvent> changes =
+        changeBus.subscribe(lastEventId != null ? lastEventId : lastEventIdParam, topic);
+    if (changes == null) {
+      throw new WebApplicationException("Too many change stream subscribers", 503);
+    }
+    return changes.map(
+        change ->
+            sse.newEventBuilder()
+                .id(changeBus.eventId(change))
+                .name(change.type())
+                .mediaType(MediaType.TEXT_PLAIN_TYPE)
+                .data(String.class, change.json())
+                .build());
+  }
+}
@@ -0,0 +1,156 @@
+package com.fulfilment.application.monolith.conditional;
+
+import com.fulfilment.application.monolith.replica.ReadRoute;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+/**
+ * Conditional GET for the store, product and warehouse endpoints.
+ *
+ * <p>Every GET under {@code /store}, {@code /product} and {@code /warehouse} is answered with the
+ * ETag and Last-Modified of the resource's change counter in {@link ResourceVersions}. A request
+ * whose {@code If-None-Match} (or, without one, {@code If-Modified-Since}) still matches is
+ * answered 304 here, before the resource method runs, so polling an unchanged resource costs at
+ * most one primary key lookup, and none while the counter is cached, instead of loading and
+ * serialising the entities.
+ *
+ * <p>The counter covers the whole resource: any change to one store changes the tag of every
+ * store URL. That costs pollers of a single entity a full response now and then, but keeps the
+ * check itself independent of the entity. The version is read before the resource method runs, so
+ * a change committed in between yields a body newer than its tag, never the other way around.
+ * Responses carry {@code Vary: Accept}, as every representation of a resource shares its tag.
+ *
+ * <p>Requests routed to the read replica take the version from the replica, uncached, so their tag
+ * is never newer than the replica's body.
+ */
+public class ConditionalGetFilter {
+
+  private static final String VERSION_PROPERTY = ConditionalGetFilter.class.getName() + ".version";
+
+  private static final String RESOURCE_PROPERTY =
+      ConditionalGetFilter.class.getName() + ".resource";
+
+  @Inject ResourceVersions resourceVersions;
+
+  @Inject ReadRoute route;
+
+  @ServerRequestFilter
+  public Response onRequest(ContainerRequestContext request) {
+    String method = request.getMethod();
+    if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+      return null;
+    }
+    String resource = resourceOf(request.getUriInfo().getPath());
+    if (resource == null) {
+      return null;
+    }
+
+    // A replica-routed body can lag the primary. A version from the primary or the cache could be
+    // newer than it, and a client holding the stale body would be answered 304 until the next
+    // change, so read the version through the request's session, which is on the replica too.
+    ResourceVersion current =
+        route.replica() ? resourceVersions.current(resource) : resourceVersions.recent(resource);
+    request.setProperty(RESOURCE_PROPERTY, resource);
+    request.setProperty(VERSION_PROPERTY, current);
+    if (notModified(
+        request.getHeaderString(HttpHeaders.IF_NONE_MATCH),
+        request.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE),
+        current.etag(resource),
+        current.lastModified())) {
+      return Response.notModified().build();
+    }
+    return null;
+  }
+
+  @ServerResponseFilter
+  public void onResponse(ContainerRequestContext request, ContainerResponseContext response) {
+    if (!(request.getProperty(VERSION_PROPERTY) instanceof ResourceVersion current)) {
+      return;
+    }
+    int status = response.getStatus();
+    if (status != 200 && status != 304) {
+      return;
+    }
+    String resource = (String) request.getProperty(RESOURCE_PROPERTY);
+    response.getHeaders().putSingle(HttpHeaders.ETAG, current.etag(resource));
+    response
+        .getHeaders()
+        .putSingle(
+            HttpHeaders.LAST_MODIFIED,
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(current.lastModified()));
+    // Caches may keep the body but must come back to us before reusing it
+    response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, "no-cache");
+    // The tag names the resource version, not the representation: JSON and the NDJSON stream of
+    // /warehouse share it, so caches must keep one copy per Accept
+    if (!varies(response.getHeaderString(HttpHeaders.VARY), HttpHeaders.ACCEPT)) {
+      response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+  }
+
+  private static boolean varies(String vary, String header) {
+    if (vary == null) {
+      return false;
+    }
+    for (String name : vary.split(",")) {
+      if (name.trim().equalsIgnoreCase(header) || name.trim().equals("*")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The resource a request path belongs to, or null for paths without conditional GET. */
+  static String resourceOf(String path) {
+    int start = path.startsWith("/") ? 1 : 0;
+    int end = path.indexOf('/', start);
+    String first = end < 0 ? path.substring(start) : path.substring(start, end);
+    return ResourceVersions.RESOURCES.contains(first) ? first : null;
+  }
+
+  /**
+   * Whether the client's copy is current. {@code If-None-Match} takes precedence: when it is
+   * present {@code If-Modified-Since} is ignored, as its one-second precision can miss a second
+   * change within the same second.
+   */
+  static boolean notModified(
+      String ifNoneMatch, String ifModifiedSince, String etag, ZonedDateTime lastModified) {
+    if (ifNoneMatch != null) {
+      return matchesAny(ifNoneMatch, etag);
+    }
+    if (ifModifiedSince != null) {
+      try {
+        ZonedDateTime since =
+            ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME);
+        return !lastModified.toInstant().isAfter(since.toInstant());
+      } catch (DateTimeParseException e) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  // Weak comparison, as required for If-None-Match
+  private static boolean matchesAny(String ifNoneMatch, String etag) {
+    String opaque = opaqueTag(etag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String opaqueTag(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+}
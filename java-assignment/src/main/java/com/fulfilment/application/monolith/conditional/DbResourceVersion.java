@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.conditional;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Change counter of one REST resource (all stores, all products, all warehouses): bumped in every
+ * transaction that changes the resource, read by {@link ConditionalGetFilter} to answer
+ * conditional GETs without loading the resource itself.
+ */
+@Entity
+@Table(name = "resource_version")
+public class DbResourceVersion {
+
+  @Id
+  @Column(length = 40)
+  public String resource;
+
+  public long version;
+
+  public LocalDateTime modifiedAt;
+
+  public DbResourceVersion() {}
+
+  public DbResourceVersion(String resource, long version, LocalDateTime modifiedAt) {
+    this.resource = resource;
+    this.version = version;
+    this.modifiedAt = modifiedAt;
+  }
+}
@@ -0,0 +1,31 @@
+package com.fulfilment.application.monolith.conditional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Current version of a REST resource and when it last changed, as read from {@link
+ * DbResourceVersion}.
+ */
+public record ResourceVersion(long version, LocalDateTime modifiedAt) {
+
+  /**
+   * Weak entity tag of the resource. The modification time is part of the tag so that a counter
+   * restarting from zero on a fresh database never reproduces a tag a client still holds.
+   */
+  public String etag(String resource) {
+    long modifiedMillis = modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    return "W/\"" + resource + '-' + version + '-' + Long.toHexString(modifiedMillis) + '"';
+  }
+
+  /** Modification time in GMT at the one-second precision of HTTP dates. */
+  public ZonedDateTime lastModified() {
+    return modifiedAt
+        .atZone(ZoneId.systemDefault())
+        .withZoneSameInstant(ZoneOffset.UTC)
+        .truncatedTo(ChronoUnit.SECONDS);
+  }
+}
@@ -0,0 +1,195 @@
+package com.fulfilment.application.monolith.conditional;
+
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Per-resource change counters behind the ETag and Last-Modified headers of the store, product
+ * and warehouse endpoints.
+ *
+ * <p>The counters live in the database rather than in memory so every instance answers
+ * conditional requests the same way and a change made through one instance invalidates the tags
+ * handed out by all of them.
+ *
+ * <p>A change is counted once its transaction has committed, in a transaction of its own, so the
+ * counter row is locked for that single update only and writers of the same resource no longer
+ * queue behind each other's open transactions. Between the commit and the count a request may
+ * get the new body with the old tag, never the other way around. Conditional GETs read the
+ * counter through {@link #recent}, which answers from memory for {@code
+ * conditional-get.version-cache-ttl}: changes made through this instance show at once, those of
+ * other instances within that time.
+ */
+@ApplicationScoped
+public class ResourceVersions {
+
+  public static final String STORE = "store";
+
+  public static final String PRODUCT = "product";
+
+  public static final String WAREHOUSE = "warehouse";
+
+  static final List<String> RESOURCES = List.of(STORE, PRODUCT, WAREHOUSE);
+
+  @Inject EntityManager entityManager;
+
+  @Inject TransactionSynchronizationRegistry transactions;
+
+  @ConfigProperty(name = "conditional-get.version-cache-ttl", defaultValue = "1s")
+  Duration cacheTtl;
+
+  private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+  // Resources whose last committed change could not be counted; retried by recent()
+  private final Set<String> uncounted = ConcurrentHashMap.newKeySet();
+
+  void onStart(@Observes StartupEvent event) {
+    RESOURCES.forEach(this::seed);
+  }
+
+  /**
+   * Record a change to {@code resource} made by the current transaction. The counter moves once
+   * the transaction commits, and only once however often this is called in it; nothing is counted
+   * on rollback.
+   */
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void changed(String resource) {
+    var key = new PendingChange(resource);
+    if (transactions.getResource(key) != null) {
+      return;
+    }
+    transactions.putResource(key, Boolean.TRUE);
+    transactions.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {}
+
+          @Override
+          public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+              count(resource);
+            }
+          }
+        });
+  }
+
+  /**
+   * Version of {@code resource} for answering conditional requests: from memory when read or
+   * counted here within {@code conditional-get.version-cache-ttl}, from the database otherwise.
+   */
+  public ResourceVersion recent(String resource) {
+    if (uncounted.contains(resource)) {
+      count(resource);
+    }
+    long now = System.nanoTime();
+    Cached cached = cache.get(resource);
+    if (cached != null && now - cached.readAt() < cacheTtl.toNanos()) {
+      return cached.version();
+    }
+    var current = current(resource);
+    remember(resource, current, now);
+    return current;
+  }
+
+  /** Current version of {@code resource}; never null once the application has started. */
+  public ResourceVersion current(String resource) {
+    // Projected rather than loaded: the row is changed by bulk updates that bypass the session
+    return entityManager
+        .createQuery(
+            "select new " + ResourceVersion.class.getName() + "(v.version, v.modifiedAt)"
+                + " from DbResourceVersion v where v.resource = ?1",
+            ResourceVersion.class)
+        .setParameter(1, resource)
+        .getResultStream()
+        .findFirst()
+        .orElseGet(() -> new ResourceVersion(0, LocalDateTime.now()));
+  }
+
+  private void count(String resource) {
+    try {
+      var counted = QuarkusTransaction.requiringNew().call(() -> increment(resource));
+      uncounted.remove(resource);
+      remember(resource, counted, System.nanoTime());
+    } catch (RuntimeException e) {
+      // Until counted, clients holding the old tag would be told their copy is current
+      uncounted.add(resource);
+      cache.remove(resource);
+      Log.warnf(e, "Failed to count a committed change to %s; retrying on the next read", resource);
+    }
+  }
+
+  private ResourceVersion increment(String resource) {
+    if (bump(resource) == 0) {
+      seed(resource);
+      bump(resource);
+    }
+    return current(resource);
+  }
+
+  // A read that started before a change was counted must not replace the counted version
+  private void remember(String resource, ResourceVersion version, long readAt) {
+    cache.merge(
+        resource,
+        new Cached(version, readAt),
+        (old, read) -> old.version().version() > read.version().version() ? old : read);
+  }
+
+  private int bump(String resource) {
+    return entityManager
+        .createQuery(
+            "update DbResourceVersion v set v.version = v.version + 1, v.modifiedAt = ?2"
+                + " where v.resource = ?1")
+        .setParameter(1, resource)
+        .setParameter(2, LocalDateTime.now())
+        .executeUpdate();
+  }
+
+  // Committed on its own so the row is visible to every writer; a concurrent seed of the same
+  // resource is fine to lose to, its row is just as new.
+  private void seed(String resource) {
+    try {
+      QuarkusTransaction.requiringNew()
+          .run(
+              () -> {
+                if (entityManager.find(DbResourceVersion.class, resource) == null) {
+                  entityManager.persist(new DbResourceVersion(resource, 0, LocalDateTime.now()));
+                  entityManager.flush();
+                }
+              });
+    } catch (RuntimeException e) {
+      if (!isConstraintViolation(e)) {
+        throw e;
+      }
+    }
+  }
+
+  private static boolean isConstraintViolation(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private record Cached(ResourceVersion version, long readAt) {}
+
+  // Key of a transaction's pending change to one resource in the synchronization registry
+  private record PendingChange(String resource) {}
+}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.errors;
+
+/**
+ * The request conflicts with a business rule or with the current state of an entity. Maps to 409.
+ */
+public class ConflictException extends DomainException {
+
+  public ConflictException(String message) {
+    super(message, 409, false);
+  }
+
+  private ConflictException(String message, boolean constant) {
+    super(message, 409, constant);
+  }
+
+  /** A shared instance for a message that never changes; hold it in a static field. */
+  public static ConflictException constant(String message) {
+    return new ConflictException(message, true);
+  }
+}
@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.errors;
+
+/**
+ * An expected rejection of a request by a business rule or input check, carrying the HTTP status
+ * it maps to.
+ *
+ * <p>These are thrown on the normal request path, often many times per bulk operation, so they
+ * capture no stack trace and do not record suppressed exceptions. {@link ErrorResponseMapper}
+ * logs them without a stack trace and, for {@linkplain #isConstant() constant} instances, serves
+ * a response body serialised once.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  private final int status;
+
+  private final boolean constant;
+
+  protected DomainException(String message, int status, boolean constant) {
+    super(message, null, false, false);
+    this.status = status;
+    this.constant = constant;
+  }
+
+  /** HTTP status of the rejection. */
+  public int status() {
+    return status;
+  }
+
+  /**
+   * Whether this is a shared instance with a fixed message, created through one of the
+   * {@code constant} factories and held in a static field.
+   */
+  public boolean isConstant() {
+    return constant;
+  }
+}
@@ -0,0 +1,90 @@
+package com.fulfilment.application.monolith.errors;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jboss.logging.Logger;
+
+/**
+ * Maps every exception that escapes a REST endpoint to a JSON error body:
+ *
+ * <pre>{"exceptionType":"...","code":409,"error":"..."}</pre>
+ *
+ * <ul>
+ *   <li>{@link DomainException}: its own status, logged at DEBUG without a stack trace
+ *   <li>{@link WebApplicationException}: the status of its response; stack trace logged for 5xx
+ *       only
+ *   <li>anything else: 500, logged at ERROR with its stack trace
+ * </ul>
+ *
+ * The body is written straight to bytes rather than through a Jackson tree, and for constant
+ * domain exceptions it is written once and reused.
+ */
+@Provider
+public class ErrorResponseMapper implements ExceptionMapper<Exception> {
+
+  private static final Logger LOG = Logger.getLogger(ErrorResponseMapper.class);
+
+  // Constant exceptions live in static fields, so this stays small; the bound is a safeguard
+  static final int MAX_CACHED_BODIES = 256;
+
+  private final Map<DomainException, byte[]> constantBodies = new ConcurrentHashMap<>();
+
+  @Override
+  public Response toResponse(Exception exception) {
+    int status = status(exception);
+    if (status >= 500) {
+      LOG.error("Failed to handle request", exception);
+    } else if (LOG.isDebugEnabled()) {
+      LOG.debugf("Rejected request with %d: %s", status, exception.getMessage());
+    }
+    return Response.status(status)
+        .type(MediaType.APPLICATION_JSON_TYPE)
+        .entity(body(exception, status))
+        .build();
+  }
+
+  /** HTTP status an exception maps to: its own for domain and web exceptions, 500 otherwise. */
+  public static int status(Exception exception) {
+    if (exception instanceof DomainException domain) {
+      return domain.status();
+    }
+    if (exception instanceof WebApplicationException web) {
+      return web.getResponse().getStatus();
+    }
+    return 500;
+  }
+
+  byte[] body(Exception exception, int status) {
+    if (exception instanceof DomainException domain && domain.isConstant()) {
+      byte[] cached = constantBodies.get(domain);
+      if (cached == null) {
+        cached = serialize(domain.getClass().getName(), status, domain.getMessage());
+        if (constantBodies.size() < MAX_CACHED_BODIES) {
+          constantBodies.putIfAbsent(domain, cached);
+        }
+      }
+      return cached;
+    }
+    return serialize(exception.getClass().getName(), status, exception.getMessage());
+  }
+
+  static byte[] serialize(String exceptionType, int status, String message) {
+    StringBuilder json =
+        new StringBuilder(48 + exceptionType.length() + (message == null ? 0 : message.length()));
+    json.append("{\"exceptionType\":\"").append(exceptionType);
+    json.append("\",\"code\":").append(status);
+    if (message != null) {
+      json.append(",\"error\":\"");
+      JsonStringEncoder.getInstance().quoteAsString(message, json);
+      json.append('"');
+    }
+    return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.errors;
+
+/** The request is malformed or fails an input check. Maps to 400. */
+public class InvalidRequestException extends DomainException {
+
+  public InvalidRequestException(String message) {
+    super(message, 400, false);
+  }
+
+  private InvalidRequestException(String message, boolean constant) {
+    super(message, 400, constant);
+  }
+
+  /** A shared instance for a message that never changes; hold it in a static field. */
+  public static InvalidRequestException constant(String message) {
+    return new InvalidRequestException(message, true);
+  }
+}
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.errors;
+
+/** The entity the request refers to does not exist. Maps to 404. */
+public class ResourceNotFoundException extends DomainException {
+
+  public ResourceNotFoundException(String message) {
+    super(message, 404, false);
+  }
+
+  private ResourceNotFoundException(String message, boolean constant) {
+    super(message, 404, constant);
+  }
+
+  /** A shared instance for a message that never changes; hold it in a static field. */
+  public static ResourceNotFoundException constant(String message) {
+    return new ResourceNotFoundException(message, true);
+  }
+}
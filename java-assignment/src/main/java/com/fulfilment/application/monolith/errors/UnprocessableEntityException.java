@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.errors;
+
+/**
+ * The request is well formed but carries a field it must not set, or lacks one it must. Maps to
+ * 422.
+ */
+public class UnprocessableEntityException extends DomainException {
+
+  public UnprocessableEntityException(String message) {
+    super(message, 422, false);
+  }
+
+  private UnprocessableEntityException(String message, boolean constant) {
+    super(message, 422, constant);
+  }
+
+  /** A shared instance for a message that never changes; hold it in a static field. */
+  public static UnprocessableEntityException constant(String message) {
+    return new UnprocessableEntityException(message, true);
+  }
+}
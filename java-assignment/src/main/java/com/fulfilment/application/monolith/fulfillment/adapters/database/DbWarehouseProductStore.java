@@ -5,6 +5,8 @@ import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
@@ -16,11 +18,27 @@ import java.time.LocalDateTime;
       @UniqueConstraint(
           columnNames = {"productId", "storeId", "warehouseBusinessUnitCode"},
           name = "uk_warehouse_product_store")
+    },
+    indexes = {
+      @Index(name = "idx_wps_store_warehouse", columnList = "storeId, warehouseBusinessUnitCode"),
+      @Index(name = "idx_wps_warehouse", columnList = "warehouseBusinessUnitCode")
     })
 @Cacheable
 public class DbWarehouseProductStore {
 
-  @Id @GeneratedValue public Long id;
+  // Query cache region for the association lookups; sized in application.properties. Entries are
+  // invalidated by Hibernate whenever the association table is written through the ORM.
+  public static final String QUERY_CACHE_REGION = "fulfillment-queries";
+
+  // A bulk import takes ids for 500 rows per sequence call; the sequence steps by the same amount
+  // (V3__pooled_lo_sequences.sql)
+  @Id
+  @GeneratedValue(generator = "warehouse_product_store_seq")
+  @SequenceGenerator(
+      name = "warehouse_product_store_seq",
+      sequenceName = "warehouse_product_store_seq",
+      allocationSize = 500)
+  public Long id;
 
   public Long productId;
 
@@ -42,6 +60,7 @@ public class DbWarehouseProductStore {
 
   public WarehouseProductStore toDomainModel() {
     var model = new WarehouseProductStore();
+    model.id = this.id;
     model.productId = this.productId;
     model.storeId = this.storeId;
     model.warehouseBusinessUnitCode = this.warehouseBusinessUnitCode;
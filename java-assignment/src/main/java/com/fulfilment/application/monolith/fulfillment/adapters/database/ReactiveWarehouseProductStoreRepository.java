@@ -0,0 +1,76 @@
+package com.fulfilment.application.monolith.fulfillment.adapters.database;
+
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import com.fulfilment.application.monolith.fulfillment.domain.ports.ReactiveWarehouseProductStoreStore;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ReactiveWarehouseProductStoreStore} over the Vert.x reactive PostgreSQL client, reading
+ * the {@code warehouse_product_store} table. Only built when
+ * {@code warehouse.reactive.enabled=true}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "warehouse.reactive.enabled", stringValue = "true")
+public class ReactiveWarehouseProductStoreRepository
+    implements ReactiveWarehouseProductStoreStore {
+
+  private static final String SELECT =
+      "select id, productId, storeId, warehouseBusinessUnitCode, createdAt"
+          + " from warehouse_product_store";
+
+  static final String FIND_BY_PRODUCT_AND_STORE =
+      SELECT + " where productId = $1 and storeId = $2";
+
+  static final String FIND_BY_STORE = SELECT + " where storeId = $1";
+
+  static final String FIND_BY_WAREHOUSE = SELECT + " where warehouseBusinessUnitCode = $1";
+
+  @Inject PgPool client;
+
+  @Override
+  public Uni<List<WarehouseProductStore>> findByProductAndStore(Long productId, Long storeId) {
+    return client
+        .preparedQuery(FIND_BY_PRODUCT_AND_STORE)
+        .execute(Tuple.of(productId, storeId))
+        .map(ReactiveWarehouseProductStoreRepository::toAssociations);
+  }
+
+  @Override
+  public Uni<List<WarehouseProductStore>> findByStore(Long storeId) {
+    return client
+        .preparedQuery(FIND_BY_STORE)
+        .execute(Tuple.of(storeId))
+        .map(ReactiveWarehouseProductStoreRepository::toAssociations);
+  }
+
+  @Override
+  public Uni<List<WarehouseProductStore>> findByWarehouse(String warehouseBusinessUnitCode) {
+    return client
+        .preparedQuery(FIND_BY_WAREHOUSE)
+        .execute(Tuple.of(warehouseBusinessUnitCode))
+        .map(ReactiveWarehouseProductStoreRepository::toAssociations);
+  }
+
+  private static List<WarehouseProductStore> toAssociations(RowSet<Row> rows) {
+    List<WarehouseProductStore> associations = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      var association = new WarehouseProductStore();
+      association.id = row.getLong(0);
+      association.productId = row.getLong(1);
+      association.storeId = row.getLong(2);
+      association.warehouseBusinessUnitCode = row.getString(3);
+      association.createdAt = row.getLocalDateTime(4);
+      associations.add(association);
+    }
+    return associations;
+  }
+}
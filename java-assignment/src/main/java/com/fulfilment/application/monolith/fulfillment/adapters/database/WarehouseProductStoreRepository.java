@@ -1,16 +1,45 @@
 package com.fulfilment.application.monolith.fulfillment.adapters.database;
 
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.domain.ports.WarehouseProductStoreStore;
+import com.fulfilment.application.monolith.metrics.Measured;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class WarehouseProductStoreRepository
     implements WarehouseProductStoreStore, PanacheRepository<DbWarehouseProductStore> {
 
+  // Matches quarkus.hibernate-orm.jdbc.statement-batch-size so each flush sends full batches.
+  static final int BATCH_SIZE = 50;
+
+  // Store ids bound per IN list: large imports name tens of thousands of stores, more than a
+  // statement should carry (PostgreSQL caps bind parameters at 32767)
+  static final int STORE_IDS_PER_QUERY = 1000;
+
+  // Every constraint is scoped to the store, so one pass over the store's rows answers all of
+  // them. CASE without ELSE yields null, which COUNT(DISTINCT ...) ignores. Never cached, nor is
+  // findAssociation: Hibernate invalidates cached results only on writes through this instance,
+  // and a check must see associations committed by every instance.
+  private static final String CONSTRAINT_COUNTS_QUERY =
+      "select"
+          + " count(case when a.productId = :productId"
+          + " and a.warehouseBusinessUnitCode = :warehouse then 1 end),"
+          + " count(distinct case when a.productId = :productId"
+          + " then a.warehouseBusinessUnitCode end),"
+          + " count(distinct a.warehouseBusinessUnitCode),"
+          + " count(distinct case when a.warehouseBusinessUnitCode = :warehouse"
+          + " then a.productId end)"
+          + " from DbWarehouseProductStore a where a.storeId = :storeId";
+
   @Override
+  @Measured
   public void create(WarehouseProductStore association) {
     var dbAssociation = new DbWarehouseProductStore();
     dbAssociation.productId = association.productId;
@@ -21,6 +50,25 @@ public class WarehouseProductStoreRepository
   }
 
   @Override
+  @Measured
+  public void createAll(List<WarehouseProductStore> associations) {
+    var entityManager = getEntityManager();
+    for (int i = 0; i < associations.size(); i++) {
+      var association = associations.get(i);
+      entityManager.persist(
+          new DbWarehouseProductStore(
+              association.productId, association.storeId, association.warehouseBusinessUnitCode));
+      if ((i + 1) % BATCH_SIZE == 0) {
+        // Keep the persistence context small; nothing reads these entities back.
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+    entityManager.flush();
+  }
+
+  @Override
+  @Measured
   public void remove(Long productId, Long storeId, String warehouseBusinessUnitCode) {
     this.delete(
         "productId = ?1 and storeId = ?2 and warehouseBusinessUnitCode = ?3",
@@ -30,27 +78,54 @@ public class WarehouseProductStoreRepository
   }
 
   @Override
+  @Measured
   public List<WarehouseProductStore> findByProductAndStore(Long productId, Long storeId) {
-    return this.list("productId = ?1 and storeId = ?2", productId, storeId).stream()
+    return cached(this.find("productId = ?1 and storeId = ?2", productId, storeId))
+        .list()
+        .stream()
         .map(DbWarehouseProductStore::toDomainModel)
         .toList();
   }
 
   @Override
+  @Measured
   public List<WarehouseProductStore> findByStore(Long storeId) {
-    return this.list("storeId = ?1", storeId).stream()
+    return cached(this.find("storeId = ?1", storeId))
+        .list()
+        .stream()
         .map(DbWarehouseProductStore::toDomainModel)
         .toList();
   }
 
   @Override
+  @Measured
+  public List<WarehouseProductStore> findByStores(Collection<Long> storeIds) {
+    if (storeIds.isEmpty()) {
+      return List.of();
+    }
+    var ids = List.copyOf(storeIds);
+    var associations = new ArrayList<WarehouseProductStore>();
+    for (int from = 0; from < ids.size(); from += STORE_IDS_PER_QUERY) {
+      var partition = ids.subList(from, Math.min(from + STORE_IDS_PER_QUERY, ids.size()));
+      this.list("storeId in ?1", partition).stream()
+          .map(DbWarehouseProductStore::toDomainModel)
+          .forEach(associations::add);
+    }
+    return associations;
+  }
+
+  @Override
+  @Measured
   public List<WarehouseProductStore> findByWarehouse(String warehouseBusinessUnitCode) {
-    return this.list("warehouseBusinessUnitCode = ?1", warehouseBusinessUnitCode).stream()
+    return cached(this.find("warehouseBusinessUnitCode = ?1", warehouseBusinessUnitCode))
+        .list()
+        .stream()
         .map(DbWarehouseProductStore::toDomainModel)
         .toList();
   }
 
   @Override
+  @Measured
   public WarehouseProductStore findAssociation(
       Long productId, Long storeId, String warehouseBusinessUnitCode) {
     var result =
@@ -62,4 +137,30 @@ public class WarehouseProductStoreRepository
             .firstResultOptional();
     return result.map(DbWarehouseProductStore::toDomainModel).orElse(null);
   }
+
+  @Override
+  @Measured
+  public AssociationConstraintCounts countConstraints(
+      Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    Object[] row =
+        getEntityManager()
+            .createQuery(CONSTRAINT_COUNTS_QUERY, Object[].class)
+            .setParameter("productId", productId)
+            .setParameter("storeId", storeId)
+            .setParameter("warehouse", warehouseBusinessUnitCode)
+            .getSingleResult();
+    return new AssociationConstraintCounts(
+        asLong(row[0]) > 0, asLong(row[1]), asLong(row[2]), asLong(row[3]));
+  }
+
+  private static long asLong(Object value) {
+    return value == null ? 0L : ((Number) value).longValue();
+  }
+
+  private static PanacheQuery<DbWarehouseProductStore> cached(
+      PanacheQuery<DbWarehouseProductStore> query) {
+    return query
+        .withHint(HibernateHints.HINT_CACHEABLE, true)
+        .withHint(HibernateHints.HINT_CACHE_REGION, DbWarehouseProductStore.QUERY_CACHE_REGION);
+  }
 }
@@ -1,9 +1,16 @@
 package com.fulfilment.application.monolith.fulfillment.adapters.restapi;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.errors.InvalidRequestException;
 import com.fulfilment.application.monolith.fulfillment.adapters.database.WarehouseProductStoreRepository;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationResult;
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.domain.usecases.AssociateWarehouseToProductStoreUseCase;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.logging.BusinessEventLogger;
+import com.fulfilment.application.monolith.replica.ReadReplica;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -14,27 +21,56 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @Path("fulfillment/warehouse-product-store")
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
 public class FulfillmentResource {
 
   @Inject private WarehouseProductStoreRepository repository;
 
   @Inject private AssociateWarehouseToProductStoreUseCase associateUseCase;
 
-  private static final Logger LOGGER = Logger.getLogger(FulfillmentResource.class.getName());
+  @Inject private ObjectMapper objectMapper;
+
+  @Inject private BusinessEventLogger events;
+
+  @ConfigProperty(name = "fulfillment.bulk.chunk-size", defaultValue = "1000")
+  int bulkChunkSize;
+
+  static final String NDJSON = "application/x-ndjson";
+
+  static final int MAX_BULK_SIZE = 50_000;
+
+  private static final InvalidRequestException FIELDS_REQUIRED =
+      InvalidRequestException.constant(
+          "productId, storeId, and warehouseBusinessUnitCode are required");
+
+  private static final InvalidRequestException ARRAY_REQUIRED =
+      InvalidRequestException.constant("Request body must be a JSON array");
+
+  private static final InvalidRequestException BULK_TOO_LARGE =
+      InvalidRequestException.constant(
+          "A bulk request may contain at most " + MAX_BULK_SIZE + " associations");
+
+  private static final InvalidRequestException UNREADABLE_BODY =
+      InvalidRequestException.constant("Failed to read request body");
+
 
   @GET
+  @ReadReplica
   public Response listAllAssociations() {
     var associations = repository.listAll().stream()
         .map(db -> new WarehouseProductStoreDto(
@@ -51,8 +87,7 @@ public class FulfillmentResource {
   @Transactional
   public Response associate(AssociationRequest request) {
     if (request.productId == null || request.storeId == null || request.warehouseBusinessUnitCode == null) {
-      throw new WebApplicationException(
-          "productId, storeId, and warehouseBusinessUnitCode are required", 400);
+      throw FIELDS_REQUIRED;
     }
 
     associateUseCase.associate(request.productId, request.storeId, request.warehouseBusinessUnitCode);
@@ -72,25 +107,119 @@ public class FulfillmentResource {
         .build();
   }
 
+  @POST
+  @Path("bulk")
+  @Transactional
+  public Response associateAll(List<AssociationRequest> requests) {
+    if (requests == null) {
+      throw ARRAY_REQUIRED;
+    }
+    return bulkAssociate(requests);
+  }
+
+  /**
+   * Bulk import streamed as one association per line. Lines are validated and committed in chunks
+   * of {@code fulfillment.bulk.chunk-size} as they are read, one transaction per chunk, so neither
+   * the body nor a single transaction holds the whole import. Each chunk sees the associations the
+   * chunks before it committed. A malformed line or a body over {@value #MAX_BULK_SIZE} lines ends
+   * the import with 400; the chunks before it stay committed and the message names the line to
+   * resume from.
+   */
+  @POST
+  @Path("bulk")
+  @Consumes(NDJSON)
+  public Response associateAllNdjson(InputStream body) {
+    var results = new ArrayList<AssociationResult>();
+    var chunk = new ArrayList<AssociationRequest>(bulkChunkSize);
+    try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        if (results.size() + chunk.size() == MAX_BULK_SIZE) {
+          throw BULK_TOO_LARGE;
+        }
+        try {
+          chunk.add(objectMapper.readValue(line, AssociationRequest.class));
+        } catch (JsonProcessingException e) {
+          throw new InvalidRequestException("Malformed NDJSON at line " + lineNumber);
+        }
+        if (chunk.size() == bulkChunkSize) {
+          commitChunk(chunk, results);
+        }
+      }
+    } catch (IOException e) {
+      throw UNREADABLE_BODY;
+    }
+    commitChunk(chunk, results);
+    return report(results);
+  }
+
+  private void commitChunk(List<AssociationRequest> chunk, List<AssociationResult> results) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    int offset = results.size();
+    var associations = toDomain(chunk);
+    var chunkResults =
+        QuarkusTransaction.requiringNew().call(() -> associateUseCase.associateAll(associations));
+    // Results are indexed within the chunk; the report indexes them within the whole body
+    for (var result : chunkResults) {
+      results.add(new AssociationResult(offset + result.index, result.status, result.message));
+    }
+    chunk.clear();
+  }
+
+  private Response bulkAssociate(List<AssociationRequest> requests) {
+    if (requests.size() > MAX_BULK_SIZE) {
+      throw BULK_TOO_LARGE;
+    }
+    return report(associateUseCase.associateAll(toDomain(requests)));
+  }
+
+  private static List<WarehouseProductStore> toDomain(List<AssociationRequest> requests) {
+    return requests.stream()
+        .map(
+            r ->
+                r == null
+                    ? null
+                    : new WarehouseProductStore(
+                        r.productId, r.storeId, r.warehouseBusinessUnitCode))
+        .toList();
+  }
+
+  private Response report(List<AssociationResult> results) {
+    var report = new BulkAssociationReport(results);
+    events.event("association.bulk", report.created, report.rejected);
+    return Response.ok(report).build();
+  }
+
   @GET
+  @ReadReplica
   @Path("product/{productId}/store/{storeId}")
   public Response getWarehousesForProductStore(
       @PathParam("productId") Long productId, @PathParam("storeId") Long storeId) {
-    var associations = repository.findByProductAndStore(productId, storeId);
+    var associations =
+        WarehouseProductStoreDto.of(repository.findByProductAndStore(productId, storeId));
     return Response.ok(associations).build();
   }
 
   @GET
+  @ReadReplica
   @Path("store/{storeId}")
   public Response getWarehousesForStore(@PathParam("storeId") Long storeId) {
-    var associations = repository.findByStore(storeId);
+    var associations = WarehouseProductStoreDto.of(repository.findByStore(storeId));
     return Response.ok(associations).build();
   }
 
   @GET
+  @ReadReplica
   @Path("warehouse/{warehouseCode}")
   public Response getProductsForWarehouse(@PathParam("warehouseCode") String warehouseCode) {
-    var associations = repository.findByWarehouse(warehouseCode);
+    var associations = WarehouseProductStoreDto.of(repository.findByWarehouse(warehouseCode));
     return Response.ok(associations).build();
   }
 
@@ -125,31 +254,27 @@ public class FulfillmentResource {
       this.warehouseBusinessUnitCode = warehouseBusinessUnitCode;
       this.createdAt = createdAt;
     }
-  }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
 
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
+    // The response shape of every association read, blocking or reactive
+    static List<WarehouseProductStoreDto> of(List<WarehouseProductStore> associations) {
+      return associations.stream()
+          .map(
+              a ->
+                  new WarehouseProductStoreDto(
+                      a.id, a.productId, a.storeId, a.warehouseBusinessUnitCode, a.createdAt))
+          .toList();
+    }
+  }
 
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
+  public static class BulkAssociationReport {
+    public int created;
+    public int rejected;
+    public List<AssociationResult> results;
 
-      return Response.status(code).entity(exceptionJson).build();
+    public BulkAssociationReport(List<AssociationResult> results) {
+      this.results = results;
+      this.created = (int) results.stream().filter(r -> r.status == 201).count();
+      this.rejected = results.size() - created;
     }
   }
 }
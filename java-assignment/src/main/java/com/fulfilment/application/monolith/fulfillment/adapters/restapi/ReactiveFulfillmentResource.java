@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.fulfillment.adapters.restapi;
+
+import com.fulfilment.application.monolith.fulfillment.adapters.restapi.FulfillmentResource.WarehouseProductStoreDto;
+import com.fulfilment.application.monolith.fulfillment.domain.ports.ReactiveWarehouseProductStoreStore;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import java.util.List;
+
+/**
+ * Non-blocking association lookups, the event-loop counterpart of the
+ * {@code /fulfillment/warehouse-product-store} reads, answering with the same
+ * {@link WarehouseProductStoreDto} shape. Only built when
+ * {@code warehouse.reactive.enabled=true}.
+ */
+@Path("reactive/fulfillment/warehouse-product-store")
+@ApplicationScoped
+@Produces("application/json")
+@IfBuildProperty(name = "warehouse.reactive.enabled", stringValue = "true")
+public class ReactiveFulfillmentResource {
+
+  @Inject ReactiveWarehouseProductStoreStore associationStore;
+
+  @GET
+  @Path("product/{productId}/store/{storeId}")
+  public Uni<List<WarehouseProductStoreDto>> getWarehousesForProductStore(
+      @PathParam("productId") Long productId, @PathParam("storeId") Long storeId) {
+    return associationStore
+        .findByProductAndStore(productId, storeId)
+        .map(WarehouseProductStoreDto::of);
+  }
+
+  @GET
+  @Path("store/{storeId}")
+  public Uni<List<WarehouseProductStoreDto>> getWarehousesForStore(
+      @PathParam("storeId") Long storeId) {
+    return associationStore.findByStore(storeId).map(WarehouseProductStoreDto::of);
+  }
+
+  @GET
+  @Path("warehouse/{warehouseCode}")
+  public Uni<List<WarehouseProductStoreDto>> getProductsForWarehouse(
+      @PathParam("warehouseCode") String warehouseCode) {
+    return associationStore.findByWarehouse(warehouseCode).map(WarehouseProductStoreDto::of);
+  }
+}
@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.fulfillment.domain.models;
+
+/**
+ * Snapshot of the counts needed to validate a new product/store/warehouse association, all
+ * scoped to a single store.
+ */
+public class AssociationConstraintCounts {
+
+  public boolean associationExists;
+
+  public long warehousesForProductInStore;
+
+  public long warehousesForStore;
+
+  public long productsForWarehouseInStore;
+
+  public AssociationConstraintCounts() {}
+
+  public AssociationConstraintCounts(
+      boolean associationExists,
+      long warehousesForProductInStore,
+      long warehousesForStore,
+      long productsForWarehouseInStore) {
+    this.associationExists = associationExists;
+    this.warehousesForProductInStore = warehousesForProductInStore;
+    this.warehousesForStore = warehousesForStore;
+    this.productsForWarehouseInStore = productsForWarehouseInStore;
+  }
+
+  public boolean warehouseAlreadyInStore() {
+    return productsForWarehouseInStore > 0;
+  }
+}
@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.fulfillment.domain.models;
+
+/** Outcome of one row of a bulk association request, keyed by its position in the input. */
+public class AssociationResult {
+
+  public int index;
+
+  public int status;
+
+  public String message;
+
+  public AssociationResult() {}
+
+  public AssociationResult(int index, int status, String message) {
+    this.index = index;
+    this.status = status;
+    this.message = message;
+  }
+}
@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.fulfillment.domain.models;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory view of the associations of a set of stores, indexed as store -> warehouse ->
+ * products. Lets a batch of new associations be validated without a query per row; accepted rows
+ * are added so later rows in the same batch see them.
+ */
+public class StoreAssociationSnapshot {
+
+  private final Map<Long, Map<String, Set<Long>>> productsByWarehouseByStore = new HashMap<>();
+
+  public StoreAssociationSnapshot(Collection<WarehouseProductStore> associations) {
+    associations.forEach(
+        a -> add(a.productId, a.storeId, a.warehouseBusinessUnitCode));
+  }
+
+  public void add(Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    productsByWarehouseByStore
+        .computeIfAbsent(storeId, id -> new HashMap<>())
+        .computeIfAbsent(warehouseBusinessUnitCode, code -> new HashSet<>())
+        .add(productId);
+  }
+
+  public AssociationConstraintCounts countConstraints(
+      Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    var warehouses = productsByWarehouseByStore.getOrDefault(storeId, Map.of());
+    var products = warehouses.getOrDefault(warehouseBusinessUnitCode, Set.of());
+    long warehousesForProduct =
+        warehouses.values().stream().filter(p -> p.contains(productId)).count();
+    return new AssociationConstraintCounts(
+        products.contains(productId), warehousesForProduct, warehouses.size(), products.size());
+  }
+}
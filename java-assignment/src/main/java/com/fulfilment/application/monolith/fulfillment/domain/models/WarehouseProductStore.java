@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 
 public class WarehouseProductStore {
 
+  public Long id;
+
   public Long productId;
 
   public Long storeId;
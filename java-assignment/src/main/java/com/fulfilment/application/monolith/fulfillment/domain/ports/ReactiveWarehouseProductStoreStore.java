@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.fulfillment.domain.ports;
+
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+
+/**
+ * Non-blocking read side of {@link WarehouseProductStoreStore}, for serving association lookups
+ * on the event loop. Associations are still created and removed through the blocking store.
+ */
+public interface ReactiveWarehouseProductStoreStore {
+
+  Uni<List<WarehouseProductStore>> findByProductAndStore(Long productId, Long storeId);
+
+  Uni<List<WarehouseProductStore>> findByStore(Long storeId);
+
+  Uni<List<WarehouseProductStore>> findByWarehouse(String warehouseBusinessUnitCode);
+}
@@ -1,20 +1,31 @@
 package com.fulfilment.application.monolith.fulfillment.domain.ports;
 
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import java.util.Collection;
 import java.util.List;
 
 public interface WarehouseProductStoreStore {
 
   void create(WarehouseProductStore association);
 
+  /** Persists all associations in one unit of work so the inserts can be JDBC-batched. */
+  void createAll(List<WarehouseProductStore> associations);
+
   void remove(Long productId, Long storeId, String warehouseBusinessUnitCode);
 
   List<WarehouseProductStore> findByProductAndStore(Long productId, Long storeId);
 
   List<WarehouseProductStore> findByStore(Long storeId);
 
+  List<WarehouseProductStore> findByStores(Collection<Long> storeIds);
+
   List<WarehouseProductStore> findByWarehouse(String warehouseBusinessUnitCode);
 
   WarehouseProductStore findAssociation(
       Long productId, Long storeId, String warehouseBusinessUnitCode);
+
+  /** Evaluates every association constraint for the given triple in a single round trip. */
+  AssociationConstraintCounts countConstraints(
+      Long productId, Long storeId, String warehouseBusinessUnitCode);
 }
@@ -1,10 +1,22 @@
 package com.fulfilment.application.monolith.fulfillment.domain.usecases;
 
+import com.fulfilment.application.monolith.changes.ChangePublisher;
+import com.fulfilment.application.monolith.errors.ConflictException;
+import com.fulfilment.application.monolith.errors.ResourceNotFoundException;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationResult;
+import com.fulfilment.application.monolith.fulfillment.domain.models.StoreAssociationSnapshot;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.domain.ports.WarehouseProductStoreStore;
+import com.fulfilment.application.monolith.metrics.Measured;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+@Measured
 @ApplicationScoped
 public class AssociateWarehouseToProductStoreUseCase {
 
@@ -12,109 +24,165 @@ public class AssociateWarehouseToProductStoreUseCase {
   private static final int MAX_WAREHOUSES_PER_STORE = 3;
   private static final int MAX_PRODUCTS_PER_WAREHOUSE = 5;
 
+  static final String MISSING_FIELDS_MESSAGE =
+      "productId, storeId, and warehouseBusinessUnitCode are required";
+
   private final WarehouseProductStoreStore warehouseProductStoreStore;
+  private final ChangePublisher changes;
 
   public AssociateWarehouseToProductStoreUseCase(
       WarehouseProductStoreStore warehouseProductStoreStore) {
+    this(warehouseProductStoreStore, ChangePublisher.NONE);
+  }
+
+  @Inject
+  public AssociateWarehouseToProductStoreUseCase(
+      WarehouseProductStoreStore warehouseProductStoreStore, ChangePublisher changes) {
     this.warehouseProductStoreStore = warehouseProductStoreStore;
+    this.changes = changes;
   }
 
   public void associate(
       Long productId, Long storeId, String warehouseBusinessUnitCode) {
 
-    // Validate association doesn't already exist
-    var existing =
-        warehouseProductStoreStore.findAssociation(productId, storeId, warehouseBusinessUnitCode);
-    if (existing != null) {
-      throw new WebApplicationException(
-          "Association already exists for Product "
-              + productId
-              + ", Store "
-              + storeId
-              + ", Warehouse "
-              + warehouseBusinessUnitCode,
-          409);
-    }
+    var counts =
+        warehouseProductStoreStore.countConstraints(productId, storeId, warehouseBusinessUnitCode);
 
-    // Constraint 1: Max 2 warehouses per product per store
-    var warehousesForProductStore =
-        warehouseProductStoreStore.findByProductAndStore(productId, storeId);
-    if (warehousesForProductStore.size() >= MAX_WAREHOUSES_PER_PRODUCT_PER_STORE) {
-      throw new WebApplicationException(
-          "Product "
-              + productId
-              + " already has maximum ("
-              + MAX_WAREHOUSES_PER_PRODUCT_PER_STORE
-              + ") warehouses for Store "
-              + storeId,
-          409);
+    var violation = findViolation(counts, productId, storeId, warehouseBusinessUnitCode);
+    if (violation != null) {
+      throw new ConflictException(violation);
     }
 
-    // Constraint 2: Max 3 warehouses per store
-    var warehousesForStore = warehouseProductStoreStore.findByStore(storeId);
-    var uniqueWarehousesForStore =
-        warehousesForStore.stream()
-            .map(w -> w.warehouseBusinessUnitCode)
-            .distinct()
-            .count();
-
-    // Check if this warehouse is new for this store
-    var warehouseAlreadyInStore =
-        warehousesForStore.stream()
-            .anyMatch(w -> w.warehouseBusinessUnitCode.equals(warehouseBusinessUnitCode));
-
-    if (!warehouseAlreadyInStore && uniqueWarehousesForStore >= MAX_WAREHOUSES_PER_STORE) {
-      throw new WebApplicationException(
-          "Store "
-              + storeId
-              + " already has maximum ("
-              + MAX_WAREHOUSES_PER_STORE
-              + ") warehouses",
-          409);
-    }
+    // All validations passed, create the association
+    var association = new WarehouseProductStore(productId, storeId, warehouseBusinessUnitCode);
+    warehouseProductStoreStore.create(association);
+    publish("association.created", productId, storeId, warehouseBusinessUnitCode);
+  }
 
-    // Constraint 3: Max 5 product types per warehouse
-    var productsForWarehouse = warehouseProductStoreStore.findByWarehouse(warehouseBusinessUnitCode);
-    var uniqueProductsForWarehouse =
-        productsForWarehouse.stream()
-            .filter(p -> p.storeId.equals(storeId))
-            .map(p -> p.productId)
+  /**
+   * Validates and creates a batch of associations. The current associations of every store in the
+   * batch are loaded once and the constraints are checked in memory, so rows accepted earlier in
+   * the batch count towards the limits of later rows. Rejected rows do not abort the batch; every
+   * row gets a result with the status it would have had as a single request.
+   */
+  public List<AssociationResult> associateAll(List<WarehouseProductStore> requests) {
+    var storeIds =
+        requests.stream()
+            .filter(Objects::nonNull)
+            .map(r -> r.storeId)
+            .filter(Objects::nonNull)
             .distinct()
-            .count();
-
-    var productAlreadyInWarehouse =
-        productsForWarehouse.stream()
-            .anyMatch(
-                p -> p.storeId.equals(storeId) && p.productId.equals(productId));
-
-    if (!productAlreadyInWarehouse && uniqueProductsForWarehouse >= MAX_PRODUCTS_PER_WAREHOUSE) {
-      throw new WebApplicationException(
-          "Warehouse "
-              + warehouseBusinessUnitCode
-              + " already has maximum ("
-              + MAX_PRODUCTS_PER_WAREHOUSE
-              + ") product types",
-          409);
+            .toList();
+    var snapshot = new StoreAssociationSnapshot(warehouseProductStoreStore.findByStores(storeIds));
+
+    var results = new ArrayList<AssociationResult>(requests.size());
+    var accepted = new ArrayList<WarehouseProductStore>();
+    for (int i = 0; i < requests.size(); i++) {
+      var request = requests.get(i);
+      if (request == null
+          || request.productId == null
+          || request.storeId == null
+          || request.warehouseBusinessUnitCode == null) {
+        results.add(new AssociationResult(i, 400, MISSING_FIELDS_MESSAGE));
+        continue;
+      }
+
+      var counts =
+          snapshot.countConstraints(
+              request.productId, request.storeId, request.warehouseBusinessUnitCode);
+      var violation =
+          findViolation(
+              counts, request.productId, request.storeId, request.warehouseBusinessUnitCode);
+      if (violation != null) {
+        results.add(new AssociationResult(i, 409, violation));
+        continue;
+      }
+
+      snapshot.add(request.productId, request.storeId, request.warehouseBusinessUnitCode);
+      accepted.add(
+          new WarehouseProductStore(
+              request.productId, request.storeId, request.warehouseBusinessUnitCode));
+      results.add(new AssociationResult(i, 201, "Association created successfully"));
     }
 
-    // All validations passed, create the association
-    var association = new WarehouseProductStore(productId, storeId, warehouseBusinessUnitCode);
-    warehouseProductStoreStore.create(association);
+    warehouseProductStoreStore.createAll(accepted);
+    if (!accepted.isEmpty()) {
+      // One event for the batch; subscribers reload the associations rather than receive
+      // thousands of single changes
+      changes.publish("association.imported", null, Map.of("created", accepted.size()));
+    }
+    return results;
   }
 
   public void dissociate(Long productId, Long storeId, String warehouseBusinessUnitCode) {
     var existing =
         warehouseProductStoreStore.findAssociation(productId, storeId, warehouseBusinessUnitCode);
     if (existing == null) {
-      throw new WebApplicationException(
+      throw new ResourceNotFoundException(
           "Association not found for Product "
               + productId
               + ", Store "
               + storeId
               + ", Warehouse "
-              + warehouseBusinessUnitCode,
-          404);
+              + warehouseBusinessUnitCode);
     }
     warehouseProductStoreStore.remove(productId, storeId, warehouseBusinessUnitCode);
+    publish("association.removed", productId, storeId, warehouseBusinessUnitCode);
+  }
+
+  private void publish(
+      String type, Long productId, Long storeId, String warehouseBusinessUnitCode) {
+    changes.publish(
+        type, warehouseBusinessUnitCode, Map.of("productId", productId, "storeId", storeId));
+  }
+
+  /** Returns the message of the first constraint the new association would break, or null. */
+  private static String findViolation(
+      AssociationConstraintCounts counts,
+      Long productId,
+      Long storeId,
+      String warehouseBusinessUnitCode) {
+
+    // Validate association doesn't already exist
+    if (counts.associationExists) {
+      return "Association already exists for Product "
+          + productId
+          + ", Store "
+          + storeId
+          + ", Warehouse "
+          + warehouseBusinessUnitCode;
+    }
+
+    // Constraint 1: Max 2 warehouses per product per store
+    if (counts.warehousesForProductInStore >= MAX_WAREHOUSES_PER_PRODUCT_PER_STORE) {
+      return "Product "
+          + productId
+          + " already has maximum ("
+          + MAX_WAREHOUSES_PER_PRODUCT_PER_STORE
+          + ") warehouses for Store "
+          + storeId;
+    }
+
+    // Constraint 2: Max 3 warehouses per store, unless this warehouse already serves the store
+    if (!counts.warehouseAlreadyInStore()
+        && counts.warehousesForStore >= MAX_WAREHOUSES_PER_STORE) {
+      return "Store "
+          + storeId
+          + " already has maximum ("
+          + MAX_WAREHOUSES_PER_STORE
+          + ") warehouses";
+    }
+
+    // Constraint 3: Max 5 product types per warehouse. The product cannot already be in this
+    // warehouse for the store, otherwise the association would exist.
+    if (counts.productsForWarehouseInStore >= MAX_PRODUCTS_PER_WAREHOUSE) {
+      return "Warehouse "
+          + warehouseBusinessUnitCode
+          + " already has maximum ("
+          + MAX_PRODUCTS_PER_WAREHOUSE
+          + ") product types";
+    }
+
+    return null;
   }
 }
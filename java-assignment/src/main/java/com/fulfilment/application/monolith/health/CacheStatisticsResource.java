@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.health;
+
+import com.fulfilment.application.monolith.fulfillment.adapters.database.DbWarehouseProductStore;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Exposes Hibernate second-level and query cache statistics per region, for sizing the regions
+ * configured in application.properties. Requires {@code quarkus.hibernate-orm.statistics=true}.
+ * Restricted to the {@value #ADMIN_ROLE} role: region names and counts describe the data model and
+ * its traffic.
+ */
+@Path("admin/cache-statistics")
+@ApplicationScoped
+@Produces("application/json")
+@RolesAllowed(CacheStatisticsResource.ADMIN_ROLE)
+public class CacheStatisticsResource {
+
+  static final String ADMIN_ROLE = "admin";
+
+  static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+
+  @Inject SessionFactory sessionFactory;
+
+  @GET
+  public CacheStatistics get() {
+    Statistics statistics = sessionFactory.getStatistics();
+
+    // Query result regions are created lazily, so list the known ones explicitly
+    var regionNames = new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+    regionNames.add(DEFAULT_QUERY_RESULTS_REGION);
+    regionNames.add(DbWarehouse.QUERY_CACHE_REGION);
+    regionNames.add(DbWarehouseProductStore.QUERY_CACHE_REGION);
+
+    var regions = new LinkedHashMap<String, RegionStatistics>();
+    for (String name : regionNames) {
+      CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+      if (region != null) {
+        regions.put(name, new RegionStatistics(region));
+      }
+    }
+
+    return new CacheStatistics(
+        statistics.isStatisticsEnabled(),
+        statistics.getSecondLevelCacheHitCount(),
+        statistics.getSecondLevelCacheMissCount(),
+        statistics.getQueryCacheHitCount(),
+        statistics.getQueryCacheMissCount(),
+        regions);
+  }
+
+  public static class CacheStatistics {
+    public boolean statisticsEnabled;
+    public long secondLevelCacheHitCount;
+    public long secondLevelCacheMissCount;
+    public long queryCacheHitCount;
+    public long queryCacheMissCount;
+    public Map<String, RegionStatistics> regions;
+
+    public CacheStatistics(
+        boolean statisticsEnabled,
+        long secondLevelCacheHitCount,
+        long secondLevelCacheMissCount,
+        long queryCacheHitCount,
+        long queryCacheMissCount,
+        Map<String, RegionStatistics> regions) {
+      this.statisticsEnabled = statisticsEnabled;
+      this.secondLevelCacheHitCount = secondLevelCacheHitCount;
+      this.secondLevelCacheMissCount = secondLevelCacheMissCount;
+      this.queryCacheHitCount = queryCacheHitCount;
+      this.queryCacheMissCount = queryCacheMissCount;
+      this.regions = regions;
+    }
+  }
+
+  public static class RegionStatistics {
+    public long hitCount;
+    public long missCount;
+    public long putCount;
+    // -1 when the cache provider does not report it. Hibernate reports no eviction count, and puts
+    // minus this is not one: a put can replace an entry that is still present.
+    public long elementCountInMemory;
+
+    public RegionStatistics(CacheRegionStatistics region) {
+      this.hitCount = region.getHitCount();
+      this.missCount = region.getMissCount();
+      this.putCount = region.getPutCount();
+      long inMemory = region.getElementCountInMemory();
+      this.elementCountInMemory = inMemory < 0 ? -1 : inMemory;
+    }
+  }
+}
@@ -19,8 +19,6 @@ public class FulfillmentHealthCheck implements HealthCheck {
   @Override
   public HealthCheckResponse call() {
     try {
-      Log.info("Fulfillment application health check invoked");
-      
       // Verify application is responsive
       return HealthCheckResponse.named("Fulfillment Service")
           .up()
@@ -0,0 +1,46 @@
+package com.fulfilment.application.monolith.health;
+
+import com.fulfilment.application.monolith.stores.StoreOutboxDispatcher;
+import io.smallrye.health.api.HealthGroup;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+/**
+ * Reports the legacy store manager outbox: queue depth, parked events and dispatch lag. Goes down
+ * when the oldest undelivered event is older than {@code store.outbox.max-lag}.
+ *
+ * <p>Served at {@code /q/health/group/store-outbox}, not as a readiness check: a backlog means the
+ * legacy system is slow or down, and taking instances out of the load balancer would not help it
+ * drain; stores are still accepted and queued.
+ */
+@HealthGroup(StoreOutboxHealthCheck.GROUP)
+@ApplicationScoped
+public class StoreOutboxHealthCheck implements HealthCheck {
+
+  static final String GROUP = "store-outbox";
+
+  @Inject StoreOutboxDispatcher dispatcher;
+
+  @ConfigProperty(name = "store.outbox.max-lag", defaultValue = "5m")
+  Duration maxLag;
+
+  @Override
+  @ActivateRequestContext
+  public HealthCheckResponse call() {
+    Duration oldestPendingAge = dispatcher.oldestPendingAge();
+    return HealthCheckResponse.named("Store Outbox")
+        .status(oldestPendingAge.compareTo(maxLag) <= 0)
+        .withData("queueDepth", dispatcher.queueDepth())
+        .withData("parked", dispatcher.parkedCount())
+        .withData("oldestPendingAgeMillis", oldestPendingAge.toMillis())
+        .withData("lastDispatchLagMillis", dispatcher.lastDispatchLagMillis())
+        .withData("dispatchedTotal", dispatcher.dispatchedTotal())
+        .withData("failedBatchesTotal", dispatcher.failedBatchesTotal())
+        .build();
+  }
+}
@@ -2,31 +2,214 @@ package com.fulfilment.application.monolith.location;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+/**
+ * Registry of known locations.
+ *
+ * <p>Locations are held in an immutable hash-indexed snapshot. Lookups read the current snapshot
+ * without locking or allocating; {@link #reload(Collection)} builds a new snapshot and swaps it in
+ * atomically, so readers see either the old or the new master data, never a mix.
+ *
+ * <p>The snapshot is loaded from the bundled {@code locations.csv} and, when
+ * {@code location.registry.file} is configured, replaced at startup by the content of that file.
+ * That file is then checked every {@code location.registry.check-interval} and reloaded when its
+ * modification time changes; a file that fails to parse is logged and the previous snapshot kept.
+ */
 @ApplicationScoped
 public class LocationGateway implements LocationResolver {
 
-  private static final List<Location> locations = new ArrayList<>();
+  static final String DEFAULT_REGISTRY_RESOURCE = "locations.csv";
 
-  static {
-    locations.add(new Location("ZWOLLE-001", 1, 40));
-    locations.add(new Location("ZWOLLE-002", 2, 50));
-    locations.add(new Location("AMSTERDAM-001", 5, 100));
-    locations.add(new Location("AMSTERDAM-002", 3, 75));
-    locations.add(new Location("TILBURG-001", 1, 40));
-    locations.add(new Location("HELMOND-001", 1, 45));
-    locations.add(new Location("EINDHOVEN-001", 2, 70));
-    locations.add(new Location("VETSBY-001", 1, 90));
+  private final AtomicReference<Map<String, Location>> snapshot;
+
+  @ConfigProperty(name = "location.registry.file")
+  Optional<String> registryFile;
+
+  // Modification time of the registry file the current snapshot was read from
+  private volatile FileTime loadedModifiedTime;
+
+  public LocationGateway() {
+    this.snapshot = new AtomicReference<>(index(loadFromClasspath(DEFAULT_REGISTRY_RESOURCE)));
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (registryFile != null && registryFile.isPresent()) {
+      reloadFromFile(Path.of(registryFile.get()));
+    }
+  }
+
+  @Scheduled(
+      every = "${location.registry.check-interval:30s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void checkRegistryFile() {
+    if (registryFile == null || registryFile.isEmpty()) {
+      return;
+    }
+    try {
+      reloadIfModified(Path.of(registryFile.get()));
+    } catch (RuntimeException e) {
+      Log.warnf("Location registry %s not reloaded: %s", registryFile.get(), e.getMessage());
+    }
   }
 
   @Override
   public Location resolveByIdentifier(String identifier) {
-    return locations.stream()
-        .filter(location -> location.identification.equals(identifier))
-        .findFirst()
-        .orElse(null);
+    if (identifier == null) {
+      return null;
+    }
+    return snapshot.get().get(identifier);
+  }
+
+  /**
+   * Resolve several identifiers against the same snapshot.
+   *
+   * @return Known locations keyed by identifier, in request order; unknown identifiers are absent
+   */
+  public Map<String, Location> resolveAll(Collection<String> identifiers) {
+    var current = snapshot.get();
+    var resolved = new LinkedHashMap<String, Location>();
+    for (String identifier : identifiers) {
+      if (identifier != null) {
+        var location = current.get(identifier);
+        if (location != null) {
+          resolved.put(identifier, location);
+        }
+      }
+    }
+    return resolved;
+  }
+
+  /** All locations of the current snapshot. */
+  public Collection<Location> getAll() {
+    return snapshot.get().values();
+  }
+
+  /**
+   * Replace the registry with the given locations (copy-on-write).
+   *
+   * @throws IllegalArgumentException if an identifier appears more than once
+   */
+  public void reload(Collection<Location> locations) {
+    var next = index(locations);
+    snapshot.set(next);
+    Log.infof("Location registry reloaded with %d locations", next.size());
+  }
+
+  /** Replace the registry with the content of a CSV file. */
+  public void reloadFromFile(Path file) {
+    try {
+      FileTime modified = Files.getLastModifiedTime(file);
+      try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        reload(parse(reader));
+      }
+      loadedModifiedTime = modified;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read location registry " + file, e);
+    }
+  }
+
+  /**
+   * Reload the registry from a CSV file unless it is unchanged since it was last loaded.
+   *
+   * @return whether the file was reloaded
+   */
+  public boolean reloadIfModified(Path file) {
+    FileTime modified;
+    try {
+      modified = Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read location registry " + file, e);
+    }
+    if (modified.equals(loadedModifiedTime)) {
+      return false;
+    }
+    reloadFromFile(file);
+    return true;
+  }
+
+  private static List<Location> loadFromClasspath(String resource) {
+    InputStream stream =
+        Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+    if (stream == null) {
+      stream = LocationGateway.class.getClassLoader().getResourceAsStream(resource);
+    }
+    if (stream == null) {
+      throw new IllegalStateException("Location registry resource '" + resource + "' not found");
+    }
+    try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      return parse(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read location registry " + resource, e);
+    }
+  }
+
+  /** Parses {@code identification,maxNumberOfWarehouses,maxCapacity} lines; '#' comments. */
+  static List<Location> parse(BufferedReader reader) throws IOException {
+    var locations = new ArrayList<Location>();
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.strip();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] columns = line.split(",");
+      if (columns.length != 3) {
+        throw new IllegalArgumentException(
+            "Invalid location registry line " + lineNumber + ": '" + line + "'");
+      }
+      locations.add(
+          new Location(
+              columns[0].strip(),
+              parseNumber(columns[1], "maxNumberOfWarehouses", lineNumber),
+              parseNumber(columns[2], "maxCapacity", lineNumber)));
+    }
+    return locations;
+  }
+
+  private static int parseNumber(String column, String name, int lineNumber) {
+    try {
+      return Integer.parseInt(column.strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "Invalid " + name + " '" + column.strip() + "' on location registry line "
+              + lineNumber,
+          e);
+    }
+  }
+
+  private static Map<String, Location> index(Collection<Location> locations) {
+    var byIdentifier = new HashMap<String, Location>(locations.size() * 2);
+    for (Location location : locations) {
+      if (byIdentifier.putIfAbsent(location.identification, location) != null) {
+        throw new IllegalArgumentException(
+            "Duplicate location identifier '" + location.identification + "'");
+      }
+    }
+    return Map.copyOf(byIdentifier);
   }
 }
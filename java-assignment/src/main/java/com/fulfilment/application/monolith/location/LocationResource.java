@@ -1,17 +1,23 @@
 package com.fulfilment.application.monolith.location;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
 
 @Path("location")
 @ApplicationScoped
 @Produces("application/json")
+@RunOnVirtualThread
 public class LocationResource {
 
   @Inject
@@ -38,6 +44,41 @@ public class LocationResource {
         .build();
   }
 
+  /**
+   * Resolve many location identifiers in one call against a single registry snapshot.
+   *
+   * @param ids Location identifiers to resolve
+   * @return Known locations in request order plus the identifiers that could not be resolved
+   */
+  @POST
+  @Path("resolve")
+  @Consumes("application/json")
+  public Response resolveLocations(List<String> ids) {
+    if (ids == null) {
+      return Response.status(400)
+          .entity(new ErrorResponse(
+              "jakarta.ws.rs.BadRequestException",
+              400,
+              "A JSON array of location ids is required"))
+          .build();
+    }
+
+    var resolved = locationGateway.resolveAll(ids);
+    var result = new BulkResolutionDto();
+    for (String id : ids) {
+      Location location = resolved.get(id);
+      if (location == null) {
+        result.unknown.add(id);
+      } else {
+        result.resolved.add(new LocationDto(
+            location.identification,
+            location.maxNumberOfWarehouses,
+            location.maxCapacity));
+      }
+    }
+    return Response.ok(result).build();
+  }
+
   public static class LocationDto {
     public String identification;
     public Integer maxNumberOfWarehouses;
@@ -50,6 +91,11 @@ public class LocationResource {
     }
   }
 
+  public static class BulkResolutionDto {
+    public List<LocationDto> resolved = new ArrayList<>();
+    public List<String> unknown = new ArrayList<>();
+  }
+
   public static class ErrorResponse {
     public String exceptionType;
     public Integer code;
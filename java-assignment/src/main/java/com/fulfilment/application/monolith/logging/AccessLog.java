@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.logging;
+
+import org.jboss.logging.Logger;
+
+/**
+ * One line per HTTP request on the {@value #CATEGORY} category, in {@code key=value} form:
+ *
+ * <pre>method=GET path=/store/1 status=200 durationUs=812</pre>
+ *
+ * The request id is not part of the line; it is in the MDC as {@value RequestLogFilter#MDC_KEY}
+ * and so lands in every JSON log record of the request. Nothing is formatted unless the category
+ * is enabled at INFO, so setting it to WARN turns the access log off at no cost.
+ */
+public final class AccessLog {
+
+  public static final String CATEGORY = "fulfilment.access";
+
+  private static final Logger LOG = Logger.getLogger(CATEGORY);
+
+  private AccessLog() {}
+
+  public static boolean enabled() {
+    return LOG.isInfoEnabled();
+  }
+
+  public static void log(String method, String path, int status, long durationNanos) {
+    if (!LOG.isInfoEnabled()) {
+      return;
+    }
+    LOG.info(
+        new StringBuilder(64 + path.length())
+            .append("method=")
+            .append(method)
+            .append(" path=")
+            .append(path)
+            .append(" status=")
+            .append(status)
+            .append(" durationUs=")
+            .append(durationNanos / 1_000)
+            .toString());
+  }
+}
@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.logging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Business events (store created, warehouse archived, ...) on the {@value #CATEGORY} category, one
+ * {@code key=value} line per event:
+ *
+ * <pre>event=warehouse.created subject=MWH.012 detail=AMSTERDAM-001</pre>
+ *
+ * Events are sampled at {@code logging.business-events.sample-rate} (1 logs every event) and
+ * nothing is formatted for an event that is not logged, whether it was sampled out or the
+ * category is below INFO. Reads are not business events; they only show in the {@link AccessLog}.
+ */
+@ApplicationScoped
+public class BusinessEventLogger {
+
+  public static final String CATEGORY = "fulfilment.events";
+
+  private static final Logger LOG = Logger.getLogger(CATEGORY);
+
+  private final double sampleRate;
+
+  @Inject
+  public BusinessEventLogger(
+      @ConfigProperty(name = "logging.business-events.sample-rate", defaultValue = "1")
+          double sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  public void event(String event, Object subject) {
+    if (shouldLog()) {
+      LOG.infof("event=%s subject=%s", event, subject);
+    }
+  }
+
+  public void event(String event, Object subject, Object detail) {
+    if (shouldLog()) {
+      LOG.infof("event=%s subject=%s detail=%s", event, subject, detail);
+    }
+  }
+
+  boolean shouldLog() {
+    if (!LOG.isInfoEnabled()) {
+      return false;
+    }
+    return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+}
@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.logging;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import java.util.concurrent.ThreadLocalRandom;
+import org.jboss.logging.MDC;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+/**
+ * Request correlation and access logging for every REST endpoint.
+ *
+ * <p>The request id is taken from the {@value #HEADER} request header when the caller sent a
+ * usable one, otherwise generated. It is put in the MDC for the duration of the request, so every
+ * log line the request produces carries it, and echoed in the response header. When the request
+ * completes one {@link AccessLog} line is written.
+ */
+public class RequestLogFilter {
+
+  public static final String HEADER = "X-Request-Id";
+
+  public static final String MDC_KEY = "requestId";
+
+  static final int MAX_REQUEST_ID_LENGTH = 64;
+
+  private static final String REQUEST_ID_PROPERTY = RequestLogFilter.class.getName() + ".id";
+
+  private static final String START_PROPERTY = RequestLogFilter.class.getName() + ".start";
+
+  @ServerRequestFilter(preMatching = true)
+  public void onRequest(ContainerRequestContext request) {
+    String requestId = request.getHeaderString(HEADER);
+    if (!isUsable(requestId)) {
+      requestId = newRequestId();
+    }
+    MDC.put(MDC_KEY, requestId);
+    request.setProperty(REQUEST_ID_PROPERTY, requestId);
+    if (AccessLog.enabled()) {
+      request.setProperty(START_PROPERTY, System.nanoTime());
+    }
+  }
+
+  @ServerResponseFilter
+  public void onResponse(ContainerRequestContext request, ContainerResponseContext response) {
+    Object requestId = request.getProperty(REQUEST_ID_PROPERTY);
+    if (requestId != null) {
+      response.getHeaders().putSingle(HEADER, requestId);
+    }
+    if (request.getProperty(START_PROPERTY) instanceof Long start) {
+      AccessLog.log(
+          request.getMethod(),
+          request.getUriInfo().getPath(),
+          response.getStatus(),
+          System.nanoTime() - start);
+    }
+    MDC.remove(MDC_KEY);
+  }
+
+  /** Accept caller ids that are short and header/log safe; anything else is replaced. */
+  static boolean isUsable(String requestId) {
+    if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < requestId.length(); i++) {
+      char c = requestId.charAt(i);
+      boolean safe =
+          (c >= 'a' && c <= 'z')
+              || (c >= 'A' && c <= 'Z')
+              || (c >= '0' && c <= '9')
+              || c == '-'
+              || c == '_'
+              || c == '.';
+      if (!safe) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static String newRequestId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+  }
+}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Records every call of the annotated method, or of every business method of the annotated bean,
+ * in the {@value MeasuredInterceptor#TIMER_NAME} timer. See {@link MeasuredInterceptor}.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface Measured {}
@@ -0,0 +1,81 @@
+package com.fulfilment.application.monolith.metrics;
+
+import com.fulfilment.application.monolith.errors.DomainException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.WebApplicationException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times {@link Measured} calls. Each call is recorded with the tags
+ *
+ * <ul>
+ *   <li>{@code component}: simple name of the class declaring the method
+ *   <li>{@code operation}: method name
+ *   <li>{@code outcome}: SUCCESS, CLIENT_ERROR or SERVER_ERROR
+ *   <li>{@code status}: HTTP status the failure maps to, or {@code none} on success
+ * </ul>
+ *
+ * Percentile histograms for the timer are switched on in {@link MetricsConfiguration}.
+ */
+@Measured
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class MeasuredInterceptor {
+
+  public static final String TIMER_NAME = "fulfilment.operation";
+
+  @Inject MeterRegistry registry;
+
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  @AroundInvoke
+  Object measure(InvocationContext context) throws Exception {
+    long start = System.nanoTime();
+    int status = 0;
+    try {
+      return context.proceed();
+    } catch (WebApplicationException e) {
+      status = e.getResponse().getStatus();
+      throw e;
+    } catch (DomainException e) {
+      status = e.status();
+      throw e;
+    } catch (Exception e) {
+      status = 500;
+      throw e;
+    } finally {
+      timer(context.getMethod(), status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Timer timer(Method method, int status) {
+    String component = method.getDeclaringClass().getSimpleName();
+    String key = component + '#' + method.getName() + '#' + status;
+    return timers.computeIfAbsent(
+        key,
+        k ->
+            Timer.builder(TIMER_NAME)
+                .description("Latency of use case, repository and gateway calls")
+                .tag("component", component)
+                .tag("operation", method.getName())
+                .tag("outcome", outcome(status))
+                .tag("status", status == 0 ? "none" : Integer.toString(status))
+                .register(registry));
+  }
+
+  static String outcome(int status) {
+    if (status == 0 || status < 400) {
+      return "SUCCESS";
+    }
+    return status < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+  }
+}
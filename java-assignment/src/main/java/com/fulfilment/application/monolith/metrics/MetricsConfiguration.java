@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/** Registry-wide meter configuration, picked up by the Quarkus Micrometer extension. */
+@Singleton
+public class MetricsConfiguration {
+
+  private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+  /**
+   * Publishes percentile histograms (for server-side quantiles in Prometheus) and client-side
+   * p50/p95/p99 for operation timers and HTTP server requests.
+   */
+  @Produces
+  @Singleton
+  public MeterFilter latencyDistributions() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getName().equals(MeasuredInterceptor.TIMER_NAME)
+            || id.getName().equals(HTTP_SERVER_REQUESTS)) {
+          return DistributionStatisticConfig.builder()
+              .percentilesHistogram(true)
+              .percentiles(0.5, 0.95, 0.99)
+              .build()
+              .merge(config);
+        }
+        return config;
+      }
+    };
+  }
+}
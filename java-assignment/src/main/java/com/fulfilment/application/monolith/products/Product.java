@@ -5,13 +5,17 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import java.math.BigDecimal;
 
 @Entity
 @Cacheable
 public class Product {
 
-  @Id @GeneratedValue public Long id;
+  @Id
+  @GeneratedValue(generator = "product_seq")
+  @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
+  public Long id;
 
   @Column(length = 40, unique = true)
   public String name;
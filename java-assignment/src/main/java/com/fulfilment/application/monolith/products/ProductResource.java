@@ -1,8 +1,11 @@
 package com.fulfilment.application.monolith.products;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.conditional.ResourceVersions;
+import com.fulfilment.application.monolith.errors.ResourceNotFoundException;
+import com.fulfilment.application.monolith.errors.UnprocessableEntityException;
+import com.fulfilment.application.monolith.replica.ReadReplica;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -13,34 +16,39 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
 
 @Path("product")
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
 public class ProductResource {
 
   @Inject ProductRepository productRepository;
 
-  private static final Logger LOGGER = Logger.getLogger(ProductResource.class.getName());
+  @Inject ResourceVersions resourceVersions;
+
+  private static final UnprocessableEntityException ID_SET_ON_CREATE =
+      UnprocessableEntityException.constant("Id was invalidly set on request.");
+
+  private static final UnprocessableEntityException NAME_NOT_SET =
+      UnprocessableEntityException.constant("Product Name was not set on request.");
 
   @GET
+  @ReadReplica
   public List<Product> get() {
     return productRepository.listAll(Sort.by("name"));
   }
 
   @GET
+  @ReadReplica
   @Path("{id}")
   public Product getSingle(Long id) {
     Product entity = productRepository.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new ResourceNotFoundException("Product with id of " + id + " does not exist.");
     }
     return entity;
   }
@@ -49,10 +57,11 @@ public class ProductResource {
   @Transactional
   public Response create(Product product) {
     if (product.id != null) {
-      throw new WebApplicationException("Id was invalidly set on request.", 422);
+      throw ID_SET_ON_CREATE;
     }
 
     productRepository.persist(product);
+    resourceVersions.changed(ResourceVersions.PRODUCT);
     return Response.ok(product).status(201).build();
   }
 
@@ -61,13 +70,13 @@ public class ProductResource {
   @Transactional
   public Product update(Long id, Product product) {
     if (product.name == null) {
-      throw new WebApplicationException("Product Name was not set on request.", 422);
+      throw NAME_NOT_SET;
     }
 
     Product entity = productRepository.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new ResourceNotFoundException("Product with id of " + id + " does not exist.");
     }
 
     entity.name = product.name;
@@ -76,6 +85,7 @@ public class ProductResource {
     entity.stock = product.stock;
 
     productRepository.persist(entity);
+    resourceVersions.changed(ResourceVersions.PRODUCT);
 
     return entity;
   }
@@ -86,35 +96,10 @@ public class ProductResource {
   public Response delete(Long id) {
     Product entity = productRepository.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new ResourceNotFoundException("Product with id of " + id + " does not exist.");
     }
     productRepository.delete(entity);
+    resourceVersions.changed(ResourceVersions.PRODUCT);
     return Response.status(204).build();
   }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
-
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
-
-      return Response.status(code).entity(exceptionJson).build();
-    }
-  }
 }
@@ -0,0 +1,14 @@
+package com.fulfilment.application.monolith.replica;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose reads may be served by the read replica. See {@link
+ * ReadReplicaFilter} for when a marked request still goes to the primary.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReadReplica {}
@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.replica;
+
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+/**
+ * Routes reads of {@link ReadReplica} endpoints to the read replica.
+ *
+ * <p>A GET or HEAD of a marked endpoint reads from the replica unless the endpoint is listed in
+ * {@code read-replica.primary-endpoints} ({@code <ResourceClass>.<method>}) or the client wrote
+ * recently. Every successful write answers with a {@value #COOKIE} cookie that keeps the client's
+ * reads on the primary for {@code read-replica.read-your-writes-window}, so a client sees its own
+ * changes even while the replica lags. Work done inside a transaction always uses the primary.
+ *
+ * <p>Replica reads bypass the second-level cache: entries are keyed by datasource, so entities
+ * cached from the replica would never be evicted by writes to the primary.
+ *
+ * <p>Does nothing unless the application is built with {@code
+ * quarkus.hibernate-orm.multitenant=DATABASE}.
+ */
+public class ReadReplicaFilter {
+
+  public static final String COOKIE = "read-primary-until";
+
+  @Inject @Any Instance<ReadReplicaTenantResolver> tenantResolver;
+
+  @Inject ReadRoute route;
+
+  @Inject Session session;
+
+  @ConfigProperty(name = "read-replica.read-your-writes-window", defaultValue = "5s")
+  Duration readYourWritesWindow;
+
+  @ConfigProperty(name = "read-replica.primary-endpoints")
+  Optional<Set<String>> primaryEndpoints;
+
+  private final Map<String, Boolean> eligibleEndpoints = new ConcurrentHashMap<>();
+
+  // Before ConditionalGetFilter, whose version lookup opens the request's session
+  @ServerRequestFilter(priority = Priorities.USER - 100)
+  public void onRequest(ContainerRequestContext request, SimpleResourceInfo resource) {
+    if (!isRead(request.getMethod()) || !tenantResolver.isResolvable() || !eligible(resource)) {
+      return;
+    }
+    Cookie cookie = request.getCookies().get(COOKIE);
+    if (cookie != null && pinnedToPrimary(cookie.getValue(), System.currentTimeMillis())) {
+      return;
+    }
+    route.useReplica();
+    session.setCacheMode(CacheMode.IGNORE);
+  }
+
+  @ServerResponseFilter
+  public void onResponse(ContainerRequestContext request, ContainerResponseContext response) {
+    if (isRead(request.getMethod())
+        || response.getStatus() >= 400
+        || !tenantResolver.isResolvable()) {
+      return;
+    }
+    long until = System.currentTimeMillis() + readYourWritesWindow.toMillis();
+    response
+        .getHeaders()
+        .add(
+            HttpHeaders.SET_COOKIE,
+            new NewCookie.Builder(COOKIE)
+                .value(Long.toString(until))
+                .path("/")
+                .maxAge((int) Math.max(1, readYourWritesWindow.toSeconds()))
+                .httpOnly(true)
+                .build());
+  }
+
+  /** Whether a {@value #COOKIE} value keeps reads on the primary at {@code now}. */
+  static boolean pinnedToPrimary(String cookieValue, long now) {
+    try {
+      return Long.parseLong(cookieValue) > now;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private boolean eligible(SimpleResourceInfo resource) {
+    String endpoint = resource.getResourceClass().getSimpleName() + "." + resource.getMethodName();
+    return eligibleEndpoints.computeIfAbsent(
+        endpoint,
+        e -> primaryEndpoints.map(p -> !p.contains(e)).orElse(true) && isMarked(resource));
+  }
+
+  private static boolean isMarked(SimpleResourceInfo resource) {
+    try {
+      return resource
+          .getResourceClass()
+          .getMethod(resource.getMethodName(), resource.getParameterTypes())
+          .isAnnotationPresent(ReadReplica.class);
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static boolean isRead(String method) {
+    return HttpMethod.GET.equals(method)
+        || HttpMethod.HEAD.equals(method)
+        || HttpMethod.OPTIONS.equals(method);
+  }
+}
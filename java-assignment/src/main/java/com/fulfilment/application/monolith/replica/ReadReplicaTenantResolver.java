@@ -0,0 +1,46 @@
+package com.fulfilment.application.monolith.replica;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Picks the datasource of each Hibernate session: the {@value #REPLICA} datasource for sessions
+ * opened outside a transaction by a request routed there, the primary for everything else.
+ *
+ * <p>Hibernate sees the two datasources as tenants of one persistence unit, so entities, queries
+ * and repositories are shared. Only built with {@code quarkus.hibernate-orm.multitenant=DATABASE}.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+@IfBuildProperty(name = "quarkus.hibernate-orm.multitenant", stringValue = "DATABASE")
+public class ReadReplicaTenantResolver implements TenantResolver {
+
+  /** Name of the replica datasource ({@code quarkus.datasource.replica.*}). */
+  public static final String REPLICA = "replica";
+
+  static final String PRIMARY = DataSourceUtil.DEFAULT_DATASOURCE_NAME;
+
+  @Inject ReadRoute route;
+
+  @Override
+  public String getDefaultTenantId() {
+    return PRIMARY;
+  }
+
+  @Override
+  public String resolveTenantId() {
+    // Scheduled jobs and startup work have no request and always use the primary
+    if (!Arc.container().requestContext().isActive()
+        || !route.replica()
+        || QuarkusTransaction.isActive()) {
+      return PRIMARY;
+    }
+    return REPLICA;
+  }
+}
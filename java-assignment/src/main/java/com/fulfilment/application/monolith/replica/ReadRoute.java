@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.replica;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/** Whether the current request reads from the replica; decided by {@link ReadReplicaFilter}. */
+@RequestScoped
+public class ReadRoute {
+
+  private boolean replica;
+
+  void useReplica() {
+    replica = true;
+  }
+
+  public boolean replica() {
+    return replica;
+  }
+}
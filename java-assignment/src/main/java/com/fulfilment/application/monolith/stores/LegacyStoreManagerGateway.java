@@ -1,51 +1,83 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fulfilment.application.monolith.metrics.Measured;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+/**
+ * Stand-in for the legacy store manager. Instead of calling the legacy system it appends one line
+ * per notification to a local file, so deliveries can be inspected and failures simulated by
+ * making the file unwritable.
+ */
 @ApplicationScoped
 public class LegacyStoreManagerGateway {
 
-  public void createStoreOnLegacySystem(Store store) {
-    // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
-  }
-
-  public void updateStoreOnLegacySystem(Store store) {
-    // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
-  }
-
-  private void writeToFile(Store store) {
-    try {
-      // Step 1: Create a temporary file
-      Path tempFile;
+  static final Path DEFAULT_OUTPUT_FILE =
+      Path.of(System.getProperty("java.io.tmpdir"), "legacy-store-manager", "stores.log");
 
-      tempFile = Files.createTempFile(store.name, ".txt");
+  @ConfigProperty(name = "legacy.store-manager.file")
+  Optional<String> outputFile = Optional.empty();
 
-      System.out.println("Temporary file created at: " + tempFile.toString());
+  // Serialises appends. A lock rather than synchronized: the file write blocks, and a virtual
+  // thread blocking inside a monitor pins its carrier thread.
+  private final ReentrantLock appendLock = new ReentrantLock();
 
-      // Step 2: Write data to the temporary file
-      String content =
-          "Store created. [ name ="
-              + store.name
-              + " ] [ items on stock ="
-              + store.quantityProductsInStock
-              + "]";
-      Files.write(tempFile, content.getBytes());
-      System.out.println("Data written to temporary file.");
+  /**
+   * Delivers a batch of outbox events in a single write. Throws if the batch could not be
+   * delivered, in which case none of it should be considered sent.
+   */
+  @Measured
+  public void sendBatch(List<StoreOutboxEvent> events) {
+    append(
+        events.stream()
+            .map(
+                e ->
+                    format(
+                        e.type == StoreOutboxEvent.Type.STORE_CREATED
+                            ? "Store created."
+                            : "Store updated.",
+                        e.storeName,
+                        e.quantityProductsInStock))
+            .toList());
+  }
 
-      // Step 3: Optionally, read the data back to verify
-      String readContent = new String(Files.readAllBytes(tempFile));
-      System.out.println("Data read from temporary file: " + readContent);
+  Path outputFile() {
+    return outputFile.map(Path::of).orElse(DEFAULT_OUTPUT_FILE);
+  }
 
-      // Step 4: Delete the temporary file when done
-      Files.delete(tempFile);
-      System.out.println("Temporary file deleted.");
+  private static String format(String event, String name, int quantityProductsInStock) {
+    return event + " [ name =" + name + " ] [ items on stock =" + quantityProductsInStock + "]";
+  }
 
-    } catch (Exception e) {
-      e.printStackTrace();
+  private void append(List<String> lines) {
+    if (lines.isEmpty()) {
+      return;
+    }
+    Path file = outputFile();
+    appendLock.lock();
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.write(
+          file,
+          lines,
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to deliver to legacy store manager at " + file, e);
+    } finally {
+      appendLock.unlock();
     }
   }
 }
@@ -1,13 +1,21 @@
 package com.fulfilment.application.monolith.stores;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 @Cacheable
-public class Store extends PanacheEntity {
+public class Store extends PanacheEntityBase {
+
+  @Id
+  @GeneratedValue(generator = "store_seq")
+  @SequenceGenerator(name = "store_seq", sequenceName = "store_seq", allocationSize = 50)
+  public Long id;
 
   @Column(length = 40, unique = true)
   public String name;
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.stores;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+
+/**
+ * Queues legacy store manager notifications. Must be called inside the transaction that changes
+ * the store, so the notification is committed (or rolled back) together with the change.
+ */
+@ApplicationScoped
+public class StoreOutbox {
+
+  @Transactional(TxType.MANDATORY)
+  public void storeCreated(Store store) {
+    new StoreOutboxEvent(StoreOutboxEvent.Type.STORE_CREATED, store).persist();
+  }
+
+  @Transactional(TxType.MANDATORY)
+  public void storeUpdated(Store store) {
+    new StoreOutboxEvent(StoreOutboxEvent.Type.STORE_UPDATED, store).persist();
+  }
+}
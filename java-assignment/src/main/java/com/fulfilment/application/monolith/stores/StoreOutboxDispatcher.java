@@ -0,0 +1,190 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.LockOptions;
+
+/**
+ * Drains the store outbox in batches and delivers them to the legacy store manager. A failed batch
+ * is retried with exponential backoff; events that keep failing are parked after {@code
+ * store.outbox.max-attempts}. Runs as a single scheduled job per instance.
+ *
+ * <p>A batch is claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED} and its row locks are held
+ * until the delivery is recorded, so the dispatchers of several instances take disjoint batches
+ * instead of delivering the same events twice.
+ *
+ * <p>Queue depth, parked events, the age of the oldest undelivered event and the lag of the last
+ * delivery are published as gauges under {@code fulfilment.outbox.*}.
+ */
+@ApplicationScoped
+public class StoreOutboxDispatcher {
+
+  static final String METRIC_PREFIX = "fulfilment.outbox.";
+
+  private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @Inject MeterRegistry registry;
+
+  @ConfigProperty(name = "store.outbox.batch-size", defaultValue = "100")
+  int batchSize;
+
+  @ConfigProperty(name = "store.outbox.max-attempts", defaultValue = "10")
+  int maxAttempts;
+
+  @ConfigProperty(name = "store.outbox.retry-base-delay", defaultValue = "1s")
+  Duration retryBaseDelay;
+
+  @ConfigProperty(name = "store.outbox.retry-max-delay", defaultValue = "5m")
+  Duration retryMaxDelay;
+
+  private final AtomicLong dispatchedTotal = new AtomicLong();
+  private final AtomicLong failedBatchesTotal = new AtomicLong();
+  private final AtomicLong lastDispatchLagMillis = new AtomicLong();
+
+  void registerMetrics(@Observes StartupEvent event) {
+    // Depth and age are read from the table on each scrape, so they are the same whichever
+    // instance is scraped
+    Gauge.builder(METRIC_PREFIX + "depth", this, d -> d.inTransaction(d::queueDepth))
+        .description("Outbox events waiting for delivery, including ones in backoff")
+        .register(registry);
+    Gauge.builder(METRIC_PREFIX + "parked", this, d -> d.inTransaction(d::parkedCount))
+        .description("Outbox events that exhausted their retries")
+        .register(registry);
+    TimeGauge.builder(
+            METRIC_PREFIX + "oldest.pending.age",
+            this,
+            TimeUnit.MILLISECONDS,
+            d -> d.inTransaction(() -> d.oldestPendingAge().toMillis()))
+        .description("Age of the oldest undelivered outbox event")
+        .register(registry);
+    TimeGauge.builder(
+            METRIC_PREFIX + "dispatch.lag",
+            this,
+            TimeUnit.MILLISECONDS,
+            StoreOutboxDispatcher::lastDispatchLagMillis)
+        .description("Time from enqueue to delivery of the oldest event of the last batch")
+        .register(registry);
+    FunctionCounter.builder(
+            METRIC_PREFIX + "dispatched", this, StoreOutboxDispatcher::dispatchedTotal)
+        .description("Outbox events delivered by this instance")
+        .register(registry);
+    FunctionCounter.builder(
+            METRIC_PREFIX + "failed.batches", this, StoreOutboxDispatcher::failedBatchesTotal)
+        .description("Outbox batches whose delivery failed on this instance")
+        .register(registry);
+  }
+
+  @Scheduled(
+      every = "${store.outbox.dispatch-interval:1s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void drain() {
+    while (dispatchBatch() == batchSize) {
+      // keep going while full batches are delivered
+    }
+  }
+
+  /**
+   * Delivers the next batch of due events in its own transaction.
+   *
+   * @return number of events delivered, 0 if nothing was due or the batch failed
+   */
+  public int dispatchBatch() {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              LocalDateTime now = LocalDateTime.now();
+              List<StoreOutboxEvent> batch =
+                  StoreOutboxEvent.<StoreOutboxEvent>find(
+                          "nextAttemptAt <= ?1", Sort.by("nextAttemptAt").and("id"), now)
+                      .withLock(LockModeType.PESSIMISTIC_WRITE)
+                      .withHint(LOCK_TIMEOUT_HINT, LockOptions.SKIP_LOCKED)
+                      .page(Page.ofSize(batchSize))
+                      .list();
+              if (batch.isEmpty()) {
+                return 0;
+              }
+
+              try {
+                legacyStoreManagerGateway.sendBatch(batch);
+              } catch (RuntimeException e) {
+                failedBatchesTotal.incrementAndGet();
+                Log.warnf(
+                    "Legacy store manager delivery failed for %d events: %s",
+                    batch.size(), e.getMessage());
+                batch.forEach(
+                    event ->
+                        event.recordFailure(
+                            e.getMessage(), now, maxAttempts, retryBaseDelay, retryMaxDelay));
+                return 0;
+              }
+
+              batch.forEach(StoreOutboxEvent::delete);
+              dispatchedTotal.addAndGet(batch.size());
+              // The batch is ordered by next attempt, so a retried event can be the oldest
+              // one anywhere in it
+              LocalDateTime oldest =
+                  batch.stream().map(e -> e.createdAt).min(LocalDateTime::compareTo).orElseThrow();
+              lastDispatchLagMillis.set(Duration.between(oldest, now).toMillis());
+              return batch.size();
+            });
+  }
+
+  private double inTransaction(Supplier<Long> read) {
+    return QuarkusTransaction.requiringNew().call(read::get);
+  }
+
+  /** Number of events waiting for delivery, including ones in backoff. */
+  public long queueDepth() {
+    return StoreOutboxEvent.count("nextAttemptAt is not null");
+  }
+
+  /** Number of events that exhausted their retries. */
+  public long parkedCount() {
+    return StoreOutboxEvent.count("nextAttemptAt is null");
+  }
+
+  /** Age of the oldest undelivered event, or zero when the queue is empty. */
+  public Duration oldestPendingAge() {
+    LocalDateTime oldest =
+        StoreOutboxEvent.getEntityManager()
+            .createQuery(
+                "select min(createdAt) from StoreOutboxEvent where nextAttemptAt is not null",
+                LocalDateTime.class)
+            .getSingleResult();
+    return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+  }
+
+  public long dispatchedTotal() {
+    return dispatchedTotal.get();
+  }
+
+  public long failedBatchesTotal() {
+    return failedBatchesTotal.get();
+  }
+
+  /** Time between enqueue and delivery of the oldest event in the last delivered batch. */
+  public long lastDispatchLagMillis() {
+    return lastDispatchLagMillis.get();
+  }
+}
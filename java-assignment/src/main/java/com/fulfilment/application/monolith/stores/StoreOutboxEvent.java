@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A pending notification to the legacy store manager, written in the same transaction as the
+ * {@link Store} change it describes. Rows are deleted once delivered; a row whose {@code
+ * nextAttemptAt} is null has exhausted its retries and is parked for manual inspection.
+ */
+@Entity
+@Table(
+    name = "store_outbox",
+    indexes = {@Index(name = "idx_store_outbox_next_attempt", columnList = "nextAttemptAt, id")})
+public class StoreOutboxEvent extends PanacheEntity {
+
+  public enum Type {
+    STORE_CREATED,
+    STORE_UPDATED
+  }
+
+  // A varchar with a check constraint (V1__schema.sql) on every database, not H2's native enum
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(length = 20, nullable = false)
+  public Type type;
+
+  public Long storeId;
+
+  @Column(length = 40)
+  public String storeName;
+
+  public int quantityProductsInStock;
+
+  public LocalDateTime createdAt;
+
+  public LocalDateTime nextAttemptAt;
+
+  public int attempts;
+
+  @Column(length = 500)
+  public String lastError;
+
+  public StoreOutboxEvent() {}
+
+  public StoreOutboxEvent(Type type, Store store) {
+    this.type = type;
+    this.storeId = store.id;
+    this.storeName = store.name;
+    this.quantityProductsInStock = store.quantityProductsInStock;
+    this.createdAt = LocalDateTime.now();
+    this.nextAttemptAt = this.createdAt;
+  }
+
+  /**
+   * Records a failed delivery and schedules the next attempt with exponential backoff, or parks
+   * the event once {@code maxAttempts} is reached.
+   */
+  public void recordFailure(
+      String error, LocalDateTime now, int maxAttempts, Duration baseDelay, Duration maxDelay) {
+    attempts++;
+    lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+    if (attempts >= maxAttempts) {
+      nextAttemptAt = null;
+      return;
+    }
+    Duration delay = baseDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+    nextAttemptAt = now.plus(delay.compareTo(maxDelay) > 0 ? maxDelay : delay);
+  }
+
+  public boolean isParked() {
+    return nextAttemptAt == null;
+  }
+}
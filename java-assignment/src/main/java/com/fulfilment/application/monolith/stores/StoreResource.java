@@ -1,17 +1,19 @@
 package com.fulfilment.application.monolith.stores;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.conditional.ResourceVersions;
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.errors.InvalidRequestException;
+import com.fulfilment.application.monolith.errors.ResourceNotFoundException;
+import com.fulfilment.application.monolith.errors.UnprocessableEntityException;
+import com.fulfilment.application.monolith.logging.BusinessEventLogger;
+import com.fulfilment.application.monolith.replica.ReadReplica;
 import io.quarkus.logging.Log;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
-import jakarta.transaction.RollbackException;
-import jakarta.transaction.Status;
-import jakarta.transaction.Synchronization;
-import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -23,10 +25,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
 
 /**
  * REST endpoint for Store management.
@@ -47,26 +46,40 @@ import org.jboss.logging.Logger;
  * - 500 Internal Server Error: Unexpected error
  * 
  * Logging:
- * - INFO: Business events (store created, retrieved, deleted)
- * - WARN: Validation failures, constraint violations
+ * - Every request: one access log line (see RequestLogFilter)
+ * - Business events (store created, updated, patched, deleted) via BusinessEventLogger
+ * - DEBUG: Rejected requests (validation failures, unknown ids)
  * - ERROR: System errors, exceptions
  */
 @Path("store")
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
 public class StoreResource {
 
-  @Inject 
-  LegacyStoreManagerGateway legacyStoreManagerGateway;
+  @Inject
+  StoreOutbox storeOutbox;
 
   @Inject 
   EntityManager entityManager;
 
-  @Inject
-  TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+  @Inject BusinessEventLogger events;
+
+  @Inject ResourceVersions resourceVersions;
+
+  private static final UnprocessableEntityException ID_SET_ON_CREATE =
+      UnprocessableEntityException.constant("Id was invalidly set on request.");
+
+  private static final InvalidRequestException NAME_REQUIRED =
+      InvalidRequestException.constant("Store name is required and cannot be empty");
+
+  private static final UnprocessableEntityException NAME_NOT_SET =
+      UnprocessableEntityException.constant("Store Name was not set on request.");
+
+  private static final InvalidRequestException STORE_REQUIRED =
+      InvalidRequestException.constant("Store object cannot be null");
 
-  private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
 
   /**
    * Retrieve all stores sorted by name.
@@ -74,12 +87,10 @@ public class StoreResource {
    * @return List of all stores
    */
   @GET
+  @ReadReplica
   public List<Store> get() {
     try {
-      Log.infof("Retrieving all stores");
-      List<Store> stores = Store.listAll(Sort.by("name"));
-      Log.infof("Retrieved %d stores", stores.size());
-      return stores;
+      return Store.listAll(Sort.by("name"));
     } catch (Exception e) {
       Log.errorf("Error retrieving stores: %s", e.getMessage());
       throw new WebApplicationException("Failed to retrieve stores", 500);
@@ -94,21 +105,19 @@ public class StoreResource {
    * @throws WebApplicationException if store not found (404)
    */
   @GET
+  @ReadReplica
   @Path("{id}")
   public Store getSingle(Long id) {
     try {
       validateId(id);
-      Log.infof("Retrieving store with ID: %d", id);
-      
+
       Store entity = Store.findById(id);
       if (entity == null) {
-        Log.warnf("Store with ID %d not found", id);
-        throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+        Log.debugf("Store with ID %d not found", id);
+        throw new ResourceNotFoundException("Store with id of " + id + " does not exist.");
       }
-      
-      Log.infof("Successfully retrieved store: %s (ID: %d)", entity.name, id);
       return entity;
-    } catch (WebApplicationException e) {
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (Exception e) {
       Log.errorf(e, "Error retrieving store with ID %d", id);
@@ -131,46 +140,25 @@ public class StoreResource {
       validateStoreInput(store);
       
       if (store.id != null) {
-        Log.warnf("Attempted to create store with pre-set ID: %d", store.id);
-        throw new WebApplicationException("Id was invalidly set on request.", 422);
+        Log.debugf("Attempted to create store with pre-set ID: %d", store.id);
+        throw ID_SET_ON_CREATE;
       }
 
       if (store.name == null || store.name.trim().isEmpty()) {
-        Log.warnf("Attempted to create store with null or empty name");
-        throw new WebApplicationException("Store name is required and cannot be empty", 400);
+        Log.debug("Attempted to create store with null or empty name");
+        throw NAME_REQUIRED;
       }
 
-      Log.infof("Creating new store: %s", store.name);
       store.persist();
       entityManager.flush();
+      events.event("store.created", store.id, store.name);
 
-      // Register callback to execute AFTER successful transaction commit
-      transactionSynchronizationRegistry.registerInterposedSynchronization(
-          new Synchronization() {
-            @Override
-            public void afterCompletion(int status) {
-              // Only execute if transaction committed successfully (status = STATUS_COMMITTED)
-              if (status == Status.STATUS_COMMITTED) {
-                try {
-                  Log.infof("Transaction committed, notifying legacy system for store: %s", store.name);
-                  legacyStoreManagerGateway.createStoreOnLegacySystem(store);
-                  Log.infof("Successfully notified legacy system for store: %s (ID: %d)", store.name, store.id);
-                } catch (Exception legacyError) {
-                  // This is AFTER commit, so we cannot rollback DB. We must fail the operation.
-                  Log.errorf(legacyError, "CRITICAL: Legacy system notification failed after DB commit for store %s. Data inconsistency detected!", store.name);
-                  throw new RuntimeException("Legacy system notification failed after database commit", legacyError);
-                }
-              }
-            }
-
-            @Override
-            public void beforeCompletion() {
-              // Not needed for this use case
-            }
-          });
+      // Queued in this transaction; StoreOutboxDispatcher delivers it after commit
+      storeOutbox.storeCreated(store);
+      resourceVersions.changed(ResourceVersions.STORE);
 
       return Response.ok(store).status(201).build();
-    } catch (WebApplicationException e) {
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (PersistenceException e) {
       Log.errorf(e, "Database error creating store");
@@ -198,51 +186,29 @@ public class StoreResource {
       validateStoreInput(updatedStore);
 
       if (updatedStore.name == null || updatedStore.name.trim().isEmpty()) {
-        Log.warnf("Attempted to update store %d with null or empty name", id);
-        throw new WebApplicationException("Store Name was not set on request.", 422);
+        Log.debugf("Attempted to update store %d with null or empty name", id);
+        throw NAME_NOT_SET;
       }
 
-      Log.infof("Updating store ID %d", id);
       Store entity = Store.findById(id);
 
       if (entity == null) {
-        Log.warnf("Store with ID %d not found for update", id);
-        throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+        Log.debugf("Store with ID %d not found for update", id);
+        throw new ResourceNotFoundException("Store with id of " + id + " does not exist.");
       }
 
-      String oldName = entity.name;
       entity.name = updatedStore.name;
       entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
       
       entityManager.flush();
+      events.event("store.updated", id, entity.name);
 
-      // Register callback to execute AFTER successful transaction commit
-      transactionSynchronizationRegistry.registerInterposedSynchronization(
-          new Synchronization() {
-            @Override
-            public void afterCompletion(int status) {
-              // Only execute if transaction committed successfully (status = STATUS_COMMITTED)
-              if (status == Status.STATUS_COMMITTED) {
-                try {
-                  Log.infof("Transaction committed, notifying legacy system for store update: %s (ID: %d)", entity.name, id);
-                  legacyStoreManagerGateway.updateStoreOnLegacySystem(entity);
-                  Log.infof("Successfully notified legacy system for store update: %s (ID: %d)", entity.name, id);
-                } catch (Exception legacyError) {
-                  // This is AFTER commit, so we cannot rollback DB. We must fail.
-                  Log.errorf(legacyError, "CRITICAL: Legacy system notification failed after DB commit for store %d update. Data inconsistency detected!", id);
-                  throw new RuntimeException("Legacy system notification failed after database commit", legacyError);
-                }
-              }
-            }
-
-            @Override
-            public void beforeCompletion() {
-              // Not needed for this use case
-            }
-          });
+      // Queued in this transaction; StoreOutboxDispatcher delivers it after commit
+      storeOutbox.storeUpdated(entity);
+      resourceVersions.changed(ResourceVersions.STORE);
 
       return entity;
-    } catch (WebApplicationException e) {
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (PersistenceException e) {
       Log.errorf(e, "Database error updating store %d", id);
@@ -268,18 +234,15 @@ public class StoreResource {
     try {
       validateId(id);
 
-      Log.infof("Patching store ID %d", id);
       Store entity = Store.findById(id);
 
       if (entity == null) {
-        Log.warnf("Store with ID %d not found for patch", id);
-        throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+        Log.debugf("Store with ID %d not found for patch", id);
+        throw new ResourceNotFoundException("Store with id of " + id + " does not exist.");
       }
 
       if (updatedStore.name != null && !updatedStore.name.trim().isEmpty()) {
-        String oldName = entity.name;
         entity.name = updatedStore.name;
-        Log.infof("Patched store ID %d name from '%s' to '%s'", id, oldName, updatedStore.name);
       }
 
       if (updatedStore.quantityProductsInStock >= 0) {
@@ -287,34 +250,14 @@ public class StoreResource {
       }
 
       entityManager.flush();
+      events.event("store.patched", id, entity.name);
 
-      // Register callback to execute AFTER successful transaction commit
-      transactionSynchronizationRegistry.registerInterposedSynchronization(
-          new Synchronization() {
-            @Override
-            public void afterCompletion(int status) {
-              // Only execute if transaction committed successfully (status = STATUS_COMMITTED)
-              if (status == Status.STATUS_COMMITTED) {
-                try {
-                  Log.infof("Transaction committed, notifying legacy system for store patch: %s (ID: %d)", entity.name, id);
-                  legacyStoreManagerGateway.updateStoreOnLegacySystem(entity);
-                  Log.infof("Successfully notified legacy system for store patch: %s (ID: %d)", entity.name, id);
-                } catch (Exception legacyError) {
-                  // This is AFTER commit, so we cannot rollback DB. We must fail.
-                  Log.errorf(legacyError, "CRITICAL: Legacy system notification failed after DB commit for store %d patch. Data inconsistency detected!", id);
-                  throw new RuntimeException("Legacy system notification failed after database commit", legacyError);
-                }
-              }
-            }
-
-            @Override
-            public void beforeCompletion() {
-              // Not needed for this use case
-            }
-          });
+      // Queued in this transaction; StoreOutboxDispatcher delivers it after commit
+      storeOutbox.storeUpdated(entity);
+      resourceVersions.changed(ResourceVersions.STORE);
 
       return entity;
-    } catch (WebApplicationException e) {
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (PersistenceException e) {
       Log.errorf(e, "Database error patching store %d", id);
@@ -338,21 +281,21 @@ public class StoreResource {
   public Response delete(Long id) {
     try {
       validateId(id);
-      
-      Log.infof("Deleting store with ID %d", id);
+
       Store entity = Store.findById(id);
       
       if (entity == null) {
-        Log.warnf("Store with ID %d not found for deletion", id);
-        throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+        Log.debugf("Store with ID %d not found for deletion", id);
+        throw new ResourceNotFoundException("Store with id of " + id + " does not exist.");
       }
 
       String storeName = entity.name;
       entity.delete();
-      Log.infof("Successfully deleted store: %s (ID: %d)", storeName, id);
+      events.event("store.deleted", id, storeName);
+      resourceVersions.changed(ResourceVersions.STORE);
       
       return Response.status(204).build();
-    } catch (WebApplicationException e) {
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (PersistenceException e) {
       Log.errorf(e, "Database error deleting store %d", id);
@@ -371,8 +314,8 @@ public class StoreResource {
    */
   private void validateStoreInput(Store store) {
     if (store == null) {
-      Log.warnf("Null store object provided");
-      throw new WebApplicationException("Store object cannot be null", 400);
+      Log.debug("Null store object provided");
+      throw STORE_REQUIRED;
     }
   }
 
@@ -384,38 +327,7 @@ public class StoreResource {
    */
   private void validateId(Long id) {
     if (id == null || id <= 0) {
-      throw new WebApplicationException("Invalid store ID: " + id, 400);
-    }
-  }
-
-  /**
-   * Error mapper for all exceptions.
-   * Converts exceptions to proper HTTP responses.
-   */
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject 
-    ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
-
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
-
-      return Response.status(code).entity(exceptionJson).build();
+      throw new InvalidRequestException("Invalid store ID: " + id);
     }
   }
 }
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Number and summed capacity of the active warehouses at a location.
+ *
+ * <p>Changed through conditional bulk updates in {@link WarehouseRepository}, so the row lock
+ * taken by the update is what serialises creates at the same location while creates at other
+ * locations proceed in parallel. {@link LocationQuotaReconciler} checks the rows against the
+ * warehouse table.
+ */
+@Entity
+@Table(name = "location_quota")
+public class DbLocationQuota {
+
+  @Id public String location;
+
+  public long activeWarehouses;
+
+  public long totalCapacity;
+
+  public DbLocationQuota() {}
+
+  public DbLocationQuota(String location, long activeWarehouses, long totalCapacity) {
+    this.location = location;
+    this.activeWarehouses = activeWarehouses;
+    this.totalCapacity = totalCapacity;
+  }
+}
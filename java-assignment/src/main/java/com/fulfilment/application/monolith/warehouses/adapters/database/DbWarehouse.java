@@ -5,18 +5,57 @@ import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "warehouse")
+@Table(
+    name = "warehouse",
+    uniqueConstraints = {
+      @UniqueConstraint(
+          columnNames = {"activeBusinessUnitCode"},
+          name = "uk_warehouse_active_business_unit_code")
+    },
+    indexes = {
+      @Index(name = "idx_warehouse_location_archived", columnList = "location, archivedAt"),
+      // Serves history and as-of lookups of a business unit code, newest first
+      @Index(
+          name = "idx_warehouse_business_unit_code_created",
+          columnList = "businessUnitCode, createdAt")
+    })
+// Not cacheable: it backs the duplicate code check, and a cached result misses warehouses
+// created by other instances until it expires
+@NamedQuery(
+    name = DbWarehouse.FIND_ACTIVE_BY_BUSINESS_UNIT_CODE,
+    query = "from DbWarehouse where activeBusinessUnitCode = :businessUnitCode")
 @Cacheable
 public class DbWarehouse {
 
-  @Id @GeneratedValue public Long id;
+  public static final String FIND_ACTIVE_BY_BUSINESS_UNIT_CODE =
+      "DbWarehouse.findActiveByBusinessUnitCode";
+
+  // Query cache region for the hot warehouse lookups; sized in application.properties. Entries
+  // are invalidated by Hibernate whenever the warehouse table is written through the ORM.
+  public static final String QUERY_CACHE_REGION = "warehouse-queries";
+
+  @Id
+  @GeneratedValue(generator = "warehouse_seq")
+  @SequenceGenerator(name = "warehouse_seq", sequenceName = "warehouse_seq", allocationSize = 50)
+  public Long id;
 
   public String businessUnitCode;
 
+  // Mirrors businessUnitCode while the warehouse is active and is null once archived, so the
+  // unique constraint allows a single active row per code and any number of archived ones.
+  public String activeBusinessUnitCode;
+
   public String location;
 
   public Integer capacity;
@@ -27,8 +66,16 @@ public class DbWarehouse {
 
   public LocalDateTime archivedAt;
 
+  @Version public Long version;
+
   public DbWarehouse() {}
 
+  @PrePersist
+  @PreUpdate
+  void syncActiveBusinessUnitCode() {
+    this.activeBusinessUnitCode = this.archivedAt == null ? this.businessUnitCode : null;
+  }
+
   public Warehouse toWarehouse() {
     var warehouse = new Warehouse();
     warehouse.id = this.id;
@@ -38,6 +85,7 @@ public class DbWarehouse {
     warehouse.stock = this.stock;
     warehouse.createdAt = this.createdAt;
     warehouse.archivedAt = this.archivedAt;
+    warehouse.version = this.version;
     return warehouse;
   }
 }
@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies the {@code location_quota} aggregate against the active rows of the warehouse table
+ * and repairs locations that drifted, e.g. after warehouses were changed outside the use cases.
+ *
+ * <p>A first pass compares both sides with one grouped query each. Every location that differs
+ * is then recounted while holding its quota row lock, which is the lock writers take, so the
+ * repair cannot race an in-flight create at that location.
+ */
+@ApplicationScoped
+public class LocationQuotaReconciler {
+
+  @Inject EntityManager entityManager;
+
+  @Scheduled(
+      every = "${warehouse.quota.reconcile-interval:15m}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void run() {
+    reconcile();
+  }
+
+  /**
+   * Checks every location once.
+   *
+   * @return number of locations whose quota was repaired
+   */
+  public int reconcile() {
+    var drifted = QuarkusTransaction.requiringNew().call(this::findDriftedLocations);
+    int repaired = 0;
+    for (String location : drifted) {
+      if (QuarkusTransaction.requiringNew().call(() -> repair(location))) {
+        repaired++;
+      }
+    }
+    return repaired;
+  }
+
+  private Set<String> findDriftedLocations() {
+    Map<String, LocationOccupancy> actual = new HashMap<>();
+    entityManager
+        .createQuery(
+            "select w.location, count(w), coalesce(sum(w.capacity), 0L) from DbWarehouse w"
+                + " where w.archivedAt is null group by w.location",
+            Object[].class)
+        .getResultList()
+        .forEach(
+            row ->
+                actual.put(
+                    (String) row[0],
+                    new LocationOccupancy(
+                        ((Number) row[1]).longValue(), ((Number) row[2]).longValue())));
+
+    Set<String> drifted = new HashSet<>();
+    Set<String> seen = new HashSet<>();
+    entityManager
+        .createQuery("from DbLocationQuota", DbLocationQuota.class)
+        .getResultList()
+        .forEach(
+            quota -> {
+              seen.add(quota.location);
+              if (!matches(quota, actual.get(quota.location))) {
+                drifted.add(quota.location);
+              }
+            });
+    actual.keySet().stream().filter(location -> !seen.contains(location)).forEach(drifted::add);
+    return drifted;
+  }
+
+  private boolean repair(String location) {
+    var quota =
+        entityManager.find(DbLocationQuota.class, location, LockModeType.PESSIMISTIC_WRITE);
+    var actual =
+        entityManager
+            .createQuery(
+                "select new " + LocationOccupancy.class.getName()
+                    + "(count(w), coalesce(sum(w.capacity), 0L))"
+                    + " from DbWarehouse w where w.location = ?1 and w.archivedAt is null",
+                LocationOccupancy.class)
+            .setParameter(1, location)
+            .getSingleResult();
+
+    if (quota == null) {
+      entityManager.persist(
+          new DbLocationQuota(location, actual.activeWarehouses, actual.totalCapacity));
+      Log.warnf(
+          "Location quota for '%s' was missing; seeded with %d warehouses and capacity %d",
+          location, actual.activeWarehouses, actual.totalCapacity);
+      return true;
+    }
+    if (matches(quota, actual)) {
+      return false;
+    }
+    Log.warnf(
+        "Location quota for '%s' drifted: recorded %d warehouses and capacity %d, actual %d and %d",
+        location,
+        quota.activeWarehouses,
+        quota.totalCapacity,
+        actual.activeWarehouses,
+        actual.totalCapacity);
+    quota.activeWarehouses = actual.activeWarehouses;
+    quota.totalCapacity = actual.totalCapacity;
+    return true;
+  }
+
+  private static boolean matches(DbLocationQuota quota, LocationOccupancy actual) {
+    long warehouses = actual == null ? 0 : actual.activeWarehouses;
+    long capacity = actual == null ? 0 : actual.totalCapacity;
+    return quota.activeWarehouses == warehouses && quota.totalCapacity == capacity;
+  }
+}
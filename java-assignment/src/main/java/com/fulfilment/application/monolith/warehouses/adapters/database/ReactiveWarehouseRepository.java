@@ -0,0 +1,91 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ReactiveWarehouseStore} over the Vert.x reactive PostgreSQL client.
+ *
+ * <p>Reads the same {@code warehouse} table as {@link WarehouseRepository}, but through a small
+ * pool of non-blocking connections, so reads never wait on a JDBC connection or a worker thread.
+ * Only built when {@code warehouse.reactive.enabled=true}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "warehouse.reactive.enabled", stringValue = "true")
+public class ReactiveWarehouseRepository implements ReactiveWarehouseStore {
+
+  private static final String SELECT =
+      "select id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version"
+          + " from warehouse";
+
+  static final String FIND_ACTIVE_PAGE =
+      SELECT + " where archivedAt is null and id > $1 order by id limit $2";
+
+  static final String FIND_ACTIVE_BY_ID = SELECT + " where id = $1 and archivedAt is null";
+
+  static final String FIND_ACTIVE_BY_BUSINESS_UNIT_CODE =
+      SELECT + " where businessUnitCode = $1 and archivedAt is null";
+
+  @Inject PgPool client;
+
+  @Override
+  public Uni<List<Warehouse>> findActivePage(Long afterId, int limit) {
+    return client
+        .preparedQuery(FIND_ACTIVE_PAGE)
+        .execute(Tuple.of(afterId == null ? 0L : afterId, limit))
+        .map(ReactiveWarehouseRepository::toWarehouses);
+  }
+
+  @Override
+  public Uni<Warehouse> findActiveById(long id) {
+    return client
+        .preparedQuery(FIND_ACTIVE_BY_ID)
+        .execute(Tuple.of(id))
+        .map(ReactiveWarehouseRepository::firstOrNull);
+  }
+
+  @Override
+  public Uni<Warehouse> findByBusinessUnitCode(String buCode) {
+    return client
+        .preparedQuery(FIND_ACTIVE_BY_BUSINESS_UNIT_CODE)
+        .execute(Tuple.of(buCode))
+        .map(ReactiveWarehouseRepository::firstOrNull);
+  }
+
+  private static List<Warehouse> toWarehouses(RowSet<Row> rows) {
+    List<Warehouse> warehouses = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      warehouses.add(toWarehouse(row));
+    }
+    return warehouses;
+  }
+
+  private static Warehouse firstOrNull(RowSet<Row> rows) {
+    var iterator = rows.iterator();
+    return iterator.hasNext() ? toWarehouse(iterator.next()) : null;
+  }
+
+  // Columns in SELECT order
+  private static Warehouse toWarehouse(Row row) {
+    var warehouse = new Warehouse();
+    warehouse.id = row.getLong(0);
+    warehouse.businessUnitCode = row.getString(1);
+    warehouse.location = row.getString(2);
+    warehouse.capacity = row.getInteger(3);
+    warehouse.stock = row.getInteger(4);
+    warehouse.createdAt = row.getLocalDateTime(5);
+    warehouse.archivedAt = row.getLocalDateTime(6);
+    warehouse.version = row.getLong(7);
+    return warehouse;
+  }
+}
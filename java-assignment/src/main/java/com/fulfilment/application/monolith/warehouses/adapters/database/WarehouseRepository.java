@@ -1,37 +1,79 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.errors.ConflictException;
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.metrics.Measured;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.persistence.NoResultException;
+import jakarta.enterprise.event.Observes;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
+  private static final int STREAM_FETCH_SIZE = 500;
+
+  void onStart(@Observes StartupEvent event, LocationGateway locationGateway) {
+    seedLocationQuotas(locationGateway.getAll().stream().map(l -> l.identification).toList());
+  }
+
   @Override
+  @Measured
   public List<Warehouse> getAll() {
-    return this.list("archivedAt is null").stream().map(DbWarehouse::toWarehouse).toList();
+    return this.find("archivedAt is null")
+        .withHint(HibernateHints.HINT_CACHEABLE, true)
+        .withHint(HibernateHints.HINT_CACHE_REGION, DbWarehouse.QUERY_CACHE_REGION)
+        .list()
+        .stream()
+        .map(DbWarehouse::toWarehouse)
+        .toList();
   }
 
   @Override
+  @Measured
   public void create(Warehouse warehouse) {
-    var dbWarehouse = new DbWarehouse();
-    dbWarehouse.businessUnitCode = warehouse.businessUnitCode;
-    dbWarehouse.location = warehouse.location;
-    dbWarehouse.capacity = warehouse.capacity;
-    dbWarehouse.stock = warehouse.stock;
-    dbWarehouse.createdAt = LocalDateTime.now();
-    dbWarehouse.archivedAt = null;
-    this.persist(dbWarehouse);
+    var dbWarehouse = newDbWarehouse(warehouse);
+
+    // Flush right away so a concurrent create that slipped past the use case check surfaces as a
+    // conflict on the active business unit code constraint instead of a failed commit.
+    try {
+      this.persistAndFlush(dbWarehouse);
+    } catch (PersistenceException e) {
+      if (isConstraintViolation(e)) {
+        throw new ConflictException(
+            "Business Unit Code '" + warehouse.businessUnitCode + "' already exists.");
+      }
+      throw e;
+    }
   }
 
   @Override
+  @Measured
   public void update(Warehouse warehouse) {
-    var dbWarehouse =
-        this.find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode).firstResultOptional();
+    var dbWarehouse = findActive(warehouse.businessUnitCode);
 
     if (dbWarehouse.isPresent()) {
       var entity = dbWarehouse.get();
@@ -39,32 +81,353 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
       entity.capacity = warehouse.capacity;
       entity.stock = warehouse.stock;
       entity.archivedAt = warehouse.archivedAt;
+      if (entity.archivedAt != null) {
+        // Release the active code before a replacement is inserted: Hibernate orders inserts
+        // ahead of updates within a single flush.
+        this.flush();
+      }
     }
   }
 
   @Override
+  @Measured
+  public void replaceActive(Warehouse oldWarehouse, Warehouse newWarehouse) {
+    // Usually already in the session from the use case's lookup, otherwise a cache hit
+    var entity =
+        findByIdOptional(oldWarehouse.id)
+            .filter(w -> w.archivedAt == null && Objects.equals(w.version, oldWarehouse.version))
+            .orElseThrow(() -> concurrentlyChanged(oldWarehouse.businessUnitCode));
+    entity.archivedAt = oldWarehouse.archivedAt;
+
+    try {
+      // Two statements: the versioned archive, flushed first to release the active code (Hibernate
+      // orders inserts ahead of updates within a single flush), then the insert.
+      this.flush();
+      this.persistAndFlush(newDbWarehouse(newWarehouse));
+    } catch (PersistenceException e) {
+      if (e instanceof OptimisticLockException || isConstraintViolation(e)) {
+        throw concurrentlyChanged(oldWarehouse.businessUnitCode);
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  @Measured
   public void remove(Warehouse warehouse) {
-    var dbWarehouse =
-        this.find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode).firstResultOptional();
+    var dbWarehouse = findActive(warehouse.businessUnitCode);
 
     if (dbWarehouse.isPresent()) {
       var entity = dbWarehouse.get();
       entity.archivedAt = LocalDateTime.now();
+      this.flush();
     }
   }
 
   @Override
+  @Measured
   public Warehouse findByBusinessUnitCode(String buCode) {
+    return findActive(buCode).map(DbWarehouse::toWarehouse).orElse(null);
+  }
+
+  @Override
+  @Measured
+  public Map<String, Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    var warehouses = new HashMap<String, Warehouse>();
+    if (buCodes.isEmpty()) {
+      return warehouses;
+    }
+    this.list("activeBusinessUnitCode in ?1", buCodes)
+        .forEach(w -> warehouses.put(w.businessUnitCode, w.toWarehouse()));
+    return warehouses;
+  }
+
+  // The occupancy reads are not cached: they decide whether a location has room, and Hibernate
+  // only invalidates cached results on writes made through this instance
+  @Override
+  @Measured
+  public long countActiveByLocation(String location) {
+    return getEntityManager()
+        .createQuery(
+            "select count(w) from DbWarehouse w where w.location = ?1 and w.archivedAt is null",
+            Long.class)
+        .setParameter(1, location)
+        .getSingleResult();
+  }
+
+  @Override
+  @Measured
+  public long sumActiveCapacityByLocation(String location) {
+    return getEntityManager()
+        .createQuery(
+            "select coalesce(sum(w.capacity), 0L) from DbWarehouse w"
+                + " where w.location = ?1 and w.archivedAt is null",
+            Long.class)
+        .setParameter(1, location)
+        .getSingleResult();
+  }
+
+  @Override
+  @Measured
+  public boolean reserveLocationCapacity(Location location, int warehouses, int capacity) {
+    if (claim(location, warehouses, capacity)) {
+      return true;
+    }
+    if (quotaExists(location.identification)) {
+      return false;
+    }
+    // First claim at this location: seed its quota from the active warehouses and try again
+    seedQuota(location.identification);
+    return claim(location, warehouses, capacity);
+  }
+
+  @Override
+  @Measured
+  public void releaseLocationCapacity(String location, int capacity) {
+    getEntityManager()
+        .createQuery(
+            "update DbLocationQuota q set q.activeWarehouses = q.activeWarehouses - 1,"
+                + " q.totalCapacity = q.totalCapacity - ?2"
+                + " where q.location = ?1 and q.activeWarehouses > 0")
+        .setParameter(1, location)
+        .setParameter(2, (long) capacity)
+        .executeUpdate();
+  }
+
+  @Override
+  @Measured
+  public LocationOccupancy findLocationOccupancy(String location) {
+    // Projected rather than loaded: the row is changed by bulk updates that bypass the session
+    return getEntityManager()
+        .createQuery(
+            "select new " + LocationOccupancy.class.getName()
+                + "(q.activeWarehouses, q.totalCapacity)"
+                + " from DbLocationQuota q where q.location = ?1",
+            LocationOccupancy.class)
+        .setParameter(1, location)
+        .getResultStream()
+        .findFirst()
+        .orElseGet(
+            () ->
+                new LocationOccupancy(
+                    countActiveByLocation(location), sumActiveCapacityByLocation(location)));
+  }
+
+  @Override
+  @Measured
+  public Map<String, LocationOccupancy> findLocationOccupancies(Collection<String> locations) {
+    var occupancies = new HashMap<String, LocationOccupancy>();
+    if (locations.isEmpty()) {
+      return occupancies;
+    }
+    getEntityManager()
+        .createQuery(
+            "select q.location, q.activeWarehouses, q.totalCapacity"
+                + " from DbLocationQuota q where q.location in ?1",
+            Object[].class)
+        .setParameter(1, locations)
+        .getResultList()
+        .forEach(
+            row ->
+                occupancies.put(
+                    (String) row[0], new LocationOccupancy((Long) row[1], (Long) row[2])));
+    // Locations without a quota row yet, such as ones never seeded, are counted directly
+    for (String location : locations) {
+      if (!occupancies.containsKey(location)) {
+        occupancies.put(location, findLocationOccupancy(location));
+      }
+    }
+    return occupancies;
+  }
+
+  /**
+   * Create the quota rows of the given locations that do not have one yet, from the active
+   * warehouses already there. Known locations are seeded at startup so the first creates at a
+   * location do not race to seed it.
+   */
+  public void seedLocationQuotas(Collection<String> locations) {
+    locations.forEach(this::seedQuota);
+  }
+
+  /**
+   * Keyset page of active warehouses ordered by id.
+   *
+   * @param afterId Only warehouses with a greater id are returned; null starts at the beginning
+   * @param limit Maximum number of warehouses in the page
+   */
+  public List<Warehouse> findActivePage(Long afterId, int limit) {
+    return this.find(
+            "archivedAt is null and id > ?1", Sort.by("id"), afterId == null ? 0L : afterId)
+        .page(Page.ofSize(limit))
+        .list()
+        .stream()
+        .map(DbWarehouse::toWarehouse)
+        .toList();
+  }
+
+  /**
+   * Keyset page of every warehouse that carried a business unit code, active or archived, newest
+   * first.
+   *
+   * @param afterId Id of the last warehouse of the previous page; null starts at the newest
+   * @param limit Maximum number of warehouses in the page
+   * @return The page, empty when {@code afterId} is not a warehouse of this business unit code
+   */
+  public List<Warehouse> findHistoryPage(String buCode, Long afterId, int limit) {
+    if (afterId == null) {
+      return this.find(
+              "businessUnitCode = ?1", Sort.descending("createdAt", "id"), buCode)
+          .page(Page.ofSize(limit))
+          .list()
+          .stream()
+          .map(DbWarehouse::toWarehouse)
+          .toList();
+    }
+    var cursor = findByIdOptional(afterId).filter(w -> buCode.equals(w.businessUnitCode));
+    if (cursor.isEmpty()) {
+      return List.of();
+    }
+    return this.find(
+            "businessUnitCode = ?1 and (createdAt < ?2 or (createdAt = ?2 and id < ?3))",
+            Sort.descending("createdAt", "id"),
+            buCode,
+            cursor.get().createdAt,
+            afterId)
+        .page(Page.ofSize(limit))
+        .list()
+        .stream()
+        .map(DbWarehouse::toWarehouse)
+        .toList();
+  }
+
+  /**
+   * The warehouse that carried a business unit code at an instant: created at or before it and
+   * not yet archived. Reads backwards along the (businessUnitCode, createdAt) index and stops at
+   * the first match.
+   */
+  public Warehouse findActiveAt(String buCode, LocalDateTime asOf) {
+    return this.find(
+            "businessUnitCode = ?1 and createdAt <= ?2 and (archivedAt is null or archivedAt > ?2)",
+            Sort.descending("createdAt", "id"),
+            buCode,
+            asOf)
+        .firstResultOptional()
+        .map(DbWarehouse::toWarehouse)
+        .orElse(null);
+  }
+
+  /**
+   * Hands every active warehouse, ordered by id, to the consumer one row at a time.
+   *
+   * <p>Rows are read through a forward-only scroll and detached once consumed, so memory stays
+   * bounded by the JDBC fetch size rather than the table size. Must run inside a transaction.
+   */
+  public void streamActive(Consumer<Warehouse> consumer) {
+    Session session = getEntityManager().unwrap(Session.class);
+    try (var rows =
+        session
+            .createSelectionQuery(
+                "from DbWarehouse where archivedAt is null order by id", DbWarehouse.class)
+            .setReadOnly(true)
+            .setFetchSize(STREAM_FETCH_SIZE)
+            .setCacheMode(CacheMode.IGNORE)
+            .scroll(ScrollMode.FORWARD_ONLY)) {
+      while (rows.next()) {
+        DbWarehouse row = rows.get();
+        consumer.accept(row.toWarehouse());
+        session.detach(row);
+      }
+    }
+  }
+
+  private Optional<DbWarehouse> findActive(String buCode) {
+    return this.find(
+            "#" + DbWarehouse.FIND_ACTIVE_BY_BUSINESS_UNIT_CODE,
+            Parameters.with("businessUnitCode", buCode))
+        .firstResultOptional();
+  }
+
+  // The conditional update locks the quota row until the transaction ends, so concurrent claims
+  // for the same location queue up behind it and see the updated occupancy once it commits. A
+  // limit is only checked for the side that grows.
+  private boolean claim(Location location, int warehouses, int capacity) {
+    return getEntityManager()
+            .createQuery(
+                "update DbLocationQuota q set q.activeWarehouses = q.activeWarehouses + ?2,"
+                    + " q.totalCapacity = q.totalCapacity + ?3"
+                    + " where q.location = ?1"
+                    + " and (?2 <= 0 or q.activeWarehouses + ?2 <= ?4)"
+                    + " and (?3 <= 0 or q.totalCapacity + ?3 <= ?5)")
+            .setParameter(1, location.identification)
+            .setParameter(2, (long) warehouses)
+            .setParameter(3, (long) capacity)
+            .setParameter(4, (long) location.maxNumberOfWarehouses)
+            .setParameter(5, (long) location.maxCapacity)
+            .executeUpdate()
+        == 1;
+  }
+
+  private boolean quotaExists(String location) {
+    return getEntityManager()
+            .createQuery(
+                "select count(q) from DbLocationQuota q where q.location = ?1", Long.class)
+            .setParameter(1, location)
+            .getSingleResult()
+        > 0;
+  }
+
+  // Committed on its own so the seeded row is visible to every concurrent claim. Losing the
+  // insert race to another transaction is fine: its row carries the same totals.
+  private void seedQuota(String location) {
     try {
-      var dbWarehouse =
-          this.find("businessUnitCode = ?1 and archivedAt is null", buCode).firstResult();
-      if (dbWarehouse != null) {
-        return ((DbWarehouse) dbWarehouse).toWarehouse();
+      QuarkusTransaction.requiringNew()
+          .run(
+              () -> {
+                if (quotaExists(location)) {
+                  return;
+                }
+                getEntityManager()
+                    .persist(
+                        new DbLocationQuota(
+                            location,
+                            countActiveByLocation(location),
+                            sumActiveCapacityByLocation(location)));
+                getEntityManager().flush();
+              });
+    } catch (RuntimeException e) {
+      if (!isConstraintViolation(e)) {
+        throw e;
       }
-    } catch (NoResultException e) {
-      // Return null if not found
     }
-    return null;
   }
-}
 
+  private static DbWarehouse newDbWarehouse(Warehouse warehouse) {
+    var dbWarehouse = new DbWarehouse();
+    dbWarehouse.businessUnitCode = warehouse.businessUnitCode;
+    dbWarehouse.location = warehouse.location;
+    dbWarehouse.capacity = warehouse.capacity;
+    dbWarehouse.stock = warehouse.stock;
+    // A replacement comes with the archive time of the warehouse it replaces, so as-of lookups
+    // find exactly one of the two at every instant
+    dbWarehouse.createdAt =
+        warehouse.createdAt != null ? warehouse.createdAt : LocalDateTime.now();
+    dbWarehouse.archivedAt = null;
+    return dbWarehouse;
+  }
+
+  private static ConflictException concurrentlyChanged(String buCode) {
+    return new ConflictException(
+        "Warehouse with Business Unit Code '"
+            + buCode
+            + "' was changed by another request; reload it and retry.");
+  }
+
+  private static boolean isConstraintViolation(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
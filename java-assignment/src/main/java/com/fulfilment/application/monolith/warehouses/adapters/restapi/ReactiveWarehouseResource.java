@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.warehouse.api.beans.Warehouse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.List;
+
+/**
+ * Non-blocking warehouse reads.
+ *
+ * <p>Same responses as the {@code /warehouse} reads, served on the event loop from
+ * {@link ReactiveWarehouseStore}: a request never holds a worker thread or JDBC connection, so
+ * thousands of concurrent reads share a few event-loop threads and reactive connections.
+ * Only built when {@code warehouse.reactive.enabled=true}.
+ *
+ * <p>Endpoints:
+ * - GET /reactive/warehouse?after=&limit= - One keyset page of active warehouses
+ * - GET /reactive/warehouse/{id} - Get active warehouse by ID
+ */
+@Path("reactive/warehouse")
+@ApplicationScoped
+@Produces("application/json")
+@IfBuildProperty(name = "warehouse.reactive.enabled", stringValue = "true")
+public class ReactiveWarehouseResource {
+
+  @Inject ReactiveWarehouseStore warehouseStore;
+
+  /**
+   * One keyset page of active warehouses in id order.
+   *
+   * @param after Optional cursor: id of the last warehouse of the previous page
+   * @param limit Optional page size (1 to {@value WarehouseResourceImpl#MAX_PAGE_SIZE}, default
+   *     {@value WarehouseResourceImpl#DEFAULT_PAGE_SIZE})
+   * @throws WebApplicationException with 400 if the cursor or page size is invalid
+   */
+  @GET
+  public Uni<List<Warehouse>> listWarehouses(
+      @QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+    Long afterId = WarehouseResourceImpl.parseCursor(after);
+    int pageSize = WarehouseResourceImpl.pageSize(limit);
+    return warehouseStore
+        .findActivePage(afterId, pageSize)
+        .map(warehouses -> warehouses.stream().map(WarehouseApiMapper::toResponse).toList());
+  }
+
+  /**
+   * Get an active warehouse by ID.
+   *
+   * @throws WebApplicationException with 400 if the ID is not a number, 404 if there is no
+   *     active warehouse with that ID
+   */
+  @GET
+  @Path("{id}")
+  public Uni<Warehouse> getWarehouse(@PathParam("id") String id) {
+    long warehouseId;
+    try {
+      warehouseId = Long.parseLong(id);
+    } catch (NumberFormatException e) {
+      throw new WebApplicationException(
+          "Invalid warehouse ID format. ID must be a valid number.", 400);
+    }
+    return warehouseStore
+        .findActiveById(warehouseId)
+        .onItem()
+        .ifNull()
+        .failWith(
+            () -> new WebApplicationException("Warehouse with ID '" + id + "' not found.", 404))
+        .map(WarehouseApiMapper::toResponse);
+  }
+}
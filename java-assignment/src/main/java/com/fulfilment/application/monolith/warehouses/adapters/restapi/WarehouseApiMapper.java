@@ -0,0 +1,90 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseResult;
+import com.warehouse.api.beans.BulkWarehouseReport;
+import com.warehouse.api.beans.BulkWarehouseResult;
+import com.warehouse.api.beans.Warehouse;
+import com.warehouse.api.beans.WarehouseHistoryEntry;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversions between the generated API bean and the warehouse domain model, shared by the
+ * warehouse REST adapters.
+ */
+final class WarehouseApiMapper {
+
+  private WarehouseApiMapper() {}
+
+  /**
+   * Convert domain warehouse to API response bean.
+   * Maps internal domain model to JSON-serializable API response bean.
+   */
+  static Warehouse toResponse(
+      com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
+    var response = new Warehouse();
+    if (warehouse.id != null) {
+      response.setId(String.valueOf(warehouse.id));
+    }
+    response.setBusinessUnitCode(warehouse.businessUnitCode);
+    response.setLocation(warehouse.location);
+    response.setCapacity(warehouse.capacity);
+    response.setStock(warehouse.stock);
+    return response;
+  }
+
+  /** Convert domain warehouse, active or archived, to a history entry of its business unit code. */
+  static WarehouseHistoryEntry toHistoryEntry(
+      com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
+    var entry = new WarehouseHistoryEntry();
+    entry.setId(String.valueOf(warehouse.id));
+    entry.setBusinessUnitCode(warehouse.businessUnitCode);
+    entry.setLocation(warehouse.location);
+    entry.setCapacity(warehouse.capacity);
+    entry.setStock(warehouse.stock);
+    if (warehouse.createdAt != null) {
+      entry.setCreatedAt(warehouse.createdAt.toString());
+    }
+    if (warehouse.archivedAt != null) {
+      entry.setArchivedAt(warehouse.archivedAt.toString());
+    }
+    return entry;
+  }
+
+  /** Convert the per-warehouse results of a bulk create or replace to the API report. */
+  static BulkWarehouseReport toBulkReport(List<WarehouseResult> results) {
+    var entries = new ArrayList<BulkWarehouseResult>(results.size());
+    int succeeded = 0;
+    for (var result : results) {
+      var entry = new BulkWarehouseResult();
+      entry.setIndex(result.index);
+      entry.setStatus(result.status);
+      entry.setBusinessUnitCode(result.businessUnitCode);
+      entry.setMessage(result.message);
+      if (result.accepted()) {
+        entry.setWarehouse(toResponse(result.warehouse));
+        succeeded++;
+      }
+      entries.add(entry);
+    }
+    var report = new BulkWarehouseReport();
+    report.setSucceeded(succeeded);
+    report.setRejected(results.size() - succeeded);
+    report.setResults(entries);
+    return report;
+  }
+
+  /**
+   * Convert API request bean to domain model.
+   * Maps incoming JSON API request to internal domain model for validation and persistence.
+   */
+  static com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomainModel(
+      Warehouse apiWarehouse) {
+    var warehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
+    warehouse.businessUnitCode = apiWarehouse.getBusinessUnitCode();
+    warehouse.location = apiWarehouse.getLocation();
+    warehouse.capacity = apiWarehouse.getCapacity();
+    warehouse.stock = apiWarehouse.getStock();
+    return warehouse;
+  }
+}
@@ -1,28 +1,49 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
+import com.fulfilment.application.monolith.conditional.ResourceVersions;
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.errors.ErrorResponseMapper;
+import com.fulfilment.application.monolith.errors.InvalidRequestException;
+import com.fulfilment.application.monolith.logging.BusinessEventLogger;
+import com.fulfilment.application.monolith.replica.ReadReplica;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseResult;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
 import com.warehouse.api.WarehouseResource;
+import com.warehouse.api.beans.BulkWarehouseReport;
 import com.warehouse.api.beans.Warehouse;
+import com.warehouse.api.beans.WarehouseHistoryEntry;
 import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.WebApplicationException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.Consumer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 /**
  * REST API implementation for Warehouse Management.
  * 
  * Implements all warehouse operations with proper transaction handling and validation:
  * - POST /warehouse - Create new warehouse
- * - GET /warehouse - List all active warehouses
+ * - GET /warehouse - List all active warehouses (optionally one keyset page via after/limit)
  * - GET /warehouse/{id} - Get specific warehouse by business unit code
  * - DELETE /warehouse/{id} - Archive warehouse
  * - POST /warehouse/{businessUnitCode}/replacement - Replace warehouse with same code
+ * - POST /warehouse/bulk - Create many warehouses, each with its own result
+ * - POST /warehouse/bulk/replacements - Replace many warehouses, each with its own result
+ * - GET /warehouse/{businessUnitCode}/history - Lineage of a business unit code, or the unit
+ *   active at a point in time
  * 
  * All operations include comprehensive business rule validation:
  * - Business Unit Code uniqueness
@@ -32,6 +53,7 @@ import java.util.List;
  * - Maximum warehouses per location constraint
  */
 @RequestScoped
+@RunOnVirtualThread
 public class WarehouseResourceImpl implements WarehouseResource {
 
   @Inject private WarehouseRepository warehouseRepository;
@@ -42,22 +64,56 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
   @Inject private ReplaceWarehouseUseCase replaceWarehouseUseCase;
 
+  @Inject private BusinessEventLogger events;
+
+  @Inject private ResourceVersions resourceVersions;
+
+  static final int DEFAULT_PAGE_SIZE = 100;
+
+  static final int MAX_PAGE_SIZE = 1000;
+
+  static final int MAX_BULK_SIZE = 1000;
+
+  private static final InvalidRequestException ARRAY_REQUIRED =
+      InvalidRequestException.constant("Request body must be a JSON array");
+
+  private static final InvalidRequestException BULK_TOO_LARGE =
+      InvalidRequestException.constant(
+          "A bulk request may contain at most " + MAX_BULK_SIZE + " warehouses");
+
+  @ConfigProperty(name = "warehouse.bulk.chunk-size", defaultValue = "50")
+  int bulkChunkSize;
+
   /**
-   * List all active (non-archived) warehouses.
+   * List active (non-archived) warehouses, either all of them or one keyset page.
    *
-   * @return List of all active warehouses
+   * <p>Without {@code after} and {@code limit} every active warehouse is returned, as before.
+   * Otherwise at most {@code limit} warehouses with an id greater than {@code after} are returned,
+   * ordered by id, so clients can walk the table with bounded memory on both sides.
+   *
+   * @param after Optional cursor: id of the last warehouse of the previous page
+   * @param limit Optional page size (1 to {@value #MAX_PAGE_SIZE})
+   * @return List of active warehouses
+   * @throws WebApplicationException with 400 if the cursor or page size is invalid
    */
+  @ReadReplica
   @Override
-  public List<Warehouse> listAllWarehousesUnits() {
+  public List<Warehouse> listAllWarehousesUnits(String after, Integer limit) {
     try {
-      Log.infof("Retrieving all active warehouses");
-      List<Warehouse> warehouses =
-          warehouseRepository.getAll().stream()
-              .filter(dbWh -> dbWh.archivedAt == null)
-              .map(this::toWarehouseResponse)
-              .toList();
-      Log.infof("Retrieved %d active warehouses", warehouses.size());
-      return warehouses;
+      if (after == null && limit == null) {
+        return warehouseRepository.getAll().stream()
+            .filter(warehouse -> warehouse.archivedAt == null)
+            .map(WarehouseApiMapper::toResponse)
+            .toList();
+      }
+
+      Long afterId = parseCursor(after);
+      int pageSize = pageSize(limit);
+      return warehouseRepository.findActivePage(afterId, pageSize).stream()
+          .map(WarehouseApiMapper::toResponse)
+          .toList();
+    } catch (WebApplicationException | DomainException e) {
+      throw e;
     } catch (Exception e) {
       Log.errorf(e, "Error retrieving warehouses");
       throw new WebApplicationException("Failed to retrieve warehouses", 500);
@@ -84,20 +140,15 @@ public class WarehouseResourceImpl implements WarehouseResource {
   @Transactional
   public Warehouse createANewWarehouseUnit(@NotNull Warehouse data) {
     try {
-      Log.infof(
-          "Creating new warehouse with Business Unit Code: %s at Location: %s",
-          data.getBusinessUnitCode(), data.getLocation());
-
-      var domainWarehouse = toDomainModel(data);
+      var domainWarehouse = WarehouseApiMapper.toDomainModel(data);
       createWarehouseUseCase.create(domainWarehouse);
-
-      Warehouse response = toWarehouseResponse(domainWarehouse);
-      Log.infof("Successfully created warehouse: %s", data.getBusinessUnitCode());
-      return response;
-    } catch (WebApplicationException e) {
-      Log.warnf(
+      events.event("warehouse.created", domainWarehouse.businessUnitCode, domainWarehouse.location);
+      resourceVersions.changed(ResourceVersions.WAREHOUSE);
+      return WarehouseApiMapper.toResponse(domainWarehouse);
+    } catch (WebApplicationException | DomainException e) {
+      Log.debugf(
           "Validation failed for warehouse creation: %s (HTTP %d)",
-          e.getMessage(), e.getResponse().getStatus());
+          e.getMessage(), ErrorResponseMapper.status(e));
       throw e;
     } catch (Exception e) {
       Log.errorf(e, "Error creating warehouse");
@@ -114,34 +165,33 @@ public class WarehouseResourceImpl implements WarehouseResource {
    * @return Warehouse details if found and not archived
    * @throws WebApplicationException with 404 Not Found if warehouse doesn't exist or is archived, or with 400 if ID is invalid
    */
+  @ReadReplica
   @Override
   public Warehouse getAWarehouseUnitByID(String id) {
     try {
-      Log.infof("Retrieving warehouse with ID: %s", id);
       Long warehouseId;
       try {
         warehouseId = Long.parseLong(id);
       } catch (NumberFormatException e) {
-        Log.warnf("Invalid warehouse ID format: %s", id);
+        Log.debugf("Invalid warehouse ID format: %s", id);
         throw new WebApplicationException(
             "Invalid warehouse ID format. ID must be a valid number.", 400);
       }
       
       var dbWarehouse = warehouseRepository.findById(warehouseId);
       if (dbWarehouse == null) {
-        Log.warnf("Warehouse with ID '%s' not found", id);
+        Log.debugf("Warehouse with ID '%s' not found", id);
         throw new WebApplicationException(
             "Warehouse with ID '" + id + "' not found.", 404);
       }
       // Check if warehouse is archived
       if (dbWarehouse.archivedAt != null) {
-        Log.warnf("Warehouse with ID '%s' is archived", id);
+        Log.debugf("Warehouse with ID '%s' is archived", id);
         throw new WebApplicationException(
             "Warehouse with ID '" + id + "' is archived.", 404);
       }
-      Log.infof("Successfully retrieved warehouse with ID: %s", id);
-      return toWarehouseResponse(dbWarehouse.toWarehouse());
-    } catch (WebApplicationException e) {
+      return WarehouseApiMapper.toResponse(dbWarehouse.toWarehouse());
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (Exception e) {
       Log.errorf(e, "Error retrieving warehouse");
@@ -167,32 +217,32 @@ public class WarehouseResourceImpl implements WarehouseResource {
   @Transactional
   public void archiveAWarehouseUnitByID(String id) {
     try {
-      Log.infof("Archiving warehouse with ID: %s", id);
       Long warehouseId;
       try {
         warehouseId = Long.parseLong(id);
       } catch (NumberFormatException e) {
-        Log.warnf("Invalid warehouse ID format: %s", id);
+        Log.debugf("Invalid warehouse ID format: %s", id);
         throw new WebApplicationException(
             "Invalid warehouse ID format. ID must be a valid number.", 400);
       }
       
       var dbWarehouse = warehouseRepository.findById(warehouseId);
       if (dbWarehouse == null) {
-        Log.warnf("Warehouse with ID '%s' not found for archiving", id);
+        Log.debugf("Warehouse with ID '%s' not found for archiving", id);
         throw new WebApplicationException(
             "Warehouse with ID '" + id + "' not found.", 404);
       }
       // Check if warehouse is already archived
       if (dbWarehouse.archivedAt != null) {
-        Log.warnf("Warehouse with ID '%s' is already archived", id);
+        Log.debugf("Warehouse with ID '%s' is already archived", id);
         throw new WebApplicationException(
             "Warehouse with ID '" + id + "' is already archived.", 404);
       }
       var warehouse = dbWarehouse.toWarehouse();
       archiveWarehouseUseCase.archive(warehouse);
-      Log.infof("Successfully archived warehouse: %s", id);
-    } catch (WebApplicationException e) {
+      events.event("warehouse.archived", warehouse.businessUnitCode, id);
+      resourceVersions.changed(ResourceVersions.WAREHOUSE);
+    } catch (WebApplicationException | DomainException e) {
       throw e;
     } catch (Exception e) {
       Log.errorf(e, "Error archiving warehouse");
@@ -230,18 +280,16 @@ public class WarehouseResourceImpl implements WarehouseResource {
   public Warehouse replaceTheCurrentActiveWarehouse(
       String businessUnitCode, @NotNull Warehouse data) {
     try {
-      Log.infof("Replacing warehouse with Business Unit Code: %s", businessUnitCode);
       data.setBusinessUnitCode(businessUnitCode);
-      var newWarehouse = toDomainModel(data);
+      var newWarehouse = WarehouseApiMapper.toDomainModel(data);
       replaceWarehouseUseCase.replace(newWarehouse);
-      
-      Warehouse response = toWarehouseResponse(newWarehouse);
-      Log.infof("Successfully replaced warehouse: %s", businessUnitCode);
-      return response;
-    } catch (WebApplicationException e) {
-      Log.warnf(
+      events.event("warehouse.replaced", businessUnitCode, newWarehouse.location);
+      resourceVersions.changed(ResourceVersions.WAREHOUSE);
+      return WarehouseApiMapper.toResponse(newWarehouse);
+    } catch (WebApplicationException | DomainException e) {
+      Log.debugf(
           "Validation failed for warehouse replacement: %s (HTTP %d)",
-          e.getMessage(), e.getResponse().getStatus());
+          e.getMessage(), ErrorResponseMapper.status(e));
       throw e;
     } catch (Exception e) {
       Log.errorf(e, "Error replacing warehouse");
@@ -250,33 +298,210 @@ public class WarehouseResourceImpl implements WarehouseResource {
   }
 
   /**
-   * Convert domain warehouse to API response bean.
-   * Maps internal domain model to JSON-serializable API response bean.
+   * Create many warehouses in one request, each with its own result.
+   *
+   * <p>The batch is validated as a whole by {@link CreateWarehouseUseCase#validateAll}, which
+   * reads the existing codes and location occupancy once. Accepted warehouses are then committed
+   * in chunks of {@code warehouse.bulk.chunk-size}, one transaction per chunk.
+   *
+   * @param data Warehouses to create, at most {@value #MAX_BULK_SIZE}
+   * @return One result per warehouse, in request order, with the status a single create would
+   *     have returned
+   * @throws WebApplicationException with 400 if the body is not an array or is too large
+   */
+  @Override
+  public BulkWarehouseReport createWarehouseUnits(@NotNull List<Warehouse> data) {
+    var results = createWarehouseUseCase.validateAll(toDomainModels(data));
+    commitInChunks(results, createWarehouseUseCase::createAccepted, createWarehouseUseCase::create);
+    return bulkReport("warehouse.bulk-created", results);
+  }
+
+  /**
+   * Replace many active warehouses in one request, each with its own result.
+   *
+   * <p>The batch is validated as a whole by {@link ReplaceWarehouseUseCase#validateAll}, which
+   * reads the warehouses being replaced and the occupancy of every location involved once.
+   * Accepted replacements are then committed in chunks of {@code warehouse.bulk.chunk-size}, one
+   * transaction per chunk.
+   *
+   * @param data Replacements, each naming the warehouse it replaces by its business unit code; at
+   *     most {@value #MAX_BULK_SIZE}
+   * @return One result per replacement, in request order, with the status a single replacement
+   *     would have returned
+   * @throws WebApplicationException with 400 if the body is not an array or is too large
    */
-  private Warehouse toWarehouseResponse(
-      com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
-    var response = new Warehouse();
-    if (warehouse.id != null) {
-      response.setId(String.valueOf(warehouse.id));
+  @Override
+  public BulkWarehouseReport replaceWarehouseUnits(@NotNull List<Warehouse> data) {
+    var results = replaceWarehouseUseCase.validateAll(toDomainModels(data));
+    commitInChunks(
+        results, replaceWarehouseUseCase::replaceAccepted, replaceWarehouseUseCase::replace);
+    return bulkReport("warehouse.bulk-replaced", results);
+  }
+
+  /**
+   * List the warehouses that carried a business unit code, newest first, or the one active at a
+   * point in time.
+   *
+   * <p>Both forms are served from the (businessUnitCode, createdAt) index: pages seek past the
+   * cursor instead of skipping rows, so a code with hundreds of replacements costs the same per
+   * page as one with a single warehouse.
+   *
+   * @param businessUnitCode Business unit code whose history is listed
+   * @param asOf Optional ISO-8601 timestamp; when given, only the warehouse active at that instant
+   *     is returned
+   * @param after Optional cursor: id of the last warehouse of the previous page
+   * @param limit Optional page size (1 to {@value #MAX_PAGE_SIZE})
+   * @return History entries, newest first; empty if the code is unknown
+   * @throws WebApplicationException with 400 if the timestamp, cursor or page size is invalid
+   */
+  @ReadReplica
+  @Override
+  public List<WarehouseHistoryEntry> getWarehouseHistory(
+      String businessUnitCode, String asOf, String after, Integer limit) {
+    try {
+      if (asOf != null && !asOf.isBlank()) {
+        LocalDateTime instant = parseTimestamp(asOf);
+        var warehouse = warehouseRepository.findActiveAt(businessUnitCode, instant);
+        return warehouse == null
+            ? List.of()
+            : List.of(WarehouseApiMapper.toHistoryEntry(warehouse));
+      }
+
+      Long afterId = parseCursor(after);
+      int pageSize = pageSize(limit);
+      return warehouseRepository.findHistoryPage(businessUnitCode, afterId, pageSize).stream()
+          .map(WarehouseApiMapper::toHistoryEntry)
+          .toList();
+    } catch (WebApplicationException | DomainException e) {
+      throw e;
+    } catch (Exception e) {
+      Log.errorf(e, "Error retrieving warehouse history");
+      throw new WebApplicationException("Failed to retrieve warehouse history", 500);
     }
-    response.setBusinessUnitCode(warehouse.businessUnitCode);
-    response.setLocation(warehouse.location);
-    response.setCapacity(warehouse.capacity);
-    response.setStock(warehouse.stock);
-    return response;
+  }
+
+  private static List<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse>
+      toDomainModels(List<Warehouse> data) {
+    if (data == null) {
+      throw ARRAY_REQUIRED;
+    }
+    if (data.size() > MAX_BULK_SIZE) {
+      throw BULK_TOO_LARGE;
+    }
+    return data.stream().map(w -> w == null ? null : WarehouseApiMapper.toDomainModel(w)).toList();
   }
 
   /**
-   * Convert API request bean to domain model.
-   * Maps incoming JSON API request to internal domain model for validation and persistence.
+   * Write the accepted warehouses of a bulk request, one transaction per chunk.
+   *
+   * <p>Validation ran outside any transaction, so a chunk can still fail on a change made by
+   * another request in the meantime. The failed chunk rolls back alone and its warehouses are
+   * retried one transaction each through the single-warehouse path, so only the warehouses that
+   * no longer pass are rejected, with the status a single request would have got.
    */
-  private com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomainModel(
-      Warehouse apiWarehouse) {
-    var warehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
-    warehouse.businessUnitCode = apiWarehouse.getBusinessUnitCode();
-    warehouse.location = apiWarehouse.getLocation();
-    warehouse.capacity = apiWarehouse.getCapacity();
-    warehouse.stock = apiWarehouse.getStock();
-    return warehouse;
+  private void commitInChunks(
+      List<WarehouseResult> results,
+      Consumer<List<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse>>
+          chunkWriter,
+      Consumer<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse>
+          singleWriter) {
+    var accepted = results.stream().filter(WarehouseResult::accepted).toList();
+    for (int from = 0; from < accepted.size(); from += bulkChunkSize) {
+      var chunk = accepted.subList(from, Math.min(from + bulkChunkSize, accepted.size()));
+      try {
+        QuarkusTransaction.requiringNew()
+            .run(
+                () -> {
+                  chunkWriter.accept(chunk.stream().map(r -> r.warehouse).toList());
+                  resourceVersions.changed(ResourceVersions.WAREHOUSE);
+                });
+      } catch (RuntimeException e) {
+        Log.debugf(
+            "Chunk of %d warehouses failed (%s); committing them one by one",
+            chunk.size(), e.getMessage());
+        chunk.forEach(result -> commitOne(result, singleWriter));
+      }
+    }
+  }
+
+  private void commitOne(
+      WarehouseResult result,
+      Consumer<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse> writer) {
+    try {
+      QuarkusTransaction.requiringNew()
+          .run(
+              () -> {
+                writer.accept(result.warehouse);
+                resourceVersions.changed(ResourceVersions.WAREHOUSE);
+              });
+    } catch (WebApplicationException | DomainException e) {
+      result.reject(ErrorResponseMapper.status(e), e.getMessage());
+    } catch (RuntimeException e) {
+      Log.errorf(e, "Error committing warehouse %s", result.businessUnitCode);
+      result.reject(500, "Failed to commit warehouse");
+    }
+  }
+
+  private BulkWarehouseReport bulkReport(String event, List<WarehouseResult> results) {
+    var report = WarehouseApiMapper.toBulkReport(results);
+    events.event(event, report.getSucceeded(), report.getRejected());
+    return report;
+  }
+
+  /**
+   * Parse an as-of timestamp. Timestamps with an offset are converted to the server time zone,
+   * which is the zone warehouse timestamps are stored in.
+   *
+   * @throws WebApplicationException with 400 if the value is not an ISO-8601 timestamp
+   */
+  private LocalDateTime parseTimestamp(String value) {
+    try {
+      return LocalDateTime.parse(value);
+    } catch (DateTimeParseException e) {
+      try {
+        return OffsetDateTime.parse(value)
+            .atZoneSameInstant(ZoneId.systemDefault())
+            .toLocalDateTime();
+      } catch (DateTimeParseException ignored) {
+        throw new WebApplicationException(
+            "Invalid timestamp '" + value + "'. Use ISO-8601, e.g. 2024-05-01T10:00:00.", 400);
+      }
+    }
+  }
+
+  /**
+   * Resolve the requested page size.
+   *
+   * @param limit Requested page size, may be null
+   * @return The page size, {@value #DEFAULT_PAGE_SIZE} when none was requested
+   * @throws WebApplicationException with 400 if the size is outside 1 to {@value #MAX_PAGE_SIZE}
+   */
+  static int pageSize(Integer limit) {
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new WebApplicationException(
+          "Invalid page size " + limit + ". Limit must be between 1 and " + MAX_PAGE_SIZE + ".",
+          400);
+    }
+    return pageSize;
+  }
+
+  /**
+   * Parse the keyset cursor of a warehouse page.
+   *
+   * @param after Cursor value (id of the last warehouse already seen), may be null
+   * @return Parsed id, or null when no cursor was given
+   * @throws WebApplicationException with 400 if the cursor is not a number
+   */
+  static Long parseCursor(String after) {
+    if (after == null || after.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(after);
+    } catch (NumberFormatException e) {
+      throw new WebApplicationException(
+          "Invalid cursor '" + after + "'. Cursor must be a warehouse ID.", 400);
+    }
   }
 }
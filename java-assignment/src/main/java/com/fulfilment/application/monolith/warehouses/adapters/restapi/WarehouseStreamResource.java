@@ -0,0 +1,76 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streaming export of active warehouses.
+ *
+ * <p>GET /warehouse/stream writes every active warehouse as one JSON document per line
+ * ({@code application/x-ndjson}). Rows are scrolled from the database and written as they are
+ * read, so neither the server nor the client has to hold the full list in memory. The export
+ * runs on a virtual thread, so a slow reader holds a cheap virtual thread rather than a worker.
+ */
+@Path("warehouse/stream")
+@ApplicationScoped
+@RunOnVirtualThread
+public class WarehouseStreamResource {
+
+  static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Inject ObjectMapper objectMapper;
+
+  @GET
+  @Produces(APPLICATION_NDJSON)
+  public Response streamActiveWarehouses() {
+    ObjectWriter writer = objectMapper.writerFor(com.warehouse.api.beans.Warehouse.class);
+    StreamingOutput body =
+        output -> {
+          var buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+          try {
+            QuarkusTransaction.requiringNew()
+                .run(
+                    () ->
+                        warehouseRepository.streamActive(
+                            warehouse ->
+                                writeLine(
+                                    buffered, writer, WarehouseApiMapper.toResponse(warehouse))));
+          } catch (UncheckedIOException e) {
+            // Client went away mid-stream; nothing left to send it.
+            Log.warnf("Warehouse stream aborted: %s", e.getCause().getMessage());
+            throw e.getCause();
+          }
+          buffered.flush();
+        };
+    return Response.ok(body, APPLICATION_NDJSON).build();
+  }
+
+  private static void writeLine(
+      OutputStream output, ObjectWriter writer, com.warehouse.api.beans.Warehouse warehouse) {
+    try {
+      output.write(writer.writeValueAsBytes(warehouse));
+      output.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -19,4 +19,7 @@ public class Warehouse {
   public LocalDateTime createdAt;
 
   public LocalDateTime archivedAt;
+
+  // Optimistic lock version of the stored warehouse
+  public Long version;
 }
@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/** Outcome of one warehouse of a bulk create or replace request, keyed by its input position. */
+public class WarehouseResult {
+
+  public int index;
+
+  public int status;
+
+  public String businessUnitCode;
+
+  public String message;
+
+  // The warehouse as created or replaced; null when the item was rejected
+  public Warehouse warehouse;
+
+  public WarehouseResult() {}
+
+  public WarehouseResult(int index, int status, String businessUnitCode, String message) {
+    this.index = index;
+    this.status = status;
+    this.businessUnitCode = businessUnitCode;
+    this.message = message;
+  }
+
+  public boolean accepted() {
+    return warehouse != null;
+  }
+
+  /** Turn an accepted item into a rejection, for items that failed while being committed. */
+  public void reject(int status, String message) {
+    this.status = status;
+    this.message = message;
+    this.warehouse = null;
+  }
+}
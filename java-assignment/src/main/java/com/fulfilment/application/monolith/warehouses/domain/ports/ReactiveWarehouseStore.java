@@ -0,0 +1,28 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+
+/**
+ * Non-blocking read side of {@link WarehouseStore}, for serving reads on the event loop.
+ *
+ * <p>Writes stay on {@link WarehouseStore}: they run the business rules and location quota
+ * updates inside one JDBC transaction.
+ */
+public interface ReactiveWarehouseStore {
+
+  /**
+   * Keyset page of active warehouses in id order.
+   *
+   * @param afterId Id of the last warehouse of the previous page; null starts at the beginning
+   * @param limit Maximum number of warehouses in the page
+   */
+  Uni<List<Warehouse>> findActivePage(Long afterId, int limit);
+
+  /** Emits the active warehouse with this id, or null if there is none. */
+  Uni<Warehouse> findActiveById(long id);
+
+  /** Emits the active warehouse with this business unit code, or null if there is none. */
+  Uni<Warehouse> findByBusinessUnitCode(String buCode);
+}
@@ -1,7 +1,11 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface WarehouseStore {
 
@@ -11,7 +15,47 @@ public interface WarehouseStore {
 
   void update(Warehouse warehouse);
 
+  /**
+   * Archive an active warehouse and insert its replacement.
+   *
+   * <p>The archive is conditional on the version the old warehouse was read with, so of two
+   * concurrent replacements of the same warehouse only the first succeeds.
+   *
+   * @throws com.fulfilment.application.monolith.errors.ConflictException if the old warehouse was
+   *     changed or archived since it was read
+   */
+  void replaceActive(Warehouse oldWarehouse, Warehouse newWarehouse);
+
   void remove(Warehouse warehouse);
 
   Warehouse findByBusinessUnitCode(String buCode);
+
+  /** Active warehouses carrying any of the codes, keyed by code; unknown codes have no entry. */
+  Map<String, Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes);
+
+  long countActiveByLocation(String location);
+
+  long sumActiveCapacityByLocation(String location);
+
+  /**
+   * Add warehouses and capacity to a location's occupancy for the current transaction, unless that
+   * takes it past the location's limits.
+   *
+   * <p>The check and the update are atomic: concurrent callers for the same location are
+   * serialised until the reserving transaction ends.
+   *
+   * @param warehouses Warehouses joining the location, 0 when a warehouse is replaced in place
+   * @param capacity Capacity joining the location; negative when a replacement is smaller
+   * @return false when the location has no room, in which case its occupancy is unchanged
+   */
+  boolean reserveLocationCapacity(Location location, int warehouses, int capacity);
+
+  /** Give back the slot and capacity of a warehouse archived at or moved away from a location. */
+  void releaseLocationCapacity(String location, int capacity);
+
+  /** Current occupancy of a location, read from the maintained aggregate. */
+  LocationOccupancy findLocationOccupancy(String location);
+
+  /** Current occupancy of each of the locations, keyed by location, read in one go. */
+  Map<String, LocationOccupancy> findLocationOccupancies(Collection<String> locations);
 }
@@ -1,19 +1,31 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.changes.ChangePublisher;
+import com.fulfilment.application.monolith.errors.ResourceNotFoundException;
+import com.fulfilment.application.monolith.metrics.Measured;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.inject.Inject;
 import java.time.LocalDateTime;
+import java.util.Map;
 
+@Measured
 @ApplicationScoped
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
+  private final ChangePublisher changes;
 
   public ArchiveWarehouseUseCase(WarehouseStore warehouseStore) {
+    this(warehouseStore, ChangePublisher.NONE);
+  }
+
+  @Inject
+  public ArchiveWarehouseUseCase(WarehouseStore warehouseStore, ChangePublisher changes) {
     this.warehouseStore = warehouseStore;
+    this.changes = changes;
   }
 
   @Override
@@ -21,16 +33,20 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
     // Validate warehouse exists
     var existingWarehouse = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
     if (existingWarehouse == null) {
-      throw new WebApplicationException(
+      throw new ResourceNotFoundException(
           "Warehouse with Business Unit Code '"
               + warehouse.businessUnitCode
-              + "' not found.",
-          404);
+              + "' not found.");
     }
 
     // Set archived timestamp
     warehouse.archivedAt = LocalDateTime.now();
     warehouseStore.update(warehouse);
+    warehouseStore.releaseLocationCapacity(existingWarehouse.location, existingWarehouse.capacity);
+    changes.publish(
+        "warehouse.archived",
+        existingWarehouse.businessUnitCode,
+        Map.of("location", existingWarehouse.location));
   }
 }
 
@@ -1,76 +1,151 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.changes.ChangePublisher;
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.metrics.Measured;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseResult;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.inject.Inject;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
+@Measured
 @ApplicationScoped
 public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
   private final LocationResolver locationResolver;
+  private final ChangePublisher changes;
 
   public CreateWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+    this(warehouseStore, locationResolver, ChangePublisher.NONE);
+  }
+
+  @Inject
+  public CreateWarehouseUseCase(
+      WarehouseStore warehouseStore, LocationResolver locationResolver, ChangePublisher changes) {
     this.warehouseStore = warehouseStore;
     this.locationResolver = locationResolver;
+    this.changes = changes;
   }
 
   @Override
   public void create(Warehouse warehouse) {
     // Validate Business Unit Code uniqueness
     if (warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode) != null) {
-      throw new WebApplicationException(
-          "Business Unit Code '" + warehouse.businessUnitCode + "' already exists.", 409);
+      throw WarehouseRules.duplicateCode(warehouse.businessUnitCode);
     }
 
-    // Validate Location exists
     var location = locationResolver.resolveByIdentifier(warehouse.location);
-    if (location == null) {
-      throw new WebApplicationException("Location '" + warehouse.location + "' is not valid.", 400);
-    }
+    WarehouseRules.checkCreate(warehouse, location);
+    insert(warehouse, location);
+  }
 
-    // Validate warehouse capacity does not exceed location's max capacity
-    if (warehouse.capacity > location.maxCapacity) {
-      throw new WebApplicationException(
-          "Warehouse capacity "
-              + warehouse.capacity
-              + " exceeds location's maximum capacity "
-              + location.maxCapacity
-              + ".",
-          400);
-    }
+  /**
+   * Validate a batch of new warehouses without writing anything.
+   *
+   * <p>The active warehouses with the batch's codes and the occupancy of its locations are read
+   * once for the whole batch, and each warehouse is then checked in memory against the same rules
+   * as {@link #create}. Warehouses accepted earlier in the batch count towards the limits checked
+   * for later ones, so the accepted set fits its locations as a whole.
+   *
+   * @return One result per warehouse, in input order; accepted ones carry status 201 and the
+   *     warehouse, to be written with {@link #createAccepted}
+   */
+  public List<WarehouseResult> validateAll(List<Warehouse> warehouses) {
+    var valid = warehouses.stream().filter(WarehouseRules::hasRequiredFields).toList();
+    var taken =
+        new HashSet<>(
+            warehouseStore
+                .findActiveByBusinessUnitCodes(
+                    valid.stream().map(w -> w.businessUnitCode).distinct().toList())
+                .keySet());
+    var locations = new HashMap<String, Location>();
+    valid.forEach(
+        w -> locations.computeIfAbsent(w.location, locationResolver::resolveByIdentifier));
+    var occupancies =
+        warehouseStore.findLocationOccupancies(
+            locations.values().stream().map(l -> l.identification).toList());
 
-    // Validate warehouse can handle the stock
-    if (warehouse.stock > warehouse.capacity) {
-      throw new WebApplicationException(
-          "Warehouse stock " + warehouse.stock + " exceeds its capacity " + warehouse.capacity + ".",
-          400);
+    var results = new ArrayList<WarehouseResult>(warehouses.size());
+    for (int i = 0; i < warehouses.size(); i++) {
+      var warehouse = warehouses.get(i);
+      if (!WarehouseRules.hasRequiredFields(warehouse)) {
+        results.add(
+            new WarehouseResult(
+                i,
+                WarehouseRules.FIELDS_REQUIRED.status(),
+                warehouse == null ? null : warehouse.businessUnitCode,
+                WarehouseRules.FIELDS_REQUIRED.getMessage()));
+        continue;
+      }
+      try {
+        if (taken.contains(warehouse.businessUnitCode)) {
+          throw WarehouseRules.duplicateCode(warehouse.businessUnitCode);
+        }
+        var location = locations.get(warehouse.location);
+        WarehouseRules.checkCreate(warehouse, location);
+        var occupancy = occupancies.get(location.identification);
+        if (!WarehouseRules.hasRoom(location, occupancy, 1, warehouse.capacity)) {
+          throw WarehouseRules.locationFull(location, occupancy, true, warehouse.capacity);
+        }
+
+        occupancy.activeWarehouses++;
+        occupancy.totalCapacity += warehouse.capacity;
+        taken.add(warehouse.businessUnitCode);
+        var result = new WarehouseResult(i, 201, warehouse.businessUnitCode, "Warehouse created");
+        result.warehouse = warehouse;
+        results.add(result);
+      } catch (DomainException e) {
+        results.add(new WarehouseResult(i, e.status(), warehouse.businessUnitCode, e.getMessage()));
+      }
     }
+    return results;
+  }
 
-    // Validate max warehouses per location
-    var existingWarehouses =
-        warehouseStore.getAll().stream()
-            .filter(w -> w.location.equals(warehouse.location))
-            .count();
+  /**
+   * Create warehouses accepted by {@link #validateAll} in the caller's transaction.
+   *
+   * <p>Each still claims its location atomically, so a location filled by another request since
+   * validation fails the call with the same conflict a single create would get; the caller rolls
+   * back and retries the warehouses one by one.
+   */
+  public void createAccepted(List<Warehouse> warehouses) {
+    for (var warehouse : warehouses) {
+      insert(warehouse, locationResolver.resolveByIdentifier(warehouse.location));
+    }
+  }
 
-    if (existingWarehouses >= location.maxNumberOfWarehouses) {
-      throw new WebApplicationException(
-          "Maximum number of warehouses ("
-              + location.maxNumberOfWarehouses
-              + ") has been reached for location '"
-              + warehouse.location
-              + "'.",
-          409);
+  private void insert(Warehouse warehouse, Location location) {
+    // Claim a slot and the capacity at the location; concurrent creates at the same location
+    // queue on the claim
+    if (!warehouseStore.reserveLocationCapacity(location, 1, warehouse.capacity)) {
+      throw WarehouseRules.locationFull(
+          location,
+          warehouseStore.findLocationOccupancy(location.identification),
+          true,
+          warehouse.capacity);
     }
 
     // if all went well, create the warehouse
     warehouse.createdAt = LocalDateTime.now();
     warehouse.archivedAt = null;
     warehouseStore.create(warehouse);
+    changes.publish(
+        "warehouse.created",
+        warehouse.businessUnitCode,
+        Map.of(
+            "location", warehouse.location,
+            "capacity", warehouse.capacity,
+            "stock", warehouse.stock));
   }
 }
-
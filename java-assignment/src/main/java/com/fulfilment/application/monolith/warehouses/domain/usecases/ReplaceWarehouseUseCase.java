@@ -1,103 +1,186 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.changes.ChangePublisher;
+import com.fulfilment.application.monolith.errors.ConflictException;
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.metrics.Measured;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseResult;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.inject.Inject;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
+@Measured
 @ApplicationScoped
 public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
   private final LocationResolver locationResolver;
+  private final ChangePublisher changes;
 
   public ReplaceWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+    this(warehouseStore, locationResolver, ChangePublisher.NONE);
+  }
+
+  @Inject
+  public ReplaceWarehouseUseCase(
+      WarehouseStore warehouseStore, LocationResolver locationResolver, ChangePublisher changes) {
     this.warehouseStore = warehouseStore;
     this.locationResolver = locationResolver;
+    this.changes = changes;
   }
 
   @Override
   public void replace(Warehouse newWarehouse) {
     // Find the old warehouse by business unit code
     var oldWarehouse = warehouseStore.findByBusinessUnitCode(newWarehouse.businessUnitCode);
-
     if (oldWarehouse == null) {
-      throw new WebApplicationException(
-          "Warehouse with Business Unit Code '"
-              + newWarehouse.businessUnitCode
-              + "' not found.",
-          404);
+      throw WarehouseRules.notFound(newWarehouse.businessUnitCode);
     }
 
-    // Validate stock matching
-    if (!oldWarehouse.stock.equals(newWarehouse.stock)) {
-      throw new WebApplicationException(
-          "Stock mismatch: new warehouse stock "
-              + newWarehouse.stock
-              + " does not match old warehouse stock "
-              + oldWarehouse.stock
-              + ".",
-          400);
-    }
+    var location = locationResolver.resolveByIdentifier(newWarehouse.location);
+    WarehouseRules.checkReplace(oldWarehouse, newWarehouse, location);
+    swap(oldWarehouse, newWarehouse, location);
+  }
 
-    // Validate new warehouse capacity can accommodate the stock
-    if (newWarehouse.capacity < newWarehouse.stock) {
-      throw new WebApplicationException(
-          "New warehouse capacity "
-              + newWarehouse.capacity
-              + " cannot accommodate stock "
-              + newWarehouse.stock
-              + ".",
-          400);
-    }
+  /**
+   * Validate a batch of replacements without writing anything.
+   *
+   * <p>The warehouses being replaced and the occupancy of every location involved are read once
+   * for the whole batch, and each replacement is then checked in memory against the same rules as
+   * {@link #replace}. Replacements accepted earlier in the batch count towards the limits checked
+   * for later ones, including the room they free at the locations they move away from. A code
+   * may be replaced only once per batch.
+   *
+   * @return One result per replacement, in input order; accepted ones carry status 200 and the
+   *     replacement, to be written with {@link #replaceAccepted}
+   */
+  public List<WarehouseResult> validateAll(List<Warehouse> replacements) {
+    var valid = replacements.stream().filter(WarehouseRules::hasRequiredFields).toList();
+    var active =
+        warehouseStore.findActiveByBusinessUnitCodes(
+            valid.stream().map(w -> w.businessUnitCode).distinct().toList());
+    var locations = new HashMap<String, Location>();
+    valid.forEach(
+        w -> locations.computeIfAbsent(w.location, locationResolver::resolveByIdentifier));
+    var involved = new HashSet<String>();
+    locations.values().forEach(l -> involved.add(l.identification));
+    active.values().forEach(w -> involved.add(w.location));
+    var occupancies = warehouseStore.findLocationOccupancies(involved);
 
-    // Validate new location exists
-    var location = locationResolver.resolveByIdentifier(newWarehouse.location);
-    if (location == null) {
-      throw new WebApplicationException(
-          "Location '" + newWarehouse.location + "' is not valid.", 400);
-    }
+    var replaced = new HashSet<String>();
+    var results = new ArrayList<WarehouseResult>(replacements.size());
+    for (int i = 0; i < replacements.size(); i++) {
+      var newWarehouse = replacements.get(i);
+      if (!WarehouseRules.hasRequiredFields(newWarehouse)) {
+        results.add(
+            new WarehouseResult(
+                i,
+                WarehouseRules.FIELDS_REQUIRED.status(),
+                newWarehouse == null ? null : newWarehouse.businessUnitCode,
+                WarehouseRules.FIELDS_REQUIRED.getMessage()));
+        continue;
+      }
+      var code = newWarehouse.businessUnitCode;
+      try {
+        var oldWarehouse = active.get(code);
+        if (oldWarehouse == null) {
+          throw WarehouseRules.notFound(code);
+        }
+        if (replaced.contains(code)) {
+          throw new ConflictException(
+              "Business Unit Code '" + code + "' is replaced more than once in this request.");
+        }
+        var location = locations.get(newWarehouse.location);
+        WarehouseRules.checkReplace(oldWarehouse, newWarehouse, location);
+        boolean moves = !newWarehouse.location.equals(oldWarehouse.location);
+        int addedCapacity =
+            moves ? newWarehouse.capacity : newWarehouse.capacity - oldWarehouse.capacity;
+        var occupancy = occupancies.get(location.identification);
+        if (!WarehouseRules.hasRoom(location, occupancy, moves ? 1 : 0, addedCapacity)) {
+          throw WarehouseRules.locationFull(location, occupancy, moves, addedCapacity);
+        }
 
-    // Validate new warehouse capacity does not exceed location's max capacity
-    if (newWarehouse.capacity > location.maxCapacity) {
-      throw new WebApplicationException(
-          "Warehouse capacity "
-              + newWarehouse.capacity
-              + " exceeds location's maximum capacity "
-              + location.maxCapacity
-              + ".",
-          400);
+        occupancy.totalCapacity += addedCapacity;
+        if (moves) {
+          occupancy.activeWarehouses++;
+          var previous = occupancies.get(oldWarehouse.location);
+          previous.activeWarehouses--;
+          previous.totalCapacity -= oldWarehouse.capacity;
+        }
+        replaced.add(code);
+        var result = new WarehouseResult(i, 200, code, "Warehouse replaced");
+        result.warehouse = newWarehouse;
+        results.add(result);
+      } catch (DomainException e) {
+        results.add(new WarehouseResult(i, e.status(), code, e.getMessage()));
+      }
     }
+    return results;
+  }
 
-    // Validate max warehouses per location for the NEW location
-    // Count existing warehouses at the new location (excluding the old warehouse if it's at the same location)
-    var existingWareousesAtNewLocation =
-        warehouseStore.getAll().stream()
-            .filter(w -> w.location.equals(newWarehouse.location))
-            .filter(w -> !w.businessUnitCode.equals(newWarehouse.businessUnitCode)) // Exclude the old warehouse itself
-            .count();
+  /**
+   * Replace warehouses accepted by {@link #validateAll} in the caller's transaction.
+   *
+   * <p>The warehouses being replaced are read again in one query, as they may have changed since
+   * validation, and each replacement is re-checked and claims its location atomically. Any
+   * failure fails the call with the status a single replacement would get; the caller rolls back
+   * and retries the replacements one by one.
+   */
+  public void replaceAccepted(List<Warehouse> replacements) {
+    var active =
+        warehouseStore.findActiveByBusinessUnitCodes(
+            replacements.stream().map(w -> w.businessUnitCode).toList());
+    for (var newWarehouse : replacements) {
+      var oldWarehouse = active.get(newWarehouse.businessUnitCode);
+      if (oldWarehouse == null) {
+        throw WarehouseRules.notFound(newWarehouse.businessUnitCode);
+      }
+      var location = locationResolver.resolveByIdentifier(newWarehouse.location);
+      WarehouseRules.checkReplace(oldWarehouse, newWarehouse, location);
+      swap(oldWarehouse, newWarehouse, location);
+    }
+  }
 
-    if (existingWareousesAtNewLocation >= location.maxNumberOfWarehouses) {
-      throw new WebApplicationException(
-          "Maximum number of warehouses ("
-              + location.maxNumberOfWarehouses
-              + ") has been reached for location '"
-              + newWarehouse.location
-              + "'.",
-          409);
+  private void swap(Warehouse oldWarehouse, Warehouse newWarehouse, Location location) {
+    // Moving to another location claims a slot and the capacity there and frees them at the old
+    // location; a replacement in place keeps its slot and only claims the capacity it adds
+    boolean moves = !newWarehouse.location.equals(oldWarehouse.location);
+    int addedCapacity =
+        moves ? newWarehouse.capacity : newWarehouse.capacity - oldWarehouse.capacity;
+    if (!warehouseStore.reserveLocationCapacity(location, moves ? 1 : 0, addedCapacity)) {
+      throw WarehouseRules.locationFull(
+          location,
+          warehouseStore.findLocationOccupancy(location.identification),
+          moves,
+          addedCapacity);
+    }
+    if (moves) {
+      warehouseStore.releaseLocationCapacity(oldWarehouse.location, oldWarehouse.capacity);
     }
 
-    // Archive the old warehouse
+    // Archive the old warehouse and create the new one with the same business unit code; fails
+    // with 409 if another request changed the old warehouse since it was read
     oldWarehouse.archivedAt = LocalDateTime.now();
-    warehouseStore.update(oldWarehouse);
-
-    // Create the new warehouse with the same business unit code
-    newWarehouse.createdAt = LocalDateTime.now();
+    newWarehouse.createdAt = oldWarehouse.archivedAt;
     newWarehouse.archivedAt = null;
-    warehouseStore.create(newWarehouse);
+    warehouseStore.replaceActive(oldWarehouse, newWarehouse);
+    changes.publish(
+        "warehouse.replaced",
+        newWarehouse.businessUnitCode,
+        Map.of(
+            "location", newWarehouse.location,
+            "previousLocation", oldWarehouse.location,
+            "capacity", newWarehouse.capacity,
+            "stock", newWarehouse.stock));
   }
 }
-
@@ -0,0 +1,146 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.errors.ConflictException;
+import com.fulfilment.application.monolith.errors.InvalidRequestException;
+import com.fulfilment.application.monolith.errors.ResourceNotFoundException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+
+/**
+ * Business rules of creating and replacing a warehouse, shared by the single and bulk paths of
+ * {@link CreateWarehouseUseCase} and {@link ReplaceWarehouseUseCase} so a warehouse is judged the
+ * same way whichever endpoint it arrives through.
+ */
+final class WarehouseRules {
+
+  static final InvalidRequestException FIELDS_REQUIRED =
+      InvalidRequestException.constant(
+          "businessUnitCode, location, capacity and stock are required");
+
+  private WarehouseRules() {}
+
+  static boolean hasRequiredFields(Warehouse warehouse) {
+    return warehouse != null
+        && warehouse.businessUnitCode != null
+        && warehouse.location != null
+        && warehouse.capacity != null
+        && warehouse.stock != null;
+  }
+
+  static ConflictException duplicateCode(String businessUnitCode) {
+    return new ConflictException("Business Unit Code '" + businessUnitCode + "' already exists.");
+  }
+
+  static ResourceNotFoundException notFound(String businessUnitCode) {
+    return new ResourceNotFoundException(
+        "Warehouse with Business Unit Code '" + businessUnitCode + "' not found.");
+  }
+
+  /**
+   * Checks of a new warehouse against itself and its location.
+   *
+   * @param location The resolved location, null when the identifier is unknown
+   */
+  static void checkCreate(Warehouse warehouse, Location location) {
+    // Validate Location exists
+    if (location == null) {
+      throw new InvalidRequestException("Location '" + warehouse.location + "' is not valid.");
+    }
+
+    // Validate warehouse capacity does not exceed location's max capacity
+    checkMaxCapacity(warehouse, location);
+
+    // Validate warehouse can handle the stock
+    if (warehouse.stock > warehouse.capacity) {
+      throw new InvalidRequestException(
+          "Warehouse stock "
+              + warehouse.stock
+              + " exceeds its capacity "
+              + warehouse.capacity
+              + ".");
+    }
+  }
+
+  /**
+   * Checks of a replacement against the warehouse it replaces and its new location.
+   *
+   * @param location The resolved location of the replacement, null when the identifier is unknown
+   */
+  static void checkReplace(Warehouse oldWarehouse, Warehouse newWarehouse, Location location) {
+    // Validate stock matching
+    if (!oldWarehouse.stock.equals(newWarehouse.stock)) {
+      throw new InvalidRequestException(
+          "Stock mismatch: new warehouse stock "
+              + newWarehouse.stock
+              + " does not match old warehouse stock "
+              + oldWarehouse.stock
+              + ".");
+    }
+
+    // Validate new warehouse capacity can accommodate the stock
+    if (newWarehouse.capacity < newWarehouse.stock) {
+      throw new InvalidRequestException(
+          "New warehouse capacity "
+              + newWarehouse.capacity
+              + " cannot accommodate stock "
+              + newWarehouse.stock
+              + ".");
+    }
+
+    // Validate new location exists
+    if (location == null) {
+      throw new InvalidRequestException(
+          "Location '" + newWarehouse.location + "' is not valid.");
+    }
+
+    // Validate new warehouse capacity does not exceed location's max capacity
+    checkMaxCapacity(newWarehouse, location);
+  }
+
+  /**
+   * Whether a location with the given occupancy can take the warehouses and capacity; the
+   * in-memory counterpart of {@code WarehouseStore.reserveLocationCapacity}. Only the side that
+   * grows is checked.
+   */
+  static boolean hasRoom(
+      Location location, LocationOccupancy occupancy, int warehouses, int capacity) {
+    return (warehouses <= 0
+            || occupancy.activeWarehouses + warehouses <= location.maxNumberOfWarehouses)
+        && (capacity <= 0 || occupancy.totalCapacity + capacity <= location.maxCapacity);
+  }
+
+  /** The rejection of a claim on a location that has no room left, given its occupancy. */
+  static ConflictException locationFull(
+      Location location, LocationOccupancy occupancy, boolean addsWarehouse, int capacity) {
+    if (addsWarehouse && occupancy.activeWarehouses >= location.maxNumberOfWarehouses) {
+      return new ConflictException(
+          "Maximum number of warehouses ("
+              + location.maxNumberOfWarehouses
+              + ") has been reached for location '"
+              + location.identification
+              + "'.");
+    }
+    return new ConflictException(
+        "Location '"
+            + location.identification
+            + "' has "
+            + occupancy.totalCapacity
+            + " of its maximum capacity "
+            + location.maxCapacity
+            + " in use and cannot take a further "
+            + capacity
+            + ".");
+  }
+
+  private static void checkMaxCapacity(Warehouse warehouse, Location location) {
+    if (warehouse.capacity > location.maxCapacity) {
+      throw new InvalidRequestException(
+          "Warehouse capacity "
+              + warehouse.capacity
+              + " exceeds location's maximum capacity "
+              + location.maxCapacity
+              + ".");
+    }
+  }
+}
@@ -0,0 +1,96 @@
+-- =====================================================================
+-- DEMO DATA
+-- =====================================================================
+-- Dev only: Flyway reads db/demo only where quarkus.flyway.locations lists it (the %dev profile).
+-- A repeatable migration, applied after the versioned schema migrations and again whenever this
+-- file changes, one multi-row insert per table. ON CONFLICT DO NOTHING keeps it harmless on a
+-- database that already holds some of these rows (an earlier run of this script, or one created
+-- by Hibernate before migrations were introduced and baselined at version 1).
+--
+-- location_quota and resource_version are seeded by the application at startup.
+
+-- Physical stores where products are sold to customers
+INSERT INTO store(id, name, quantityProductsInStock) VALUES
+    (1, 'TONSTAD Store', 50),
+    (2, 'KALLAX Store', 35),
+    (3, 'BESTÅ Store', 25),
+    (4, 'EKTORP Store', 45),
+    (5, 'MALM Store', 60)
+ON CONFLICT DO NOTHING;
+
+-- Goods that are sold in stores and stored in warehouses
+INSERT INTO product(id, name, description, price, stock) VALUES
+    (1, 'TONSTAD Sofa', 'Three-seat sofa with modern design', 299.99, 50),
+    (2, 'KALLAX Shelf', 'Shelving unit with clean lines', 149.99, 75),
+    (3, 'BESTÅ Cabinet', 'Storage cabinet with glass doors', 199.99, 40),
+    (4, 'EKTORP Chair', 'Comfortable lounge chair', 129.99, 100),
+    (5, 'MALM Bed Frame', 'Queen-size bed frame', 349.99, 35),
+    (6, 'LAPPVIKEN Door', 'Cabinet door with soft-close', 49.99, 200)
+ON CONFLICT DO NOTHING;
+
+-- Warehouses where products are kept for distribution to stores. The id is used for API lookups
+-- (GET /warehouse/{id}), the business unit code for replacements
+-- (POST /warehouse/{businessUnitCode}/replacement). Each one is at a location of locations.csv
+-- and within its limits, leaving room at AMSTERDAM-001, AMSTERDAM-002 and EINDHOVEN-001 to
+-- create and replace warehouses.
+INSERT INTO warehouse(
+    id, businessUnitCode, activeBusinessUnitCode, location, capacity, stock, createdAt,
+    archivedAt, version) VALUES
+    (1, 'AMST.EU.001', 'AMST.EU.001', 'AMSTERDAM-001', 60, 45, LOCALTIMESTAMP, null, 0),
+    (2, 'ROTT.EU.002', 'ROTT.EU.002', 'AMSTERDAM-002', 50, 35, LOCALTIMESTAMP, null, 0),
+    (3, 'ZWOLLE.EU.003', 'ZWOLLE.EU.003', 'ZWOLLE-001', 40, 30, LOCALTIMESTAMP, null, 0),
+    (4, 'TILB.EU.004', 'TILB.EU.004', 'TILBURG-001', 40, 25, LOCALTIMESTAMP, null, 0),
+    (5, 'UTRE.EU.005', 'UTRE.EU.005', 'EINDHOVEN-001', 45, 30, LOCALTIMESTAMP, null, 0)
+ON CONFLICT DO NOTHING;
+
+-- Warehouses as fulfillment units for products in specific stores, within the constraints:
+-- 1. Each Product can be fulfilled by max 2 different Warehouses per Store
+-- 2. Each Store can be fulfilled by max 3 different Warehouses
+-- 3. Each Warehouse can store max 5 types of Products
+INSERT INTO warehouse_product_store(id, warehouseBusinessUnitCode, productId, storeId, createdAt)
+VALUES
+    -- Store 1 (TONSTAD) is fulfilled by warehouses 1, 2, 3
+    (1, 'AMST.EU.001', 1, 1, LOCALTIMESTAMP),
+    (2, 'AMST.EU.001', 2, 1, LOCALTIMESTAMP),
+    (3, 'AMST.EU.001', 4, 1, LOCALTIMESTAMP),
+    (4, 'ROTT.EU.002', 1, 1, LOCALTIMESTAMP),
+    (5, 'ROTT.EU.002', 3, 1, LOCALTIMESTAMP),
+    (6, 'ZWOLLE.EU.003', 5, 1, LOCALTIMESTAMP),
+    -- Store 2 (KALLAX) is fulfilled by warehouses 2, 4
+    (7, 'ROTT.EU.002', 2, 2, LOCALTIMESTAMP),
+    (8, 'ROTT.EU.002', 4, 2, LOCALTIMESTAMP),
+    (9, 'ROTT.EU.002', 6, 2, LOCALTIMESTAMP),
+    (10, 'TILB.EU.004', 1, 2, LOCALTIMESTAMP),
+    (11, 'TILB.EU.004', 3, 2, LOCALTIMESTAMP),
+    -- Store 3 (BESTÅ) is fulfilled by warehouses 3, 5
+    (12, 'ZWOLLE.EU.003', 3, 3, LOCALTIMESTAMP),
+    (13, 'ZWOLLE.EU.003', 5, 3, LOCALTIMESTAMP),
+    (14, 'ZWOLLE.EU.003', 6, 3, LOCALTIMESTAMP),
+    (15, 'UTRE.EU.005', 2, 3, LOCALTIMESTAMP),
+    -- Store 4 (EKTORP) is fulfilled by warehouses 1, 4
+    (16, 'AMST.EU.001', 4, 4, LOCALTIMESTAMP),
+    (17, 'AMST.EU.001', 6, 4, LOCALTIMESTAMP),
+    (18, 'TILB.EU.004', 5, 4, LOCALTIMESTAMP),
+    (19, 'TILB.EU.004', 1, 4, LOCALTIMESTAMP),
+    -- Store 5 (MALM) is fulfilled by warehouses 2, 3, 5
+    (20, 'ROTT.EU.002', 5, 5, LOCALTIMESTAMP),
+    (21, 'ROTT.EU.002', 2, 5, LOCALTIMESTAMP),
+    (22, 'ZWOLLE.EU.003', 1, 5, LOCALTIMESTAMP),
+    (23, 'ZWOLLE.EU.003', 4, 5, LOCALTIMESTAMP),
+    (24, 'UTRE.EU.005', 6, 5, LOCALTIMESTAMP),
+    (25, 'UTRE.EU.005', 3, 5, LOCALTIMESTAMP)
+ON CONFLICT DO NOTHING;
+
+-- Move the id sequences past the explicit ids above, but never back: on a database that has
+-- been in use the sequence may already be ahead of max(id), and moving it back would hand out ids
+-- again that are taken or were given to a running instance. Hibernate reads a sequence value as
+-- the first id of its next block (pooled-lo), so every id it hands out from here is unused.
+SELECT setval('store_seq',
+    GREATEST((SELECT MAX(id) FROM store), (SELECT last_value FROM store_seq)));
+SELECT setval('product_seq',
+    GREATEST((SELECT MAX(id) FROM product), (SELECT last_value FROM product_seq)));
+SELECT setval('warehouse_seq',
+    GREATEST((SELECT MAX(id) FROM warehouse), (SELECT last_value FROM warehouse_seq)));
+SELECT setval('warehouse_product_store_seq',
+    GREATEST((SELECT MAX(id) FROM warehouse_product_store),
+        (SELECT last_value FROM warehouse_product_store_seq)));
@@ -0,0 +1,95 @@
+-- =====================================================================
+-- SCHEMA
+-- =====================================================================
+-- Tables, indexes and id sequences as mapped by the JPA entities. Hibernate no longer creates
+-- or diffs the schema at startup; every change to an entity mapping needs a new V<n>__*.sql
+-- migration next to this one.
+--
+-- Sequences step by 50 to match Hibernate's default id allocation size.
+
+CREATE SEQUENCE store_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE warehouse_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE warehouse_product_store_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE store_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE store (
+    id bigint NOT NULL,
+    name varchar(40),
+    quantityProductsInStock integer NOT NULL,
+    CONSTRAINT pk_store PRIMARY KEY (id),
+    CONSTRAINT uk_store_name UNIQUE (name)
+);
+
+CREATE TABLE product (
+    id bigint NOT NULL,
+    name varchar(40),
+    description varchar(255),
+    price numeric(10, 2),
+    stock integer NOT NULL,
+    CONSTRAINT pk_product PRIMARY KEY (id),
+    CONSTRAINT uk_product_name UNIQUE (name)
+);
+
+CREATE TABLE warehouse (
+    id bigint NOT NULL,
+    businessUnitCode varchar(255),
+    -- Mirrors businessUnitCode while the warehouse is active and is null once archived
+    activeBusinessUnitCode varchar(255),
+    location varchar(255),
+    capacity integer,
+    stock integer,
+    createdAt timestamp(6),
+    archivedAt timestamp(6),
+    version bigint,
+    CONSTRAINT pk_warehouse PRIMARY KEY (id),
+    CONSTRAINT uk_warehouse_active_business_unit_code UNIQUE (activeBusinessUnitCode)
+);
+
+CREATE INDEX idx_warehouse_location_archived ON warehouse (location, archivedAt);
+CREATE INDEX idx_warehouse_business_unit_code_created ON warehouse (businessUnitCode, createdAt);
+
+CREATE TABLE location_quota (
+    location varchar(255) NOT NULL,
+    activeWarehouses bigint NOT NULL,
+    totalCapacity bigint NOT NULL,
+    CONSTRAINT pk_location_quota PRIMARY KEY (location)
+);
+
+CREATE TABLE warehouse_product_store (
+    id bigint NOT NULL,
+    productId bigint,
+    storeId bigint,
+    warehouseBusinessUnitCode varchar(255),
+    createdAt timestamp(6),
+    CONSTRAINT pk_warehouse_product_store PRIMARY KEY (id),
+    CONSTRAINT uk_warehouse_product_store
+        UNIQUE (productId, storeId, warehouseBusinessUnitCode)
+);
+
+CREATE INDEX idx_wps_store_warehouse
+    ON warehouse_product_store (storeId, warehouseBusinessUnitCode);
+CREATE INDEX idx_wps_warehouse ON warehouse_product_store (warehouseBusinessUnitCode);
+
+CREATE TABLE store_outbox (
+    id bigint NOT NULL,
+    type varchar(20) NOT NULL,
+    storeId bigint,
+    storeName varchar(40),
+    quantityProductsInStock integer NOT NULL,
+    createdAt timestamp(6),
+    nextAttemptAt timestamp(6),
+    attempts integer NOT NULL,
+    lastError varchar(500),
+    CONSTRAINT pk_store_outbox PRIMARY KEY (id),
+    CONSTRAINT ck_store_outbox_type CHECK (type IN ('STORE_CREATED', 'STORE_UPDATED'))
+);
+
+CREATE INDEX idx_store_outbox_next_attempt ON store_outbox (nextAttemptAt, id);
+
+CREATE TABLE resource_version (
+    resource varchar(40) NOT NULL,
+    version bigint NOT NULL,
+    modifiedAt timestamp(6),
+    CONSTRAINT pk_resource_version PRIMARY KEY (resource)
+);
@@ -0,0 +1,8 @@
+-- =====================================================================
+-- DEMO DATA (MOVED)
+-- =====================================================================
+-- Version 2 used to insert the demo data, which now lives in db/demo/R__demo_data.sql and is
+-- applied in dev only. This placeholder keeps version 2 resolvable, so databases that applied
+-- it do not fail validation on a missing migration.
+-- Databases that applied the old script see a checksum mismatch: run flyway repair once.
+SELECT 1;
@@ -0,0 +1,11 @@
+-- =====================================================================
+-- POOLED-LO ID SEQUENCES
+-- =====================================================================
+-- Hibernate now reads a sequence value as the first id of its block (pooled-lo) instead of the
+-- last (pooled), and takes 500 association ids per call. Each sequence must step by the
+-- allocationSize of its entity.
+--
+-- Stop every instance before applying this: one still using pooled would hand out ids below the
+-- sequence value that a pooled-lo instance hands out above it.
+
+ALTER SEQUENCE warehouse_product_store_seq INCREMENT BY 500;
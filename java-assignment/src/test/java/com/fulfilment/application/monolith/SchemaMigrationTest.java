@@ -0,0 +1,27 @@
+package com.fulfilment.application.monolith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.Arrays;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SchemaMigrationTest {
+
+  @Inject Flyway flyway;
+
+  @Test
+  void schema_is_built_by_the_versioned_migrations_alone() {
+    // Hibernate validated the entities against this schema at startup
+    var applied = Arrays.stream(flyway.info().applied()).map(MigrationInfo::getScript).toList();
+
+    assertEquals(
+        List.of("V1__schema.sql", "V2__demo_data.sql", "V3__pooled_lo_sequences.sql"), applied);
+    assertEquals(0, flyway.info().pending().length);
+  }
+}
@@ -0,0 +1,134 @@
+package com.fulfilment.application.monolith.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ChangeBusTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private TransactionSynchronizationRegistry transactions;
+
+  private ChangeBus bus;
+
+  @BeforeEach
+  void setUp() {
+    transactions = mock(TransactionSynchronizationRegistry.class);
+    when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+    bus = new ChangeBus(4, 2, new ObjectMapper(), transactions);
+  }
+
+  @Test
+  void delivers_changes_published_after_subscribing() {
+    AssertSubscriber<ChangeEvent> subscriber = subscribe(null, null, 10);
+
+    bus.publish("warehouse.created", "MWH.1", Map.of("location", "AMSTERDAM-001"));
+
+    ChangeEvent event = subscriber.awaitItems(1, TIMEOUT).getItems().get(0);
+    assertEquals("warehouse.created", event.type());
+    assertEquals(
+        "{\"type\":\"warehouse.created\",\"key\":\"MWH.1\",\"location\":\"AMSTERDAM-001\"}",
+        event.json());
+  }
+
+  @Test
+  void resumes_after_last_event_id() {
+    bus.publish("warehouse.created", "MWH.1", Map.of());
+    AssertSubscriber<ChangeEvent> first = subscribe(null, null, 10);
+    bus.publish("warehouse.created", "MWH.2", Map.of());
+    bus.publish("warehouse.archived", "MWH.2", Map.of());
+    String seen = bus.eventId(first.awaitItems(2, TIMEOUT).getItems().get(0));
+    first.cancel();
+
+    List<ChangeEvent> replayed = subscribe(seen, null, 10).awaitItems(1, TIMEOUT).getItems();
+
+    assertEquals(List.of("warehouse.archived"), replayed.stream().map(ChangeEvent::type).toList());
+  }
+
+  @Test
+  void unknown_last_event_id_starts_with_reset() {
+    bus.publish("warehouse.created", "MWH.1", Map.of());
+
+    List<ChangeEvent> events = subscribe("0.0", null, 10).awaitItems(1, TIMEOUT).getItems();
+
+    assertEquals(ChangeEvent.RESET, events.get(0).type());
+  }
+
+  @Test
+  void subscriber_a_whole_ring_behind_is_reset() {
+    AssertSubscriber<ChangeEvent> slow = subscribe(null, null, 0);
+    for (int i = 0; i < 6; i++) {
+      bus.publish("association.created", "MWH.1", Map.of("productId", i));
+    }
+    bus.publish("association.removed", "MWH.1", Map.of());
+
+    slow.request(2);
+    bus.publish("warehouse.created", "MWH.9", Map.of());
+
+    List<ChangeEvent> events = slow.awaitItems(2, TIMEOUT).getItems();
+    assertEquals(ChangeEvent.RESET, events.get(0).type());
+    assertEquals("warehouse.created", events.get(1).type());
+  }
+
+  @Test
+  void filters_by_topic() {
+    AssertSubscriber<ChangeEvent> subscriber = subscribe(null, "association", 10);
+
+    bus.publish("warehouse.created", "MWH.1", Map.of());
+    bus.publish("association.removed", "MWH.1", Map.of());
+
+    assertEquals(
+        "association.removed", subscriber.awaitItems(1, TIMEOUT).getItems().get(0).type());
+  }
+
+  @Test
+  void publishes_only_once_the_transaction_commits() {
+    when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+    AssertSubscriber<ChangeEvent> subscriber = subscribe(null, null, 10);
+
+    bus.publish("warehouse.created", "MWH.1", Map.of());
+    bus.publish("warehouse.created", "MWH.2", Map.of());
+
+    ArgumentCaptor<Synchronization> synchronizations =
+        ArgumentCaptor.forClass(Synchronization.class);
+    verify(transactions, times(2))
+        .registerInterposedSynchronization(synchronizations.capture());
+    synchronizations.getAllValues().get(0).afterCompletion(Status.STATUS_ROLLEDBACK);
+    synchronizations.getAllValues().get(1).afterCompletion(Status.STATUS_COMMITTED);
+
+    ChangeEvent event = subscriber.awaitItems(1, TIMEOUT).getItems().get(0);
+    assertEquals(0, event.offset());
+    assertEquals("{\"type\":\"warehouse.created\",\"key\":\"MWH.2\"}", event.json());
+  }
+
+  @Test
+  void refuses_subscribers_beyond_the_limit() {
+    subscribe(null, null, 1);
+    subscribe(null, null, 1);
+
+    assertNull(bus.subscribe(null, null));
+  }
+
+  private AssertSubscriber<ChangeEvent> subscribe(String lastEventId, String topic, long request) {
+    var changes = bus.subscribe(lastEventId, topic);
+    assertNotNull(changes);
+    return changes.subscribe().withSubscriber(AssertSubscriber.create(request));
+  }
+}
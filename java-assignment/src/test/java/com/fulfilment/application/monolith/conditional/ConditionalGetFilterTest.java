@@ -0,0 +1,220 @@
+package com.fulfilment.application.monolith.conditional;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.replica.ReadRoute;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.UriInfo;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ConditionalGetFilterTest {
+
+  @Inject ResourceVersions resourceVersions;
+
+  @Test
+  void unchanged_collection_is_answered_304() {
+    String etag =
+        given().when().get("/store").then().statusCode(200).extract().header("ETag");
+
+    given()
+        .header("If-None-Match", etag)
+        .when()
+        .get("/store")
+        .then()
+        .statusCode(304)
+        .header("ETag", equalTo(etag))
+        .header("Vary", equalTo("Accept"));
+  }
+
+  @Test
+  void representations_sharing_the_tag_vary_on_accept() {
+    given()
+        .accept("application/x-ndjson")
+        .when()
+        .get("/warehouse/stream")
+        .then()
+        .statusCode(200)
+        .header("ETag", notNullValue())
+        .header("Vary", equalTo("Accept"));
+  }
+
+  @Test
+  void change_invalidates_the_tag() {
+    String etag =
+        given().when().get("/product").then().statusCode(200).extract().header("ETag");
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\":\"ETAG-" + System.nanoTime() + "\",\"stock\":1}")
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201);
+
+    String newEtag =
+        given()
+            .header("If-None-Match", etag)
+            .when()
+            .get("/product")
+            .then()
+            .statusCode(200)
+            .extract()
+            .header("ETag");
+    assertNotEquals(etag, newEtag);
+  }
+
+  @Test
+  void a_change_is_counted_once_after_its_transaction_commits() {
+    long before = productVersion();
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              resourceVersions.changed(ResourceVersions.PRODUCT);
+              resourceVersions.changed(ResourceVersions.PRODUCT);
+              // The counter row is left alone until commit
+              assertEquals(
+                  before, resourceVersions.current(ResourceVersions.PRODUCT).version());
+            });
+    assertEquals(before + 1, productVersion());
+    assertEquals(
+        before + 1,
+        QuarkusTransaction.requiringNew()
+            .call(() -> resourceVersions.recent(ResourceVersions.PRODUCT).version()));
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              resourceVersions.changed(ResourceVersions.PRODUCT);
+              QuarkusTransaction.setRollbackOnly();
+            });
+    assertEquals(before + 1, productVersion());
+  }
+
+  @Test
+  void query_variants_share_the_resource_tag() {
+    String etag =
+        given().when().get("/warehouse").then().statusCode(200).extract().header("ETag");
+
+    given()
+        .header("If-None-Match", etag)
+        .when()
+        .get("/warehouse?limit=10")
+        .then()
+        .statusCode(304);
+  }
+
+  @Test
+  void if_modified_since_is_honoured() {
+    String lastModified =
+        given()
+            .when()
+            .get("/store")
+            .then()
+            .statusCode(200)
+            .header("Last-Modified", notNullValue())
+            .extract()
+            .header("Last-Modified");
+
+    given().header("If-Modified-Since", lastModified).when().get("/store").then().statusCode(304);
+  }
+
+  @Test
+  void other_paths_carry_no_tag() {
+    given().when().get("/location/ZWOLLE-001").then().statusCode(200).header("ETag", nullValue());
+  }
+
+  @Test
+  void maps_paths_to_resources() {
+    assertEquals("store", ConditionalGetFilter.resourceOf("/store"));
+    assertEquals("warehouse", ConditionalGetFilter.resourceOf("/warehouse/12/history"));
+    assertEquals("product", ConditionalGetFilter.resourceOf("product/3"));
+    assertNull(ConditionalGetFilter.resourceOf("/reactive/warehouse"));
+    assertNull(ConditionalGetFilter.resourceOf("/storefront"));
+  }
+
+  @Test
+  void if_none_match_uses_weak_comparison_and_takes_precedence() {
+    ZonedDateTime lastModified = ZonedDateTime.of(2024, 5, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+    String later = DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.plusHours(1));
+    String tag = "W/\"store-4-18f\"";
+
+    assertTrue(ConditionalGetFilter.notModified("\"store-4-18f\"", null, tag, lastModified));
+    assertTrue(ConditionalGetFilter.notModified("W/\"x\", " + tag, null, tag, lastModified));
+    assertTrue(ConditionalGetFilter.notModified("*", null, tag, lastModified));
+    assertFalse(ConditionalGetFilter.notModified("W/\"store-3-18f\"", later, tag, lastModified));
+    assertTrue(ConditionalGetFilter.notModified(null, later, tag, lastModified));
+    assertFalse(ConditionalGetFilter.notModified(null, "yesterday", tag, lastModified));
+  }
+
+  @Test
+  void replica_reads_are_tagged_with_the_replica_version() {
+    var filter = new ConditionalGetFilter();
+    filter.resourceVersions = mock(ResourceVersions.class);
+    filter.route = mock(ReadRoute.class);
+    var replicaVersion = new ResourceVersion(4, LocalDateTime.of(2024, 5, 1, 10, 0));
+    // Counted on the primary and cached, not yet on the replica
+    var primaryVersion = new ResourceVersion(5, LocalDateTime.of(2024, 5, 1, 10, 5));
+    when(filter.route.replica()).thenReturn(true);
+    when(filter.resourceVersions.current("store")).thenReturn(replicaVersion);
+    when(filter.resourceVersions.recent("store")).thenReturn(primaryVersion);
+    var request = storeRequest(primaryVersion.etag("store"));
+
+    // A client holding the primary's tag gets the replica's body, not a 304
+    assertNull(filter.onRequest(request));
+    verify(request).setProperty(anyString(), eq(replicaVersion));
+    verify(filter.resourceVersions, never()).recent("store");
+  }
+
+  @Test
+  void replica_reads_match_tags_of_the_replica_version() {
+    var filter = new ConditionalGetFilter();
+    filter.resourceVersions = mock(ResourceVersions.class);
+    filter.route = mock(ReadRoute.class);
+    var replicaVersion = new ResourceVersion(4, LocalDateTime.of(2024, 5, 1, 10, 0));
+    when(filter.route.replica()).thenReturn(true);
+    when(filter.resourceVersions.current("store")).thenReturn(replicaVersion);
+
+    var response = filter.onRequest(storeRequest(replicaVersion.etag("store")));
+
+    assertEquals(304, response.getStatus());
+  }
+
+  private static ContainerRequestContext storeRequest(String ifNoneMatch) {
+    var request = mock(ContainerRequestContext.class);
+    var uriInfo = mock(UriInfo.class);
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getUriInfo()).thenReturn(uriInfo);
+    when(uriInfo.getPath()).thenReturn("/store");
+    when(request.getHeaderString(HttpHeaders.IF_NONE_MATCH)).thenReturn(ifNoneMatch);
+    return request;
+  }
+
+  private long productVersion() {
+    return QuarkusTransaction.requiringNew()
+        .call(() -> resourceVersions.current(ResourceVersions.PRODUCT).version());
+  }
+}
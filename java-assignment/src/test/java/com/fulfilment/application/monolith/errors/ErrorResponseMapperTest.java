@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.errors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ErrorResponseMapperTest {
+
+  private ErrorResponseMapper mapper;
+
+  @BeforeEach
+  void setUp() {
+    mapper = new ErrorResponseMapper();
+  }
+
+  @Test
+  void web_application_exception_keeps_its_status_and_message() throws Exception {
+    Response response = mapper.toResponse(new WebApplicationException("store not found", 404));
+
+    assertEquals(404, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+    JsonNode body = body(response);
+    assertEquals(WebApplicationException.class.getName(), body.get("exceptionType").asText());
+    assertEquals(404, body.get("code").asInt());
+    assertEquals("store not found", body.get("error").asText());
+  }
+
+  @Test
+  void domain_exception_maps_to_its_own_status() throws Exception {
+    Response response = mapper.toResponse(new ConflictException("Business Unit Code 'BU-1'"));
+
+    assertEquals(409, response.getStatus());
+    JsonNode body = body(response);
+    assertEquals(ConflictException.class.getName(), body.get("exceptionType").asText());
+    assertEquals(409, body.get("code").asInt());
+    assertEquals("Business Unit Code 'BU-1'", body.get("error").asText());
+  }
+
+  @Test
+  void unexpected_exception_maps_to_500() throws Exception {
+    Response response = mapper.toResponse(new IllegalStateException("boom"));
+
+    assertEquals(500, response.getStatus());
+    JsonNode body = body(response);
+    assertEquals(500, body.get("code").asInt());
+    assertEquals("boom", body.get("error").asText());
+  }
+
+  @Test
+  void null_message_omits_error_field() throws Exception {
+    JsonNode body = body(mapper.toResponse(new RuntimeException((String) null)));
+
+    assertEquals(500, body.get("code").asInt());
+    assertFalse(body.has("error"));
+  }
+
+  @Test
+  void message_is_escaped() throws Exception {
+    String message = "quote \" backslash \\ newline \n tab \t";
+
+    JsonNode body = body(mapper.toResponse(new InvalidRequestException(message)));
+
+    assertEquals(message, body.get("error").asText());
+  }
+
+  @Test
+  void constant_exception_body_is_written_once() {
+    InvalidRequestException constant = InvalidRequestException.constant("Name is required");
+
+    byte[] first = (byte[]) mapper.toResponse(constant).getEntity();
+    byte[] second = (byte[]) mapper.toResponse(constant).getEntity();
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void non_constant_exception_body_is_written_per_response() {
+    InvalidRequestException exception = new InvalidRequestException("Invalid store ID: -1");
+
+    byte[] first = (byte[]) mapper.toResponse(exception).getEntity();
+    byte[] second = (byte[]) mapper.toResponse(exception).getEntity();
+
+    assertNotSame(first, second);
+  }
+
+  @Test
+  void domain_exceptions_carry_no_stack_trace() {
+    assertEquals(0, new ResourceNotFoundException("missing").getStackTrace().length);
+    assertEquals(0, UnprocessableEntityException.constant("invalid").getStackTrace().length);
+  }
+
+  private static JsonNode body(Response response) throws Exception {
+    return new ObjectMapper().readTree((byte[]) response.getEntity());
+  }
+}
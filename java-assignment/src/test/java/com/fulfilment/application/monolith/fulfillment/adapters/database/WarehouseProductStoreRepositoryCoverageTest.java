@@ -1,14 +1,24 @@
 package com.fulfilment.application.monolith.fulfillment.adapters.database;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -17,12 +27,37 @@ class WarehouseProductStoreRepositoryCoverageTest {
 
   @Inject WarehouseProductStoreRepository repository;
 
+  @Inject AgroalDataSource dataSource;
+
   @BeforeEach
   @Transactional
   void clean() {
     repository.deleteAll();
   }
 
+  @Test
+  void checks_see_associations_written_by_another_instance() throws Exception {
+    // Asked once first, so a cached answer would still be around for the second round
+    assertFalse(
+        inTransaction(() -> repository.countConstraints(1L, 70L, "WH-E")).associationExists);
+    assertNull(inTransaction(() -> repository.findAssociation(1L, 70L, "WH-E")));
+
+    // Written past Hibernate, as another instance's write is, so no cached result is invalidated
+    execute(
+        "insert into warehouse_product_store"
+            + " (id, productId, storeId, warehouseBusinessUnitCode, createdAt)"
+            + " values (9000001, 1, 70, 'WH-E', current_timestamp)");
+    try {
+      AssociationConstraintCounts counts =
+          inTransaction(() -> repository.countConstraints(1L, 70L, "WH-E"));
+      assertTrue(counts.associationExists);
+      assertEquals(1, counts.warehousesForStore);
+      assertNotNull(inTransaction(() -> repository.findAssociation(1L, 70L, "WH-E")));
+    } finally {
+      execute("delete from warehouse_product_store where id = 9000001");
+    }
+  }
+
   @Test
   @Transactional
   void create_and_find_association() {
@@ -73,6 +108,74 @@ class WarehouseProductStoreRepositoryCoverageTest {
     assertEquals(2, result.size());
   }
 
+  @Test
+  @Transactional
+  void count_constraints_are_scoped_to_store() {
+    repository.create(new WarehouseProductStore(1L, 40L, "WH-C1"));
+    repository.create(new WarehouseProductStore(1L, 40L, "WH-C2"));
+    repository.create(new WarehouseProductStore(2L, 40L, "WH-C1"));
+    repository.create(new WarehouseProductStore(3L, 40L, "WH-C3"));
+    repository.create(new WarehouseProductStore(4L, 41L, "WH-C1"));
+
+    AssociationConstraintCounts counts = repository.countConstraints(1L, 40L, "WH-C1");
+
+    assertTrue(counts.associationExists);
+    assertEquals(2, counts.warehousesForProductInStore);
+    assertEquals(3, counts.warehousesForStore);
+    assertEquals(2, counts.productsForWarehouseInStore);
+    assertTrue(counts.warehouseAlreadyInStore());
+  }
+
+  @Test
+  @Transactional
+  void count_constraints_for_empty_store() {
+    AssociationConstraintCounts counts = repository.countConstraints(1L, 99L, "WH-NONE");
+
+    assertFalse(counts.associationExists);
+    assertEquals(0, counts.warehousesForProductInStore);
+    assertEquals(0, counts.warehousesForStore);
+    assertEquals(0, counts.productsForWarehouseInStore);
+    assertFalse(counts.warehouseAlreadyInStore());
+  }
+
+  @Test
+  @Transactional
+  void find_by_stores() {
+    repository.create(new WarehouseProductStore(1L, 50L, "WH-S1"));
+    repository.create(new WarehouseProductStore(2L, 51L, "WH-S2"));
+    repository.create(new WarehouseProductStore(3L, 52L, "WH-S3"));
+
+    assertEquals(2, repository.findByStores(List.of(50L, 51L)).size());
+    assertTrue(repository.findByStores(List.of()).isEmpty());
+  }
+
+  @Test
+  @Transactional
+  void find_by_stores_spans_several_queries() {
+    repository.create(new WarehouseProductStore(1L, 1L, "WH-S1"));
+    repository.create(new WarehouseProductStore(2L, 2_500L, "WH-S2"));
+    List<Long> storeIds = new ArrayList<>();
+    for (long id = 1; id <= WarehouseProductStoreRepository.STORE_IDS_PER_QUERY * 2 + 500; id++) {
+      storeIds.add(id);
+    }
+
+    assertEquals(2, repository.findByStores(storeIds).size());
+  }
+
+  @Test
+  @Transactional
+  void create_all_persists_more_than_one_batch() {
+    List<WarehouseProductStore> associations = new ArrayList<>();
+    for (long i = 0; i < WarehouseProductStoreRepository.BATCH_SIZE * 2 + 7; i++) {
+      associations.add(new WarehouseProductStore(i, 60L + i % 3, "WH-B" + i % 3));
+    }
+
+    repository.createAll(associations);
+
+    assertEquals(associations.size(), repository.count());
+    assertNotNull(repository.findAssociation(0L, 60L, "WH-B0"));
+  }
+
   @Test
   @Transactional
   void remove_association() {
@@ -94,4 +197,15 @@ class WarehouseProductStoreRepositoryCoverageTest {
     assertEquals("WH-CTOR", model.warehouseBusinessUnitCode);
     assertNotNull(model.createdAt);
   }
+
+  private void execute(String sql) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate(sql);
+    }
+  }
+
+  private static <T> T inTransaction(Callable<T> work) {
+    return QuarkusTransaction.requiringNew().call(work);
+  }
 }
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fulfilment.application.monolith.fulfillment.adapters.database.DbWarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.adapters.database.WarehouseProductStoreRepository;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationResult;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.domain.usecases.AssociateWarehouseToProductStoreUseCase;
 import io.quarkus.test.InjectMock;
@@ -213,6 +214,98 @@ public class FulfillmentResourceCoverageTest {
     verify(associateUseCase, never()).associate(anyLong(), anyLong(), anyString());
   }
 
+  // ========== BULK ASSOCIATE TESTS ==========
+
+  @Test
+  @DisplayName("Should return a per-row report for a JSON array bulk request")
+  public void testAssociateAllJsonArray() {
+    when(associateUseCase.associateAll(anyList()))
+        .thenReturn(List.of(
+            new AssociationResult(0, 201, "Association created successfully"),
+            new AssociationResult(1, 409, "Association already exists")));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body("[{\"productId\":1,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"},"
+            + "{\"productId\":1,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}]")
+        .when()
+        .post(BASE_URL + "/bulk")
+        .then()
+        .statusCode(200)
+        .body("created", equalTo(1))
+        .body("rejected", equalTo(1))
+        .body("results[1].status", equalTo(409))
+        .body("results[1].index", equalTo(1));
+
+    verify(associateUseCase).associateAll(argThat(list -> list.size() == 2));
+  }
+
+  @Test
+  @DisplayName("Should accept NDJSON bulk requests and skip blank lines")
+  public void testAssociateAllNdjson() {
+    when(associateUseCase.associateAll(anyList()))
+        .thenReturn(List.of(
+            new AssociationResult(0, 201, "Association created successfully"),
+            new AssociationResult(1, 201, "Association created successfully")));
+
+    given()
+        .contentType("application/x-ndjson")
+        .body("{\"productId\":1,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}\n\n"
+            + "{\"productId\":2,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}\n")
+        .when()
+        .post(BASE_URL + "/bulk")
+        .then()
+        .statusCode(200)
+        .body("created", equalTo(2))
+        .body("rejected", equalTo(0));
+
+    verify(associateUseCase).associateAll(argThat(list ->
+        list.size() == 2 && list.get(1).productId == 2L));
+  }
+
+  @Test
+  @DisplayName("Should commit NDJSON imports chunk by chunk and index results by line")
+  public void testAssociateAllNdjsonInChunks() {
+    when(associateUseCase.associateAll(anyList()))
+        .thenReturn(List.of(
+            new AssociationResult(0, 201, "Association created successfully"),
+            new AssociationResult(1, 201, "Association created successfully")))
+        .thenReturn(List.of(new AssociationResult(0, 409, "Association already exists")));
+
+    given()
+        .contentType("application/x-ndjson")
+        .body("{\"productId\":1,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}\n"
+            + "{\"productId\":2,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}\n"
+            + "{\"productId\":1,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}\n")
+        .when()
+        .post(BASE_URL + "/bulk")
+        .then()
+        .statusCode(200)
+        .body("created", equalTo(2))
+        .body("rejected", equalTo(1))
+        .body("results[2].index", equalTo(2))
+        .body("results[2].status", equalTo(409));
+
+    // fulfillment.bulk.chunk-size is 2 in the test profile
+    verify(associateUseCase).associateAll(argThat(list -> list != null && list.size() == 2));
+    verify(associateUseCase).associateAll(argThat(list -> list != null && list.size() == 1));
+  }
+
+  @Test
+  @DisplayName("Should reject malformed NDJSON with the offending line number")
+  public void testAssociateAllMalformedNdjson() {
+    given()
+        .contentType("application/x-ndjson")
+        .body("{\"productId\":1,\"storeId\":2,\"warehouseBusinessUnitCode\":\"WH-1\"}\n{oops\n")
+        .when()
+        .post(BASE_URL + "/bulk")
+        .then()
+        .statusCode(400)
+        .body("error", containsString("line 2"));
+
+    verify(associateUseCase, never()).associateAll(anyList());
+  }
+
   // ========== GET WAREHOUSES FOR PRODUCT AND STORE TESTS ==========
 
   @Test
@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.fulfillment.adapters.restapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.fulfillment.adapters.restapi.FulfillmentResource.WarehouseProductStoreDto;
+import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
+import com.fulfilment.application.monolith.fulfillment.domain.ports.ReactiveWarehouseProductStoreStore;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReactiveFulfillmentResourceTest {
+
+  private ReactiveFulfillmentResource resource;
+  private ReactiveWarehouseProductStoreStore associationStore;
+
+  @BeforeEach
+  void setUp() {
+    associationStore = mock(ReactiveWarehouseProductStoreStore.class);
+    resource = new ReactiveFulfillmentResource();
+    resource.associationStore = associationStore;
+  }
+
+  @Test
+  void lookups_emit_associations_from_the_reactive_store() {
+    var association = new WarehouseProductStore(1L, 2L, "MWH.001");
+    association.id = 7L;
+    when(associationStore.findByProductAndStore(1L, 2L))
+        .thenReturn(Uni.createFrom().item(List.of(association)));
+    when(associationStore.findByStore(2L)).thenReturn(Uni.createFrom().item(List.of(association)));
+    when(associationStore.findByWarehouse("MWH.001"))
+        .thenReturn(Uni.createFrom().item(List.of()));
+
+    assertDto(association, resource.getWarehousesForProductStore(1L, 2L).await().indefinitely());
+    assertDto(association, resource.getWarehousesForStore(2L).await().indefinitely());
+    assertEquals(0, resource.getProductsForWarehouse("MWH.001").await().indefinitely().size());
+  }
+
+  // Same shape as the blocking /fulfillment/warehouse-product-store reads, id included
+  private static void assertDto(
+      WarehouseProductStore expected, List<WarehouseProductStoreDto> actual) {
+    assertEquals(1, actual.size());
+    var dto = actual.get(0);
+    assertEquals(expected.id, dto.id);
+    assertEquals(expected.productId, dto.productId);
+    assertEquals(expected.storeId, dto.storeId);
+    assertEquals(expected.warehouseBusinessUnitCode, dto.warehouseBusinessUnitCode);
+    assertEquals(expected.createdAt, dto.createdAt);
+  }
+}
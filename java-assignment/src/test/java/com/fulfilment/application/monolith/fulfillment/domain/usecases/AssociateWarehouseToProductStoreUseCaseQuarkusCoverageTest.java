@@ -8,13 +8,13 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.domain.ports.WarehouseProductStoreStore;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.WebApplicationException;
-import java.util.List;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -26,10 +26,8 @@ public class AssociateWarehouseToProductStoreUseCaseQuarkusCoverageTest {
 
   @Test
   void associate_success() {
-    when(warehouseProductStoreStore.findAssociation(1L, 1L, "WH-1")).thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(1L, 1L)).thenReturn(List.of());
-    when(warehouseProductStoreStore.findByStore(1L)).thenReturn(List.of());
-    when(warehouseProductStoreStore.findByWarehouse("WH-1")).thenReturn(List.of());
+    when(warehouseProductStoreStore.countConstraints(1L, 1L, "WH-1"))
+        .thenReturn(new AssociationConstraintCounts(false, 0, 0, 0));
     doNothing().when(warehouseProductStoreStore).create(any(WarehouseProductStore.class));
 
     useCase.associate(1L, 1L, "WH-1");
@@ -39,64 +37,47 @@ public class AssociateWarehouseToProductStoreUseCaseQuarkusCoverageTest {
 
   @Test
   void associate_duplicate_conflict() {
-    when(warehouseProductStoreStore.findAssociation(1L, 1L, "WH-1"))
-        .thenReturn(new WarehouseProductStore(1L, 1L, "WH-1"));
+    when(warehouseProductStoreStore.countConstraints(1L, 1L, "WH-1"))
+        .thenReturn(new AssociationConstraintCounts(true, 1, 1, 1));
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.associate(1L, 1L, "WH-1"));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.associate(1L, 1L, "WH-1"));
 
-    assertEquals(409, ex.getResponse().getStatus());
+    assertEquals(409, ex.status());
     verify(warehouseProductStoreStore, never()).create(any());
   }
 
   @Test
   void associate_max_warehouses_per_product_store_conflict() {
-    when(warehouseProductStoreStore.findAssociation(1L, 1L, "WH-3")).thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(1L, 1L))
-        .thenReturn(List.of(
-            new WarehouseProductStore(1L, 1L, "WH-1"),
-            new WarehouseProductStore(1L, 1L, "WH-2")));
+    when(warehouseProductStoreStore.countConstraints(1L, 1L, "WH-3"))
+        .thenReturn(new AssociationConstraintCounts(false, 2, 2, 0));
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.associate(1L, 1L, "WH-3"));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.associate(1L, 1L, "WH-3"));
 
-    assertEquals(409, ex.getResponse().getStatus());
+    assertEquals(409, ex.status());
   }
 
   @Test
   void associate_max_warehouses_per_store_conflict_when_new_warehouse() {
-    when(warehouseProductStoreStore.findAssociation(10L, 1L, "WH-4")).thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(10L, 1L)).thenReturn(List.of());
-    when(warehouseProductStoreStore.findByStore(1L))
-        .thenReturn(List.of(
-            new WarehouseProductStore(1L, 1L, "WH-1"),
-            new WarehouseProductStore(2L, 1L, "WH-2"),
-            new WarehouseProductStore(3L, 1L, "WH-3")));
-
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.associate(10L, 1L, "WH-4"));
-
-    assertEquals(409, ex.getResponse().getStatus());
+    when(warehouseProductStoreStore.countConstraints(10L, 1L, "WH-4"))
+        .thenReturn(new AssociationConstraintCounts(false, 0, 3, 0));
+
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.associate(10L, 1L, "WH-4"));
+
+    assertEquals(409, ex.status());
   }
 
   @Test
   void associate_max_products_per_warehouse_conflict() {
-    when(warehouseProductStoreStore.findAssociation(6L, 1L, "WH-1")).thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(6L, 1L)).thenReturn(List.of());
-    when(warehouseProductStoreStore.findByStore(1L))
-        .thenReturn(List.of(new WarehouseProductStore(1L, 1L, "WH-1")));
-    when(warehouseProductStoreStore.findByWarehouse("WH-1"))
-        .thenReturn(List.of(
-            new WarehouseProductStore(1L, 1L, "WH-1"),
-            new WarehouseProductStore(2L, 1L, "WH-1"),
-            new WarehouseProductStore(3L, 1L, "WH-1"),
-            new WarehouseProductStore(4L, 1L, "WH-1"),
-            new WarehouseProductStore(5L, 1L, "WH-1")));
-
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.associate(6L, 1L, "WH-1"));
-
-    assertEquals(409, ex.getResponse().getStatus());
+    when(warehouseProductStoreStore.countConstraints(6L, 1L, "WH-1"))
+        .thenReturn(new AssociationConstraintCounts(false, 0, 1, 5));
+
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.associate(6L, 1L, "WH-1"));
+
+    assertEquals(409, ex.status());
   }
 
   @Test
@@ -114,9 +95,9 @@ public class AssociateWarehouseToProductStoreUseCaseQuarkusCoverageTest {
   void dissociate_not_found() {
     when(warehouseProductStoreStore.findAssociation(1L, 1L, "WH-1")).thenReturn(null);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.dissociate(1L, 1L, "WH-1"));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.dissociate(1L, 1L, "WH-1"));
 
-    assertEquals(404, ex.getResponse().getStatus());
+    assertEquals(404, ex.status());
   }
 }
@@ -1,15 +1,19 @@
 package com.fulfilment.application.monolith.fulfillment.domain.usecases;
 
+import com.fulfilment.application.monolith.changes.ChangePublisher;
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationResult;
 import com.fulfilment.application.monolith.fulfillment.domain.models.WarehouseProductStore;
 import com.fulfilment.application.monolith.fulfillment.domain.ports.WarehouseProductStoreStore;
-import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +30,23 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     useCase = new AssociateWarehouseToProductStoreUseCase(warehouseProductStoreStore);
   }
 
+  private void givenCounts(
+      Long productId,
+      Long storeId,
+      String warehouseCode,
+      boolean associationExists,
+      long warehousesForProductInStore,
+      long warehousesForStore,
+      long productsForWarehouseInStore) {
+    when(warehouseProductStoreStore.countConstraints(productId, storeId, warehouseCode))
+        .thenReturn(
+            new AssociationConstraintCounts(
+                associationExists,
+                warehousesForProductInStore,
+                warehousesForStore,
+                productsForWarehouseInStore));
+  }
+
   // ============== SUCCESSFUL ASSOCIATION TESTS ==============
 
   @Test
@@ -36,20 +57,32 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     Long storeId = 1L;
     String warehouseCode = "WH-001";
 
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(new ArrayList<>());
+    givenCounts(productId, storeId, warehouseCode, false, 0, 0, 0);
+
+    // When
+    useCase.associate(productId, storeId, warehouseCode);
+
+    // Then
+    verify(warehouseProductStoreStore).create(any(WarehouseProductStore.class));
+  }
+
+  @Test
+  @DisplayName("Should evaluate all constraints with a single store call")
+  void testAssociateUsesSingleConstraintQuery() {
+    // Given
+    Long productId = 1L;
+    Long storeId = 1L;
+    String warehouseCode = "WH-001";
+
+    givenCounts(productId, storeId, warehouseCode, false, 0, 0, 0);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
 
     // Then
+    verify(warehouseProductStoreStore).countConstraints(productId, storeId, warehouseCode);
     verify(warehouseProductStoreStore).create(any(WarehouseProductStore.class));
+    verifyNoMoreInteractions(warehouseProductStoreStore);
   }
 
   @Test
@@ -60,19 +93,8 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     Long storeId = 1L;
     String warehouseCode = "WH-001";
 
-    // Existing association with different product
-    WarehouseProductStore existing = new WarehouseProductStore(1L, storeId, warehouseCode);
-    List<WarehouseProductStore> existingForStore = new ArrayList<>();
-    existingForStore.add(existing);
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(existingForStore); // Warehouse already in store
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(existingForStore);
+    // Warehouse already serves the store with a different product
+    givenCounts(productId, storeId, warehouseCode, false, 0, 1, 1);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
@@ -91,16 +113,14 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     Long storeId = 1L;
     String warehouseCode = "WH-001";
 
-    WarehouseProductStore existingAssociation = new WarehouseProductStore(productId, storeId, warehouseCode);
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(existingAssociation);
+    givenCounts(productId, storeId, warehouseCode, true, 1, 1, 1);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.associate(productId, storeId, warehouseCode);
     });
 
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("Association already exists"));
     verify(warehouseProductStoreStore, never()).create(any());
   }
@@ -116,23 +136,14 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     String warehouseCode = "WH-003";
 
     // Product already has 2 warehouses for this store
-    WarehouseProductStore wh1 = new WarehouseProductStore(productId, storeId, "WH-001");
-    WarehouseProductStore wh2 = new WarehouseProductStore(productId, storeId, "WH-002");
-    List<WarehouseProductStore> existingAssociations = new ArrayList<>();
-    existingAssociations.add(wh1);
-    existingAssociations.add(wh2);
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(existingAssociations);
+    givenCounts(productId, storeId, warehouseCode, false, 2, 2, 0);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.associate(productId, storeId, warehouseCode);
     });
 
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("maximum (2) warehouses"));
     verify(warehouseProductStoreStore, never()).create(any());
   }
@@ -146,18 +157,7 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     String warehouseCode = "WH-002";
 
     // Product already has 1 warehouse for this store
-    WarehouseProductStore wh1 = new WarehouseProductStore(productId, storeId, "WH-001");
-    List<WarehouseProductStore> existingAssociations = new ArrayList<>();
-    existingAssociations.add(wh1);
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(existingAssociations);
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(existingAssociations);
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(new ArrayList<>());
+    givenCounts(productId, storeId, warehouseCode, false, 1, 1, 0);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
@@ -176,28 +176,15 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     Long storeId = 1L;
     String warehouseCode = "WH-004";
 
-    // Store already has 3 unique warehouses
-    WarehouseProductStore a1 = new WarehouseProductStore(1L, storeId, "WH-001");
-    WarehouseProductStore a2 = new WarehouseProductStore(2L, storeId, "WH-002");
-    WarehouseProductStore a3 = new WarehouseProductStore(3L, storeId, "WH-003");
-    List<WarehouseProductStore> storeAssociations = new ArrayList<>();
-    storeAssociations.add(a1);
-    storeAssociations.add(a2);
-    storeAssociations.add(a3);
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(storeAssociations);
+    // Store already has 3 unique warehouses, none of them WH-004
+    givenCounts(productId, storeId, warehouseCode, false, 0, 3, 0);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.associate(productId, storeId, warehouseCode);
     });
 
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("maximum (3) warehouses"));
     verify(warehouseProductStoreStore, never()).create(any());
   }
@@ -211,20 +198,25 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     String warehouseCode = "WH-003";
 
     // Store already has 2 unique warehouses
-    WarehouseProductStore a1 = new WarehouseProductStore(1L, storeId, "WH-001");
-    WarehouseProductStore a2 = new WarehouseProductStore(2L, storeId, "WH-002");
-    List<WarehouseProductStore> storeAssociations = new ArrayList<>();
-    storeAssociations.add(a1);
-    storeAssociations.add(a2);
+    givenCounts(productId, storeId, warehouseCode, false, 0, 2, 0);
 
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(storeAssociations);
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(new ArrayList<>());
+    // When
+    useCase.associate(productId, storeId, warehouseCode);
+
+    // Then
+    verify(warehouseProductStoreStore).create(any(WarehouseProductStore.class));
+  }
+
+  @Test
+  @DisplayName("Should allow another product for a warehouse already in a full store")
+  void testAssociateExistingWarehouseInFullStore() {
+    // Given
+    Long productId = 4L;
+    Long storeId = 1L;
+    String warehouseCode = "WH-001";
+
+    // Store has 3 unique warehouses, WH-001 among them
+    givenCounts(productId, storeId, warehouseCode, false, 0, 3, 1);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
@@ -244,26 +236,14 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     String warehouseCode = "WH-001";
 
     // Warehouse already has 5 products for this store
-    List<WarehouseProductStore> warehouseAssociations = new ArrayList<>();
-    for (int i = 1; i <= 5; i++) {
-      warehouseAssociations.add(new WarehouseProductStore((long) i, storeId, warehouseCode));
-    }
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(warehouseAssociations);
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(warehouseAssociations);
+    givenCounts(productId, storeId, warehouseCode, false, 0, 1, 5);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.associate(productId, storeId, warehouseCode);
     });
 
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("maximum (5) product types"));
     verify(warehouseProductStoreStore, never()).create(any());
   }
@@ -277,19 +257,7 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     String warehouseCode = "WH-001";
 
     // Warehouse has 4 products for this store
-    List<WarehouseProductStore> warehouseAssociations = new ArrayList<>();
-    for (int i = 1; i <= 4; i++) {
-      warehouseAssociations.add(new WarehouseProductStore((long) i, storeId, warehouseCode));
-    }
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(warehouseAssociations);
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(warehouseAssociations);
+    givenCounts(productId, storeId, warehouseCode, false, 0, 1, 4);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
@@ -306,20 +274,8 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     Long storeId = 2L;
     String warehouseCode = "WH-001";
 
-    // Warehouse has 5 products but for different store
-    List<WarehouseProductStore> warehouseAssociations = new ArrayList<>();
-    for (int i = 1; i <= 5; i++) {
-      warehouseAssociations.add(new WarehouseProductStore((long) i, 1L, warehouseCode)); // Different store
-    }
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(warehouseAssociations);
+    // Warehouse has 5 products but for a different store; counts are scoped to store 2
+    givenCounts(productId, storeId, warehouseCode, false, 0, 0, 0);
 
     // When - Should allow because constraint is per warehouse-store, not just warehouse
     useCase.associate(productId, storeId, warehouseCode);
@@ -328,6 +284,92 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     verify(warehouseProductStoreStore).create(any(WarehouseProductStore.class));
   }
 
+  // ============== BULK ASSOCIATION TESTS ==============
+
+  @Test
+  @DisplayName("Should create all valid rows of a bulk request with one lookup and one write")
+  void testAssociateAllCreatesValidRows() {
+    // Given
+    when(warehouseProductStoreStore.findByStores(List.of(1L, 2L))).thenReturn(new ArrayList<>());
+    List<WarehouseProductStore> requests =
+        List.of(
+            new WarehouseProductStore(1L, 1L, "WH-001"),
+            new WarehouseProductStore(2L, 1L, "WH-001"),
+            new WarehouseProductStore(1L, 2L, "WH-002"));
+
+    // When
+    List<AssociationResult> results = useCase.associateAll(requests);
+
+    // Then
+    assertEquals(3, results.size());
+    assertTrue(results.stream().allMatch(r -> r.status == 201));
+    verify(warehouseProductStoreStore).findByStores(List.of(1L, 2L));
+    verify(warehouseProductStoreStore).createAll(argThat(list -> list.size() == 3));
+    verify(warehouseProductStoreStore, never()).countConstraints(any(), any(), any());
+    verify(warehouseProductStoreStore, never()).create(any());
+  }
+
+  @Test
+  @DisplayName("Should count rows accepted earlier in the batch towards the limits")
+  void testAssociateAllAppliesConstraintsAcrossBatch() {
+    // Given - store 1 already has WH-001 and WH-002
+    when(warehouseProductStoreStore.findByStores(List.of(1L)))
+        .thenReturn(
+            List.of(
+                new WarehouseProductStore(1L, 1L, "WH-001"),
+                new WarehouseProductStore(2L, 1L, "WH-002")));
+    List<WarehouseProductStore> requests =
+        List.of(
+            new WarehouseProductStore(3L, 1L, "WH-003"), // third warehouse, allowed
+            new WarehouseProductStore(3L, 1L, "WH-003"), // duplicate of previous row
+            new WarehouseProductStore(4L, 1L, "WH-004"), // fourth warehouse
+            new WarehouseProductStore(1L, 1L, "WH-002"), // second warehouse for product 1
+            new WarehouseProductStore(1L, 1L, "WH-003")); // third warehouse for product 1
+
+    // When
+    List<AssociationResult> results = useCase.associateAll(requests);
+
+    // Then
+    assertEquals(List.of(201, 409, 409, 201, 409), results.stream().map(r -> r.status).toList());
+    assertTrue(results.get(1).message.contains("Association already exists"));
+    assertTrue(results.get(2).message.contains("maximum (3) warehouses"));
+    assertTrue(results.get(4).message.contains("maximum (2) warehouses"));
+    assertEquals(4, results.get(4).index);
+    verify(warehouseProductStoreStore).createAll(argThat(list -> list.size() == 2));
+  }
+
+  @Test
+  @DisplayName("Should reject bulk rows with missing fields without aborting the batch")
+  void testAssociateAllRejectsIncompleteRows() {
+    // Given
+    when(warehouseProductStoreStore.findByStores(List.of(1L))).thenReturn(new ArrayList<>());
+    List<WarehouseProductStore> requests =
+        Arrays.asList(
+            new WarehouseProductStore(1L, null, "WH-001"),
+            null,
+            new WarehouseProductStore(1L, 1L, "WH-001"));
+
+    // When
+    List<AssociationResult> results = useCase.associateAll(requests);
+
+    // Then
+    assertEquals(400, results.get(0).status);
+    assertEquals(400, results.get(1).status);
+    assertEquals(201, results.get(2).status);
+    verify(warehouseProductStoreStore).createAll(argThat(list -> list.size() == 1));
+  }
+
+  @Test
+  @DisplayName("Should handle an empty bulk request")
+  void testAssociateAllEmpty() {
+    when(warehouseProductStoreStore.findByStores(List.of())).thenReturn(List.of());
+
+    List<AssociationResult> results = useCase.associateAll(List.of());
+
+    assertTrue(results.isEmpty());
+    verify(warehouseProductStoreStore).createAll(anyList());
+  }
+
   // ============== DISSOCIATION TESTS ==============
 
   @Test
@@ -361,11 +403,11 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
         .thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.dissociate(productId, storeId, warehouseCode);
     });
 
-    assertEquals(404, exception.getResponse().getStatus());
+    assertEquals(404, exception.status());
     assertTrue(exception.getMessage().contains("Association not found"));
     verify(warehouseProductStoreStore, never()).remove(any(), any(), any());
   }
@@ -380,18 +422,7 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     Long storeId = 1L;
     String warehouseCode = "WH-001";
 
-    WarehouseProductStore p1w1 = new WarehouseProductStore(1L, storeId, warehouseCode);
-    List<WarehouseProductStore> storeAssociations = new ArrayList<>();
-    storeAssociations.add(p1w1);
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(new ArrayList<>());
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(storeAssociations);
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(storeAssociations);
+    givenCounts(productId, storeId, warehouseCode, false, 0, 1, 1);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
@@ -403,34 +434,14 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
   @Test
   @DisplayName("Should allow product association when reaching limits on different constraints")
   void testAssociateAtConstraintBoundaries() {
-    // Given - All constraints at max but allowing new association
+    // Given - All constraints one below max
     Long productId = 2L;
     Long storeId = 1L;
     String warehouseCode = "WH-002";
 
-    // 1 warehouse for this product-store pair (can add 1 more)
-    WarehouseProductStore p2w1 = new WarehouseProductStore(productId, storeId, "WH-001");
-    List<WarehouseProductStore> productStoreAssocs = new ArrayList<>();
-    productStoreAssocs.add(p2w1);
-
-    // 2 unique warehouses for store (can add 1 more)
-    WarehouseProductStore p1w1 = new WarehouseProductStore(1L, storeId, "WH-001");
-    WarehouseProductStore p1w2 = new WarehouseProductStore(1L, storeId, "WH-002");
-    List<WarehouseProductStore> storeAssocs = new ArrayList<>();
-    storeAssocs.add(p1w1);
-    storeAssocs.add(p1w2);
-
-    when(warehouseProductStoreStore.findAssociation(productId, storeId, warehouseCode))
-        .thenReturn(null);
-    when(warehouseProductStoreStore.findByProductAndStore(productId, storeId))
-        .thenReturn(productStoreAssocs);
-    when(warehouseProductStoreStore.findByStore(storeId))
-        .thenReturn(storeAssocs);
-    
-    List<WarehouseProductStore> warehouseAssocs = new ArrayList<>();
-    warehouseAssocs.add(p1w2);
-    when(warehouseProductStoreStore.findByWarehouse(warehouseCode))
-        .thenReturn(warehouseAssocs);
+    // 1 warehouse for this product-store pair, 2 unique warehouses for store,
+    // WH-002 already carries 1 product for the store
+    givenCounts(productId, storeId, warehouseCode, false, 1, 2, 1);
 
     // When
     useCase.associate(productId, storeId, warehouseCode);
@@ -438,4 +449,25 @@ public class AssociateWarehouseToProductStoreUseCaseTest {
     // Then
     verify(warehouseProductStoreStore).create(any(WarehouseProductStore.class));
   }
+
+  @Test
+  @DisplayName("Should publish association changes, rejected ones excluded")
+  void testAssociationChangesArePublished() {
+    ChangePublisher changes = mock(ChangePublisher.class);
+    useCase = new AssociateWarehouseToProductStoreUseCase(warehouseProductStoreStore, changes);
+    givenCounts(1L, 1L, "WH-001", false, 0, 0, 0);
+    givenCounts(2L, 1L, "WH-001", true, 1, 1, 1);
+    when(warehouseProductStoreStore.findAssociation(1L, 1L, "WH-001"))
+        .thenReturn(new WarehouseProductStore(1L, 1L, "WH-001"));
+
+    useCase.associate(1L, 1L, "WH-001");
+    assertThrows(DomainException.class, () -> useCase.associate(2L, 1L, "WH-001"));
+    useCase.dissociate(1L, 1L, "WH-001");
+
+    verify(changes)
+        .publish("association.created", "WH-001", Map.of("productId", 1L, "storeId", 1L));
+    verify(changes)
+        .publish("association.removed", "WH-001", Map.of("productId", 1L, "storeId", 1L));
+    verifyNoMoreInteractions(changes);
+  }
 }
@@ -0,0 +1,86 @@
+package com.fulfilment.application.monolith.health;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class CacheStatisticsResourceTest {
+
+  private static final String WAREHOUSE_QUERIES = "regions.'warehouse-queries'";
+
+  private static final String STORE_REGION =
+      "regions.'com.fulfilment.application.monolith.stores.Store'";
+
+  @Test
+  void requires_admin_credentials() {
+    given().when().get("/admin/cache-statistics").then().statusCode(401);
+    given()
+        .auth()
+        .preemptive()
+        .basic("admin", "wrong")
+        .when()
+        .get("/admin/cache-statistics")
+        .then()
+        .statusCode(401);
+  }
+
+  @Test
+  void reports_query_cache_hits_of_cached_lookup() {
+    // Statistics are global and other tests move them too, so compare before and after
+    JsonPath before = statistics();
+
+    // Listing warehouses goes through the cached warehouse-queries region; the second listing is
+    // answered from it
+    given().when().get("/warehouse").then().statusCode(200);
+    given().when().get("/warehouse").then().statusCode(200);
+
+    JsonPath after = statistics();
+    assertTrue(after.getBoolean("statisticsEnabled"));
+    assertTrue(
+        hitCount(after) > hitCount(before), "warehouse-queries hit count did not grow");
+    assertTrue(after.getLong("queryCacheHitCount") > before.getLong("queryCacheHitCount"));
+  }
+
+  @Test
+  void lists_entity_regions() {
+    given()
+        .auth()
+        .preemptive()
+        .basic("admin", "admin")
+        .when()
+        .get("/admin/cache-statistics")
+        .then()
+        .statusCode(200)
+        .body("statisticsEnabled", equalTo(true))
+        .body(STORE_REGION, notNullValue())
+        // Not derivable from Hibernate's statistics, so not reported
+        .body(STORE_REGION + ".removedCount", nullValue());
+  }
+
+  private static long hitCount(JsonPath statistics) {
+    // The region is only reported once Hibernate created it
+    return statistics.get(WAREHOUSE_QUERIES) == null
+        ? 0
+        : statistics.getLong(WAREHOUSE_QUERIES + ".hitCount");
+  }
+
+  private static JsonPath statistics() {
+    return given()
+        .auth()
+        .preemptive()
+        .basic("admin", "admin")
+        .when()
+        .get("/admin/cache-statistics")
+        .then()
+        .statusCode(200)
+        .extract()
+        .jsonPath();
+  }
+}
@@ -3,8 +3,17 @@ package com.fulfilment.application.monolith.location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Unit tests for LocationGateway.
@@ -179,5 +188,95 @@ public class LocationGatewayTest {
         .matches("[A-Z0-9-]+")
         .contains("-");
   }
-}
 
+  // ============= REGISTRY SNAPSHOT TESTS =============
+
+  @Test
+  @DisplayName("Should resolve several identifiers at once, skipping unknown ones")
+  public void testResolveAll() {
+    // when
+    var resolved = locationGateway.resolveAll(List.of("VETSBY-001", "UNKNOWN", "ZWOLLE-002"));
+
+    // then
+    assertThat(resolved).containsOnlyKeys("VETSBY-001", "ZWOLLE-002");
+    assertEquals(90, resolved.get("VETSBY-001").maxCapacity);
+  }
+
+  @Test
+  @DisplayName("Reload should atomically replace the whole registry")
+  public void testReloadReplacesSnapshot() {
+    // given
+    LocationGateway gateway = new LocationGateway();
+
+    // when
+    gateway.reload(List.of(new Location("UTRECHT-001", 4, 400)));
+
+    // then
+    assertThat(gateway.resolveByIdentifier("UTRECHT-001")).isNotNull();
+    assertThat(gateway.resolveByIdentifier("ZWOLLE-001")).isNull();
+    assertThat(gateway.getAll()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Reload should reject duplicate identifiers and keep the previous snapshot")
+  public void testReloadRejectsDuplicates() {
+    // given
+    LocationGateway gateway = new LocationGateway();
+    var duplicates =
+        List.of(new Location("UTRECHT-001", 4, 400), new Location("UTRECHT-001", 1, 10));
+
+    // when-then
+    assertThrows(IllegalArgumentException.class, () -> gateway.reload(duplicates));
+    assertThat(gateway.resolveByIdentifier("ZWOLLE-001")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Parse errors should name the line and column")
+  public void testParseReportsLineOfInvalidNumber() {
+    // given
+    var csv =
+        new BufferedReader(new StringReader("# header\nUTRECHT-001,4,400\nGOUDA-001,two,90\n"));
+
+    // when
+    var ex = assertThrows(IllegalArgumentException.class, () -> LocationGateway.parse(csv));
+
+    // then
+    assertThat(ex.getMessage())
+        .contains("maxNumberOfWarehouses")
+        .contains("'two'")
+        .contains("line 3");
+  }
+
+  @Test
+  @DisplayName("A changed registry file should be reloaded, an unchanged one skipped")
+  public void testReloadIfModified(@TempDir Path dir) throws Exception {
+    // given
+    LocationGateway gateway = new LocationGateway();
+    Path file = dir.resolve("locations.csv");
+    Files.writeString(file, "UTRECHT-001,4,400\n");
+    gateway.reloadFromFile(file);
+
+    // when-then
+    assertThat(gateway.reloadIfModified(file)).isFalse();
+
+    Files.writeString(file, "GOUDA-001,1,90\n");
+    Files.setLastModifiedTime(
+        file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+    assertThat(gateway.reloadIfModified(file)).isTrue();
+    assertThat(gateway.resolveByIdentifier("GOUDA-001")).isNotNull();
+    assertThat(gateway.resolveByIdentifier("UTRECHT-001")).isNull();
+  }
+
+  @Test
+  @DisplayName("A registry file that fails to parse should keep the previous snapshot")
+  public void testInvalidRegistryFileKeepsSnapshot(@TempDir Path dir) throws Exception {
+    // given
+    LocationGateway gateway = new LocationGateway();
+    Path file = dir.resolve("locations.csv");
+    Files.writeString(file, "UTRECHT-001,4,many\n");
+
+    // when-then
+    assertThrows(IllegalArgumentException.class, () -> gateway.reloadIfModified(file));
+    assertThat(gateway.resolveByIdentifier("ZWOLLE-001")).isNotNull();
+  }
+}
@@ -9,6 +9,8 @@ import static org.mockito.Mockito.when;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import jakarta.ws.rs.core.Response;
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class LocationResourceUnitTest {
@@ -48,6 +50,33 @@ class LocationResourceUnitTest {
     assertTrue(error.error.contains("UNKNOWN"));
   }
 
+  @Test
+  void resolve_locations_in_bulk() throws Exception {
+    LocationResource resource = new LocationResource();
+    LocationGateway gateway = mock(LocationGateway.class);
+    setField(resource, "locationGateway", gateway);
+
+    List<String> ids = List.of("ZWOLLE-001", "UNKNOWN");
+    when(gateway.resolveAll(ids)).thenReturn(Map.of("ZWOLLE-001", new Location("ZWOLLE-001", 1, 40)));
+
+    Response response = resource.resolveLocations(ids);
+
+    assertEquals(200, response.getStatus());
+    LocationResource.BulkResolutionDto dto = (LocationResource.BulkResolutionDto) response.getEntity();
+    assertEquals(1, dto.resolved.size());
+    assertEquals("ZWOLLE-001", dto.resolved.get(0).identification);
+    assertEquals(List.of("UNKNOWN"), dto.unknown);
+  }
+
+  @Test
+  void resolve_locations_without_body_is_bad_request() {
+    LocationResource resource = new LocationResource();
+
+    Response response = resource.resolveLocations(null);
+
+    assertEquals(400, response.getStatus());
+  }
+
   @Test
   void dto_and_errorresponse_constructors() {
     LocationResource.LocationDto dto = new LocationResource.LocationDto("A", 1, 10);
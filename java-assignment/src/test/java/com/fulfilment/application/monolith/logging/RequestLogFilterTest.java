@@ -0,0 +1,58 @@
+package com.fulfilment.application.monolith.logging;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class RequestLogFilterTest {
+
+  @Test
+  void echoes_caller_request_id() {
+    given()
+        .header(RequestLogFilter.HEADER, "checkout-42.a_b")
+        .when()
+        .get("/store")
+        .then()
+        .statusCode(200)
+        .header(RequestLogFilter.HEADER, equalTo("checkout-42.a_b"));
+  }
+
+  @Test
+  void generates_request_id_when_missing_or_unsafe() {
+    given()
+        .when()
+        .get("/warehouse/999999")
+        .then()
+        .statusCode(404)
+        .header(RequestLogFilter.HEADER, matchesPattern("[0-9a-f]{2,32}"));
+
+    given()
+        .header(RequestLogFilter.HEADER, "bad id\twith spaces")
+        .when()
+        .get("/store")
+        .then()
+        .statusCode(200)
+        .header(RequestLogFilter.HEADER, matchesPattern("[0-9a-f]{2,32}"));
+  }
+
+  @Test
+  void accepts_only_short_header_safe_ids() {
+    assertTrue(RequestLogFilter.isUsable("0af7651916cd43dd8448eb211c80319c"));
+    assertFalse(RequestLogFilter.isUsable(null));
+    assertFalse(RequestLogFilter.isUsable(""));
+    assertFalse(RequestLogFilter.isUsable("a".repeat(RequestLogFilter.MAX_REQUEST_ID_LENGTH + 1)));
+    assertFalse(RequestLogFilter.isUsable("id\r\nX-Injected: 1"));
+  }
+
+  @Test
+  void sampling_rate_bounds_business_events() {
+    assertTrue(new BusinessEventLogger(1).shouldLog());
+    assertFalse(new BusinessEventLogger(0).shouldLog());
+  }
+}
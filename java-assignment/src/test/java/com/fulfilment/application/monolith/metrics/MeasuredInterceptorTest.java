@@ -0,0 +1,80 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.fulfillment.domain.models.AssociationConstraintCounts;
+import com.fulfilment.application.monolith.fulfillment.domain.ports.WarehouseProductStoreStore;
+import com.fulfilment.application.monolith.fulfillment.domain.usecases.AssociateWarehouseToProductStoreUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class MeasuredInterceptorTest {
+
+  @Inject AssociateWarehouseToProductStoreUseCase useCase;
+
+  @InjectMock WarehouseProductStoreStore warehouseProductStoreStore;
+
+  @Inject MeterRegistry registry;
+
+  @Test
+  void records_success_and_failure_with_outcome_and_status() {
+    when(warehouseProductStoreStore.countConstraints(any(), any(), any()))
+        .thenReturn(new AssociationConstraintCounts(false, 0, 0, 0))
+        .thenReturn(new AssociationConstraintCounts(true, 1, 1, 1));
+
+    useCase.associate(1L, 1L, "WH-M1");
+    assertThrows(DomainException.class, () -> useCase.associate(1L, 1L, "WH-M1"));
+
+    Timer success = timer("SUCCESS", "none");
+    Timer conflict = timer("CLIENT_ERROR", "409");
+    assertNotNull(success);
+    assertNotNull(conflict);
+    assertTrue(success.count() >= 1);
+    assertTrue(conflict.count() >= 1);
+  }
+
+  @Test
+  void prometheus_scrape_contains_operation_histogram() {
+    when(warehouseProductStoreStore.countConstraints(any(), any(), any()))
+        .thenReturn(new AssociationConstraintCounts(false, 0, 0, 0));
+    useCase.associate(2L, 2L, "WH-M2");
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("fulfilment_operation_seconds_bucket"))
+        .body(containsString("component=\"AssociateWarehouseToProductStoreUseCase\""));
+  }
+
+  @Test
+  void outcome_follows_status_class() {
+    assertEquals("SUCCESS", MeasuredInterceptor.outcome(0));
+    assertEquals("CLIENT_ERROR", MeasuredInterceptor.outcome(404));
+    assertEquals("SERVER_ERROR", MeasuredInterceptor.outcome(500));
+  }
+
+  private Timer timer(String outcome, String status) {
+    return registry
+        .find(MeasuredInterceptor.TIMER_NAME)
+        .tag("component", "AssociateWarehouseToProductStoreUseCase")
+        .tag("operation", "associate")
+        .tag("outcome", outcome)
+        .tag("status", status)
+        .timer();
+  }
+}
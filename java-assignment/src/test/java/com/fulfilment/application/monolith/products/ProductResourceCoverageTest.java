@@ -9,12 +9,12 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.errors.ErrorResponseMapper;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -341,13 +341,12 @@ public class ProductResourceCoverageTest {
   }
 
   @Test
-  @DisplayName("Should map WebApplicationException in product error mapper")
+  @DisplayName("Should map WebApplicationException in error mapper")
   void testProductErrorMapperWebApplicationException() throws Exception {
-    ProductResource.ErrorMapper errorMapper = new ProductResource.ErrorMapper();
-    setField(errorMapper, "objectMapper", new ObjectMapper());
+    ErrorResponseMapper errorMapper = new ErrorResponseMapper();
 
     Response response = errorMapper.toResponse(new WebApplicationException("invalid request", 422));
-    ObjectNode body = (ObjectNode) response.getEntity();
+    JsonNode body = new ObjectMapper().readTree((byte[]) response.getEntity());
 
     assertEquals(422, response.getStatus());
     assertEquals(422, body.get("code").asInt());
@@ -355,13 +354,12 @@ public class ProductResourceCoverageTest {
   }
 
   @Test
-  @DisplayName("Should map runtime exception to 500 in product error mapper")
+  @DisplayName("Should map runtime exception to 500 in error mapper")
   void testProductErrorMapperRuntimeException() throws Exception {
-    ProductResource.ErrorMapper errorMapper = new ProductResource.ErrorMapper();
-    setField(errorMapper, "objectMapper", new ObjectMapper());
+    ErrorResponseMapper errorMapper = new ErrorResponseMapper();
 
     Response response = errorMapper.toResponse(new IllegalStateException("unexpected"));
-    ObjectNode body = (ObjectNode) response.getEntity();
+    JsonNode body = new ObjectMapper().readTree((byte[]) response.getEntity());
 
     assertEquals(500, response.getStatus());
     assertEquals(500, body.get("code").asInt());
@@ -371,11 +369,10 @@ public class ProductResourceCoverageTest {
   @Test
   @DisplayName("Should omit error field when exception message is null")
   void testProductErrorMapperNullMessage() throws Exception {
-    ProductResource.ErrorMapper errorMapper = new ProductResource.ErrorMapper();
-    setField(errorMapper, "objectMapper", new ObjectMapper());
+    ErrorResponseMapper errorMapper = new ErrorResponseMapper();
 
     Response response = errorMapper.toResponse(new RuntimeException((String) null));
-    ObjectNode body = (ObjectNode) response.getEntity();
+    JsonNode body = new ObjectMapper().readTree((byte[]) response.getEntity());
 
     assertEquals(500, response.getStatus());
     assertEquals(500, body.get("code").asInt());
@@ -407,10 +404,4 @@ public class ProductResourceCoverageTest {
     String candidate = base + "-" + suffix;
     return candidate.length() > 40 ? candidate.substring(0, 40) : candidate;
   }
-
-  private void setField(Object target, String fieldName, Object value) throws Exception {
-    Field field = target.getClass().getDeclaredField(fieldName);
-    field.setAccessible(true);
-    field.set(target, value);
-  }
 }
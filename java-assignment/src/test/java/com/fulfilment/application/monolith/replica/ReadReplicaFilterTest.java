@@ -0,0 +1,160 @@
+package com.fulfilment.application.monolith.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.location.LocationResource;
+import com.fulfilment.application.monolith.stores.StoreResource;
+import jakarta.enterprise.inject.Instance;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadReplicaFilterTest {
+
+  private Instance<ReadReplicaTenantResolver> tenantResolver;
+
+  private Session session;
+
+  private ReadReplicaFilter filter;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    tenantResolver = mock(Instance.class);
+    when(tenantResolver.isResolvable()).thenReturn(true);
+    session = mock(Session.class);
+    filter = new ReadReplicaFilter();
+    filter.tenantResolver = tenantResolver;
+    filter.route = new ReadRoute();
+    filter.session = session;
+    filter.readYourWritesWindow = Duration.ofSeconds(5);
+    filter.primaryEndpoints = Optional.empty();
+  }
+
+  @Test
+  void marked_reads_go_to_the_replica_without_the_second_level_cache() {
+    filter.onRequest(request("GET", null), resource(StoreResource.class, "get"));
+
+    assertTrue(filter.route.replica());
+    verify(session).setCacheMode(CacheMode.IGNORE);
+  }
+
+  @Test
+  void unmarked_endpoints_and_writes_stay_on_the_primary() {
+    filter.onRequest(
+        request("GET", null),
+        resource(LocationResource.class, "resolveLocation", String.class));
+    filter.onRequest(request("POST", null), resource(StoreResource.class, "get"));
+
+    assertFalse(filter.route.replica());
+    verifyNoInteractions(session);
+  }
+
+  @Test
+  void endpoints_configured_for_the_primary_stay_there() {
+    filter.primaryEndpoints = Optional.of(Set.of("StoreResource.get"));
+
+    filter.onRequest(request("GET", null), resource(StoreResource.class, "get"));
+
+    assertFalse(filter.route.replica());
+  }
+
+  @Test
+  void recent_writer_reads_from_the_primary() {
+    long until = System.currentTimeMillis() + 60_000;
+
+    filter.onRequest(request("GET", Long.toString(until)), resource(StoreResource.class, "get"));
+
+    assertFalse(filter.route.replica());
+    verify(session, never()).setCacheMode(CacheMode.IGNORE);
+  }
+
+  @Test
+  void nothing_is_routed_unless_built_with_database_multitenancy() {
+    when(tenantResolver.isResolvable()).thenReturn(false);
+
+    filter.onRequest(request("GET", null), resource(StoreResource.class, "get"));
+
+    assertFalse(filter.route.replica());
+  }
+
+  @Test
+  void successful_write_pins_the_client_to_the_primary() {
+    MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    filter.onResponse(request("POST", null), response(201, headers));
+    filter.onResponse(request("GET", null), response(200, new MultivaluedHashMap<>()));
+
+    NewCookie cookie = (NewCookie) headers.getFirst(HttpHeaders.SET_COOKIE);
+    assertEquals(ReadReplicaFilter.COOKIE, cookie.getName());
+    assertEquals(5, cookie.getMaxAge());
+    assertTrue(ReadReplicaFilter.pinnedToPrimary(cookie.getValue(), System.currentTimeMillis()));
+  }
+
+  @Test
+  void failed_write_does_not_pin_the_client() {
+    MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    filter.onResponse(request("PUT", null), response(409, headers));
+
+    assertTrue(headers.isEmpty());
+  }
+
+  @Test
+  void cookie_pins_until_its_expiry() {
+    assertTrue(ReadReplicaFilter.pinnedToPrimary("1000", 999));
+    assertFalse(ReadReplicaFilter.pinnedToPrimary("1000", 1000));
+    assertFalse(ReadReplicaFilter.pinnedToPrimary("soon", 0));
+  }
+
+  private static ContainerRequestContext request(String method, String cookieValue) {
+    var request = mock(ContainerRequestContext.class);
+    when(request.getMethod()).thenReturn(method);
+    when(request.getCookies())
+        .thenReturn(
+            cookieValue == null
+                ? Map.of()
+                : Map.of(
+                    ReadReplicaFilter.COOKIE,
+                    new Cookie.Builder(ReadReplicaFilter.COOKIE).value(cookieValue).build()));
+    return request;
+  }
+
+  private static ContainerResponseContext response(
+      int status, MultivaluedMap<String, Object> headers) {
+    var response = mock(ContainerResponseContext.class);
+    when(response.getStatus()).thenReturn(status);
+    when(response.getHeaders()).thenReturn(headers);
+    return response;
+  }
+
+  private static SimpleResourceInfo resource(
+      Class<?> resourceClass, String method, Class<?>... parameterTypes) {
+    var resource = mock(SimpleResourceInfo.class);
+    doReturn(resourceClass).when(resource).getResourceClass();
+    when(resource.getMethodName()).thenReturn(method);
+    when(resource.getParameterTypes()).thenReturn(parameterTypes);
+    return resource;
+  }
+}
@@ -1,28 +1,53 @@
 package com.fulfilment.application.monolith.stores;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class LegacyStoreManagerGatewayCoverageTest {
 
+  @TempDir Path tempDir;
+
   @Test
-  void create_store_on_legacy_system_executes() {
+  void send_batch_appends_one_line_per_event() throws Exception {
     LegacyStoreManagerGateway gateway = new LegacyStoreManagerGateway();
-    Store store = new Store();
-    store.name = "legacy-create-store";
-    store.quantityProductsInStock = 10;
+    Path file = tempDir.resolve("legacy/stores.log");
+    gateway.outputFile = Optional.of(file.toString());
+    Store created = new Store("batch-a");
+    created.quantityProductsInStock = 1;
+    Store updated = new Store("batch-b");
+    updated.quantityProductsInStock = 2;
+
+    gateway.sendBatch(
+        List.of(
+            new StoreOutboxEvent(StoreOutboxEvent.Type.STORE_CREATED, created),
+            new StoreOutboxEvent(StoreOutboxEvent.Type.STORE_UPDATED, updated)));
 
-    assertDoesNotThrow(() -> gateway.createStoreOnLegacySystem(store));
+    List<String> lines = Files.readAllLines(file);
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0).startsWith("Store created. [ name =batch-a ]"));
+    assertTrue(lines.get(1).startsWith("Store updated. [ name =batch-b ]"));
   }
 
   @Test
-  void update_store_on_legacy_system_executes() {
+  void send_batch_fails_when_file_cannot_be_written() {
     LegacyStoreManagerGateway gateway = new LegacyStoreManagerGateway();
-    Store store = new Store();
-    store.name = "legacy-update-store";
-    store.quantityProductsInStock = 20;
+    // A directory cannot be opened for appending
+    gateway.outputFile = Optional.of(tempDir.toString());
 
-    assertDoesNotThrow(() -> gateway.updateStoreOnLegacySystem(store));
+    assertThrows(
+        UncheckedIOException.class,
+        () ->
+            gateway.sendBatch(
+                List.of(
+                    new StoreOutboxEvent(StoreOutboxEvent.Type.STORE_CREATED, new Store("x")))));
   }
 }
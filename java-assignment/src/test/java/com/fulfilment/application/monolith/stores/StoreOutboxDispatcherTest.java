@@ -0,0 +1,202 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreOutboxDispatcherTest {
+
+  @InjectMock LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @Inject StoreOutboxDispatcher dispatcher;
+
+  @Inject MeterRegistry registry;
+
+  @BeforeEach
+  void clean() {
+    reset(legacyStoreManagerGateway);
+    QuarkusTransaction.requiringNew().run(() -> StoreOutboxEvent.deleteAll());
+  }
+
+  @Test
+  void create_queues_event_without_calling_legacy_system() {
+    createStore("Outbox Store - " + System.nanoTime());
+
+    verify(legacyStoreManagerGateway, never()).sendBatch(anyList());
+    assertEquals(1, QuarkusTransaction.requiringNew().call(() -> dispatcher.queueDepth()));
+  }
+
+  @Test
+  void dispatch_delivers_and_removes_events() {
+    createStore("Outbox Deliver - " + System.nanoTime());
+    createStore("Outbox Deliver - " + System.nanoTime());
+
+    int delivered = dispatcher.dispatchBatch();
+
+    assertEquals(2, delivered);
+    verify(legacyStoreManagerGateway).sendBatch(anyList());
+    assertEquals(0, QuarkusTransaction.requiringNew().call(() -> StoreOutboxEvent.count()));
+  }
+
+  @Test
+  void failed_dispatch_is_rescheduled_with_backoff() {
+    createStore("Outbox Retry - " + System.nanoTime());
+    doThrow(new IllegalStateException("legacy down"))
+        .when(legacyStoreManagerGateway)
+        .sendBatch(anyList());
+
+    assertEquals(0, dispatcher.dispatchBatch());
+
+    StoreOutboxEvent event =
+        QuarkusTransaction.requiringNew()
+            .call(() -> StoreOutboxEvent.<StoreOutboxEvent>findAll().firstResult());
+    assertEquals(1, event.attempts);
+    assertEquals("legacy down", event.lastError);
+    assertNotNull(event.nextAttemptAt);
+    assertTrue(event.nextAttemptAt.isAfter(LocalDateTime.now()));
+    // Not due yet, so a second run does not retry immediately
+    assertEquals(0, dispatcher.dispatchBatch());
+    verify(legacyStoreManagerGateway).sendBatch(anyList());
+  }
+
+  @Test
+  void events_claimed_by_a_running_dispatch_are_skipped() throws Exception {
+    createStore("Outbox Claim - " + System.nanoTime());
+    var sending = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              sending.countDown();
+              release.await(10, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(legacyStoreManagerGateway)
+        .sendBatch(anyList());
+
+    // Stands in for another instance's dispatcher holding the batch while it delivers
+    CompletableFuture<Integer> first = CompletableFuture.supplyAsync(dispatcher::dispatchBatch);
+    assertTrue(sending.await(10, TimeUnit.SECONDS));
+    int second = dispatcher.dispatchBatch();
+    release.countDown();
+
+    assertEquals(0, second);
+    assertEquals(1, first.get(10, TimeUnit.SECONDS));
+    verify(legacyStoreManagerGateway).sendBatch(anyList());
+  }
+
+  @Test
+  void outbox_depth_and_lag_are_published_as_gauges() {
+    createStore("Outbox Gauge - " + System.nanoTime());
+
+    assertEquals(1.0, registry.get("fulfilment.outbox.depth").gauge().value());
+    assertEquals(0.0, registry.get("fulfilment.outbox.parked").gauge().value());
+    var oldestAge = registry.get("fulfilment.outbox.oldest.pending.age").timeGauge();
+    assertTrue(oldestAge.value(TimeUnit.MILLISECONDS) >= 0);
+
+    dispatcher.dispatchBatch();
+
+    assertEquals(0.0, registry.get("fulfilment.outbox.depth").gauge().value());
+    assertNotNull(registry.get("fulfilment.outbox.dispatch.lag").timeGauge());
+  }
+
+  @Test
+  void event_is_parked_after_max_attempts() {
+    StoreOutboxEvent event = new StoreOutboxEvent();
+    event.type = StoreOutboxEvent.Type.STORE_UPDATED;
+    LocalDateTime now = LocalDateTime.now();
+
+    for (int i = 0; i < 3; i++) {
+      event.recordFailure("boom", now, 3, Duration.ofSeconds(1), Duration.ofSeconds(3));
+    }
+
+    assertTrue(event.isParked());
+    assertEquals(3, event.attempts);
+  }
+
+  @Test
+  void backoff_doubles_and_is_capped() {
+    StoreOutboxEvent event = new StoreOutboxEvent();
+    LocalDateTime now = LocalDateTime.now();
+    Duration base = Duration.ofSeconds(1);
+    Duration max = Duration.ofSeconds(3);
+
+    event.recordFailure("e", now, 10, base, max);
+    assertEquals(now.plusSeconds(1), event.nextAttemptAt);
+    event.recordFailure("e", now, 10, base, max);
+    assertEquals(now.plusSeconds(2), event.nextAttemptAt);
+    event.recordFailure("e", now, 10, base, max);
+    assertEquals(now.plusSeconds(3), event.nextAttemptAt);
+  }
+
+  @Test
+  void outbox_health_group_reports_depth_outside_readiness() {
+    createStore("Outbox Health - " + System.nanoTime());
+
+    given()
+        .when()
+        .get("/q/health/group/store-outbox")
+        .then()
+        .statusCode(200)
+        .body("checks.find { it.name == 'Store Outbox' }.data.queueDepth", equalTo(1));
+    // A backlog must not take the instance out of the load balancer
+    given()
+        .when()
+        .get("/q/health/ready")
+        .then()
+        .body("checks.find { it.name == 'Store Outbox' }", nullValue());
+  }
+
+  @Test
+  void dispatch_lag_is_measured_from_the_oldest_event_in_the_batch() {
+    createStore("Outbox Lag - " + System.nanoTime());
+    createStore("Outbox Lag - " + System.nanoTime());
+    // The older event comes second in next-attempt order, as a retried event would
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              var events = StoreOutboxEvent.<StoreOutboxEvent>listAll(Sort.by("id"));
+              events.get(0).nextAttemptAt = LocalDateTime.now().minusSeconds(1);
+              events.get(1).nextAttemptAt = LocalDateTime.now().minusSeconds(2);
+              events.get(1).createdAt = LocalDateTime.now().minusMinutes(10);
+            });
+
+    assertEquals(2, dispatcher.dispatchBatch());
+
+    assertTrue(dispatcher.lastDispatchLagMillis() >= Duration.ofMinutes(10).toMillis());
+  }
+
+  private void createStore(String name) {
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 5}")
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+  }
+}
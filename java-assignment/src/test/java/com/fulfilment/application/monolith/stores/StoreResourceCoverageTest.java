@@ -5,9 +5,11 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.errors.ErrorResponseMapper;
 import com.fulfilment.application.monolith.stores.LegacyStoreManagerGateway;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.InjectMock;
 import jakarta.ws.rs.WebApplicationException;
@@ -16,10 +18,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @QuarkusTest
@@ -125,11 +127,8 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should create store with valid data")
   void testCreateStoreSuccess() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
-    newStore.name = "New Store";
+    newStore.name = uniqueName("New Store");
     newStore.quantityProductsInStock = 100;
 
     given()
@@ -139,8 +138,12 @@ public class StoreResourceCoverageTest {
         .post(STORE_PATH)
         .then()
         .statusCode(201)
-        .body("name", equalTo("New Store"))
+        .body("name", equalTo(newStore.name))
         .contentType(containsString("application/json"));
+
+    // The legacy system is told through the outbox, written in the store's transaction
+    assertEquals(1, outboxEvents(StoreOutboxEvent.Type.STORE_CREATED, newStore.name));
+    verify(legacyStoreManagerGateway, never()).sendBatch(anyList());
   }
 
   @Test
@@ -222,9 +225,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should update store with valid data")
   void testUpdateStoreSuccess() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Long storeId = createStoreAndReturnId(uniqueName("Store For Update"), 100);
 
     Store updatedStore = new Store();
@@ -239,6 +239,9 @@ public class StoreResourceCoverageTest {
         .then()
         .statusCode(200)
           .body("name", equalTo(updatedStore.name));
+
+    assertEquals(1, outboxEvents(StoreOutboxEvent.Type.STORE_UPDATED, updatedStore.name));
+    verify(legacyStoreManagerGateway, never()).sendBatch(anyList());
   }
 
   @Test
@@ -324,9 +327,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should patch store name successfully")
   void testPatchStoreNameSuccess() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Long storeId = createStoreAndReturnId(uniqueName("Store For Patch Name"), 10);
 
     Store patchStore = new Store();
@@ -345,9 +345,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should patch store quantity successfully")
   void testPatchStoreQuantitySuccess() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Long storeId = createStoreAndReturnId(uniqueName("Store For Patch Qty"), 10);
 
     Store patchStore = new Store();
@@ -366,9 +363,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should patch store with both fields")
   void testPatchStoreBothFields() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Long storeId = createStoreAndReturnId(uniqueName("Store For Patch Both"), 10);
 
     Store patchStore = new Store();
@@ -389,9 +383,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should patch store ignoring empty name")
   void testPatchStoreIgnoreEmptyName() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Long storeId = createStoreAndReturnId(uniqueName("Store For Patch Empty"), 20);
 
     Store patchStore = new Store();
@@ -442,9 +433,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should ignore negative quantity in patch")
   void testPatchStoreNegativeQuantity() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Long storeId = createStoreAndReturnId(uniqueName("Store For Negative Patch"), 30);
 
     Store patchStore = new Store();
@@ -508,9 +496,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should accept application/json content type in create")
   void testCreateStoreCorrectContentType() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "Content Type Test";
 
@@ -543,9 +528,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should create store with single character name")
   void testCreateStoreMinimalName() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "A";
 
@@ -562,9 +544,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should create store with very long name")
   void testCreateStoreLongName() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "A".repeat(255); // Very long name
 
@@ -580,9 +559,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should create store with zero stock")
   void testCreateStoreZeroStock() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "Zero Stock Store";
     newStore.quantityProductsInStock = 0;
@@ -600,9 +576,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should create store with large stock number")
   void testCreateStoreLargeStock() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "Large Stock Store";
     newStore.quantityProductsInStock = Integer.MAX_VALUE;
@@ -622,9 +595,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should handle create then retrieve")
   void testCreateThenRetrieve() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "Create Then Retrieve Test";
 
@@ -654,10 +624,6 @@ public class StoreResourceCoverageTest {
   @Test
   @DisplayName("Should handle create, update, then retrieve")
   void testCreateUpdateThenRetrieve() {
-    // Must mock legacy gateway
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-    doNothing().when(legacyStoreManagerGateway).updateStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = "Original Name";
 
@@ -696,13 +662,12 @@ public class StoreResourceCoverageTest {
   }
 
   @Test
-  @DisplayName("Should map WebApplicationException in store error mapper")
+  @DisplayName("Should map WebApplicationException in error mapper")
   void testStoreErrorMapperWebApplicationException() throws Exception {
-    StoreResource.ErrorMapper errorMapper = new StoreResource.ErrorMapper();
-    setField(errorMapper, "objectMapper", new ObjectMapper());
+    ErrorResponseMapper errorMapper = new ErrorResponseMapper();
 
     Response response = errorMapper.toResponse(new WebApplicationException("store validation failed", 409));
-    ObjectNode body = (ObjectNode) response.getEntity();
+    JsonNode body = new ObjectMapper().readTree((byte[]) response.getEntity());
 
     assertEquals(409, response.getStatus());
     assertEquals(409, body.get("code").asInt());
@@ -710,13 +675,12 @@ public class StoreResourceCoverageTest {
   }
 
   @Test
-  @DisplayName("Should map generic exception to 500 in store error mapper")
+  @DisplayName("Should map generic exception to 500 in error mapper")
   void testStoreErrorMapperRuntimeException() throws Exception {
-    StoreResource.ErrorMapper errorMapper = new StoreResource.ErrorMapper();
-    setField(errorMapper, "objectMapper", new ObjectMapper());
+    ErrorResponseMapper errorMapper = new ErrorResponseMapper();
 
     Response response = errorMapper.toResponse(new IllegalArgumentException("boom"));
-    ObjectNode body = (ObjectNode) response.getEntity();
+    JsonNode body = new ObjectMapper().readTree((byte[]) response.getEntity());
 
     assertEquals(500, response.getStatus());
     assertEquals(500, body.get("code").asInt());
@@ -724,13 +688,12 @@ public class StoreResourceCoverageTest {
   }
 
   @Test
-  @DisplayName("Should omit error field when exception message is null in store mapper")
+  @DisplayName("Should omit error field when exception message is null")
   void testStoreErrorMapperNullMessage() throws Exception {
-    StoreResource.ErrorMapper errorMapper = new StoreResource.ErrorMapper();
-    setField(errorMapper, "objectMapper", new ObjectMapper());
+    ErrorResponseMapper errorMapper = new ErrorResponseMapper();
 
     Response response = errorMapper.toResponse(new RuntimeException((String) null));
-    ObjectNode body = (ObjectNode) response.getEntity();
+    JsonNode body = new ObjectMapper().readTree((byte[]) response.getEntity());
 
     assertEquals(500, response.getStatus());
     assertEquals(500, body.get("code").asInt());
@@ -738,8 +701,6 @@ public class StoreResourceCoverageTest {
   }
 
   private Long createStoreAndReturnId(String name, int quantity) {
-    doNothing().when(legacyStoreManagerGateway).createStoreOnLegacySystem(org.mockito.ArgumentMatchers.any(Store.class));
-
     Store newStore = new Store();
     newStore.name = name;
     newStore.quantityProductsInStock = quantity;
@@ -757,15 +718,14 @@ public class StoreResourceCoverageTest {
     return storeIdValue.longValue();
   }
 
+  private long outboxEvents(StoreOutboxEvent.Type type, String storeName) {
+    return QuarkusTransaction.requiringNew()
+        .call(() -> StoreOutboxEvent.count("type = ?1 and storeName = ?2", type, storeName));
+  }
+
   private String uniqueName(String base) {
     String suffix = String.valueOf(System.nanoTime());
     String candidate = base + "-" + suffix;
     return candidate.length() > 40 ? candidate.substring(0, 40) : candidate;
   }
-
-  private void setField(Object target, String fieldName, Object value) throws Exception {
-    Field field = target.getClass().getDeclaredField(fieldName);
-    field.setAccessible(true);
-    field.set(target, value);
-  }
 }
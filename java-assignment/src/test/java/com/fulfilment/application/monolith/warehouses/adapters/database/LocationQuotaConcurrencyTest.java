@@ -0,0 +1,175 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.errors.DomainException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/** Concurrent creates through the real repository: location limits hold under contention. */
+@QuarkusTest
+class LocationQuotaConcurrencyTest {
+
+  private static final int WRITERS = 64;
+
+  @Inject CreateWarehouseUseCase createWarehouseUseCase;
+
+  @Inject ArchiveWarehouseUseCase archiveWarehouseUseCase;
+
+  @Inject WarehouseRepository repository;
+
+  @InjectMock LocationResolver locationResolver;
+
+  @Test
+  void concurrent_creates_never_exceed_location_limit() throws Exception {
+    String location = givenLocation(5);
+
+    Map<Integer, Long> statuses = createConcurrently(i -> location);
+
+    assertEquals(5L, statuses.get(201));
+    assertEquals(WRITERS - 5L, statuses.get(409));
+    assertEquals(5L, activeAt(location));
+  }
+
+  @Test
+  void concurrent_creates_never_exceed_location_capacity() throws Exception {
+    // Room for every warehouse, but only for the capacity of 5 of them
+    String location = givenLocation(WRITERS, 500);
+
+    Map<Integer, Long> statuses = createConcurrently(i -> location);
+
+    assertEquals(5L, statuses.get(201));
+    assertEquals(WRITERS - 5L, statuses.get(409));
+    assertEquals(500L, capacityAt(location));
+    assertEquals(
+        500L,
+        QuarkusTransaction.requiringNew()
+            .call(() -> repository.findLocationOccupancy(location))
+            .totalCapacity);
+  }
+
+  @Test
+  void concurrent_creates_at_different_locations_all_fit() throws Exception {
+    List<String> locations = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      locations.add(givenLocation(WRITERS / 8));
+    }
+
+    Map<Integer, Long> statuses = createConcurrently(i -> locations.get(i % locations.size()));
+
+    assertEquals(Map.of(201, (long) WRITERS), statuses);
+    for (String location : locations) {
+      assertEquals(WRITERS / 8L, activeAt(location));
+    }
+  }
+
+  @Test
+  void archived_warehouse_frees_its_slot() {
+    String location = givenLocation(1);
+
+    QuarkusTransaction.requiringNew()
+        .run(() -> createWarehouseUseCase.create(warehouse(location + "-A", location)));
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                archiveWarehouseUseCase.archive(
+                    repository.findByBusinessUnitCode(location + "-A")));
+    QuarkusTransaction.requiringNew()
+        .run(() -> createWarehouseUseCase.create(warehouse(location + "-B", location)));
+
+    assertEquals(1L, activeAt(location));
+  }
+
+  private String givenLocation(int maxNumberOfWarehouses) {
+    return givenLocation(maxNumberOfWarehouses, 1_000_000);
+  }
+
+  private String givenLocation(int maxNumberOfWarehouses, int maxCapacity) {
+    String location = "STRESS-" + UUID.randomUUID();
+    when(locationResolver.resolveByIdentifier(location))
+        .thenReturn(new Location(location, maxNumberOfWarehouses, maxCapacity));
+    // Known locations get their quota row at startup
+    repository.seedLocationQuotas(List.of(location));
+    return location;
+  }
+
+  private Map<Integer, Long> createConcurrently(Function<Integer, String> locationOf)
+      throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < WRITERS; i++) {
+        String location = locationOf.apply(i);
+        Warehouse warehouse = warehouse(location + "-" + i, location);
+        results.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  return create(warehouse);
+                }));
+      }
+      start.countDown();
+
+      List<Integer> statuses = new ArrayList<>();
+      for (Future<Integer> result : results) {
+        statuses.add(result.get(60, TimeUnit.SECONDS));
+      }
+      return statuses.stream().collect(Collectors.groupingBy(s -> s, Collectors.counting()));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private int create(Warehouse warehouse) {
+    try {
+      QuarkusTransaction.requiringNew().run(() -> createWarehouseUseCase.create(warehouse));
+      return 201;
+    } catch (RuntimeException e) {
+      for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+        if (cause instanceof DomainException domainException) {
+          return domainException.status();
+        }
+      }
+      throw e;
+    }
+  }
+
+  private long activeAt(String location) {
+    return QuarkusTransaction.requiringNew().call(() -> repository.countActiveByLocation(location));
+  }
+
+  private long capacityAt(String location) {
+    return QuarkusTransaction.requiringNew()
+        .call(() -> repository.sumActiveCapacityByLocation(location));
+  }
+
+  private static Warehouse warehouse(String businessUnitCode, String location) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = location;
+    warehouse.capacity = 100;
+    warehouse.stock = 10;
+    return warehouse;
+  }
+}
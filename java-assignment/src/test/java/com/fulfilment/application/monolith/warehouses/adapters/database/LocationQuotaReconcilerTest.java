@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class LocationQuotaReconcilerTest {
+
+  @Inject LocationQuotaReconciler reconciler;
+
+  @Inject WarehouseRepository repository;
+
+  @Test
+  void repairs_quota_of_warehouses_written_around_the_use_cases() {
+    String location = "RECON-" + UUID.randomUUID();
+    repository.seedLocationQuotas(List.of(location));
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              repository.create(warehouse(location + "-1", location, 100));
+              repository.create(warehouse(location + "-2", location, 150));
+            });
+
+    assertTrue(reconciler.reconcile() >= 1);
+
+    LocationOccupancy occupancy = occupancyOf(location);
+    assertEquals(2, occupancy.activeWarehouses);
+    assertEquals(250, occupancy.totalCapacity);
+  }
+
+  @Test
+  void seeds_missing_quota_and_leaves_matching_ones_alone() {
+    String location = "RECON-" + UUID.randomUUID();
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.create(warehouse(location + "-1", location, 80)));
+
+    reconciler.reconcile();
+    DbLocationQuota quota =
+        QuarkusTransaction.requiringNew()
+            .call(() -> repository.getEntityManager().find(DbLocationQuota.class, location));
+    assertNotNull(quota);
+    LocationOccupancy seeded = occupancyOf(location);
+    assertEquals(1, seeded.activeWarehouses);
+    assertEquals(80, seeded.totalCapacity);
+
+    assertEquals(0, reconciler.reconcile());
+  }
+
+  private LocationOccupancy occupancyOf(String location) {
+    return QuarkusTransaction.requiringNew()
+        .call(() -> repository.findLocationOccupancy(location));
+  }
+
+  private static Warehouse warehouse(String businessUnitCode, String location, int capacity) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = 0;
+    return warehouse;
+  }
+}
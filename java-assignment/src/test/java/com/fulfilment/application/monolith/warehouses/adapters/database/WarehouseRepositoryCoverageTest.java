@@ -3,12 +3,28 @@ package com.fulfilment.application.monolith.warehouses.adapters.database;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -17,12 +33,37 @@ class WarehouseRepositoryCoverageTest {
 
   @Inject WarehouseRepository repository;
 
+  @Inject AgroalDataSource dataSource;
+
   @BeforeEach
   @Transactional
   void clean() {
     repository.deleteAll();
   }
 
+  @Test
+  void checks_see_warehouses_written_by_another_instance() throws Exception {
+    // Asked once first, so a cached answer would still be around for the second round
+    assertNull(inTransaction(() -> repository.findByBusinessUnitCode("BU-ELSEWHERE")));
+    assertEquals(0L, inTransaction(() -> repository.countActiveByLocation("LOC-ELSEWHERE")));
+    assertEquals(
+        0L, inTransaction(() -> repository.sumActiveCapacityByLocation("LOC-ELSEWHERE")));
+
+    // Written past Hibernate, as another instance's write is, so no cached result is invalidated
+    execute(
+        "insert into warehouse (id, businessUnitCode, activeBusinessUnitCode, location,"
+            + " capacity, stock, createdAt, version) values (9000001, 'BU-ELSEWHERE',"
+            + " 'BU-ELSEWHERE', 'LOC-ELSEWHERE', 250, 10, current_timestamp, 0)");
+    try {
+      assertNotNull(inTransaction(() -> repository.findByBusinessUnitCode("BU-ELSEWHERE")));
+      assertEquals(1L, inTransaction(() -> repository.countActiveByLocation("LOC-ELSEWHERE")));
+      assertEquals(
+          250L, inTransaction(() -> repository.sumActiveCapacityByLocation("LOC-ELSEWHERE")));
+    } finally {
+      execute("delete from warehouse where id = 9000001");
+    }
+  }
+
   @Test
   @Transactional
   void create_and_find_active_warehouse() {
@@ -96,6 +137,259 @@ class WarehouseRepositoryCoverageTest {
     repository.remove(warehouse("NO-EXIST", "LOC-1", 100, 10));
   }
 
+  @Test
+  @Transactional
+  void count_and_sum_by_location_only_include_active() {
+    repository.create(warehouse("BU-5", "LOC-A", 200, 100));
+    repository.create(warehouse("BU-6", "LOC-A", 300, 120));
+    repository.create(warehouse("BU-7", "LOC-B", 400, 10));
+
+    Warehouse toArchive = repository.findByBusinessUnitCode("BU-6");
+    repository.remove(toArchive);
+
+    assertEquals(1, repository.countActiveByLocation("LOC-A"));
+    assertEquals(200, repository.sumActiveCapacityByLocation("LOC-A"));
+    assertEquals(1, repository.countActiveByLocation("LOC-B"));
+    assertEquals(0, repository.countActiveByLocation("LOC-EMPTY"));
+    assertEquals(0, repository.sumActiveCapacityByLocation("LOC-EMPTY"));
+  }
+
+  @Test
+  @Transactional
+  void archived_code_can_be_reused_by_a_new_active_warehouse() {
+    repository.create(warehouse("BU-8", "LOC-OLD", 200, 100));
+
+    Warehouse old = repository.findByBusinessUnitCode("BU-8");
+    old.archivedAt = java.time.LocalDateTime.now();
+    repository.update(old);
+    repository.create(warehouse("BU-8", "LOC-NEW", 300, 100));
+
+    Warehouse found = repository.findByBusinessUnitCode("BU-8");
+    assertEquals("LOC-NEW", found.location);
+  }
+
+  @Test
+  void create_rejects_second_active_warehouse_with_same_code() {
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.create(warehouse("BU-9", "LOC-1", 200, 100)));
+
+    // The violation marks its transaction rollback-only, so the second insert gets one of its own
+    DomainException ex =
+        assertThrows(
+            DomainException.class,
+            () ->
+                QuarkusTransaction.requiringNew()
+                    .run(() -> repository.create(warehouse("BU-9", "LOC-2", 100, 10))));
+
+    assertEquals(409, ex.status());
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              assertEquals(1, repository.getAll().size());
+              assertEquals("LOC-1", repository.findByBusinessUnitCode("BU-9").location);
+            });
+  }
+
+  @Test
+  void cached_lookups_are_invalidated_by_archive_and_replace() {
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.create(warehouse("BU-10", "LOC-C1", 200, 100)));
+
+    // Prime the query cache in its own transaction
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              assertEquals("LOC-C1", repository.findByBusinessUnitCode("BU-10").location);
+              assertEquals(1, repository.countActiveByLocation("LOC-C1"));
+              assertEquals(1, repository.getAll().size());
+            });
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              Warehouse old = repository.findByBusinessUnitCode("BU-10");
+              old.archivedAt = java.time.LocalDateTime.now();
+              repository.update(old);
+              repository.create(warehouse("BU-10", "LOC-C2", 300, 100));
+            });
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              assertEquals("LOC-C2", repository.findByBusinessUnitCode("BU-10").location);
+              assertEquals(0, repository.countActiveByLocation("LOC-C1"));
+              assertEquals(1, repository.countActiveByLocation("LOC-C2"));
+              assertEquals(1, repository.getAll().size());
+            });
+
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.remove(repository.findByBusinessUnitCode("BU-10")));
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              assertNull(repository.findByBusinessUnitCode("BU-10"));
+              assertEquals(0, repository.getAll().size());
+            });
+  }
+
+  @Test
+  @Transactional
+  void replace_active_archives_old_and_inserts_new() {
+    repository.create(warehouse("BU-11", "LOC-OLD", 200, 100));
+
+    Warehouse old = repository.findByBusinessUnitCode("BU-11");
+    old.archivedAt = java.time.LocalDateTime.now();
+    repository.replaceActive(old, warehouse("BU-11", "LOC-NEW", 300, 100));
+
+    Warehouse found = repository.findByBusinessUnitCode("BU-11");
+    assertEquals("LOC-NEW", found.location);
+    assertEquals(1, repository.countActiveByLocation("LOC-NEW"));
+    assertEquals(0, repository.countActiveByLocation("LOC-OLD"));
+  }
+
+  @Test
+  @Transactional
+  void replacement_is_active_from_the_instant_the_old_warehouse_is_archived() {
+    repository.create(warehouse("BU-15", "LOC-OLD", 200, 100));
+
+    Warehouse old = repository.findByBusinessUnitCode("BU-15");
+    old.archivedAt = LocalDateTime.now().withNano(0).plusSeconds(1);
+    Warehouse replacement = warehouse("BU-15", "LOC-NEW", 300, 100);
+    replacement.createdAt = old.archivedAt;
+    repository.replaceActive(old, replacement);
+
+    assertEquals(old.archivedAt, repository.findByBusinessUnitCode("BU-15").createdAt);
+    assertEquals("LOC-NEW", repository.findActiveAt("BU-15", old.archivedAt).location);
+    assertEquals(
+        "LOC-OLD", repository.findActiveAt("BU-15", old.archivedAt.minusNanos(1000)).location);
+  }
+
+  @Test
+  void replace_active_with_stale_version_conflicts() {
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.create(warehouse("BU-12", "LOC-1", 200, 100)));
+    Warehouse stale =
+        QuarkusTransaction.requiringNew().call(() -> repository.findByBusinessUnitCode("BU-12"));
+    stale.archivedAt = java.time.LocalDateTime.now();
+
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.replaceActive(stale, warehouse("BU-12", "LOC-2", 200, 100)));
+
+    DomainException ex =
+        assertThrows(
+            DomainException.class,
+            () ->
+                QuarkusTransaction.requiringNew()
+                    .run(
+                        () ->
+                            repository.replaceActive(
+                                stale, warehouse("BU-12", "LOC-3", 200, 100))));
+
+    assertEquals(409, ex.status());
+    QuarkusTransaction.requiringNew()
+        .run(() -> assertEquals("LOC-2", repository.findByBusinessUnitCode("BU-12").location));
+  }
+
+  @Test
+  void concurrent_replacements_of_the_same_warehouse_leave_one_active_row() throws Exception {
+    QuarkusTransaction.requiringNew()
+        .run(() -> repository.create(warehouse("BU-13", "LOC-1", 200, 100)));
+
+    CountDownLatch bothRead = new CountDownLatch(2);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (String location : List.of("LOC-A", "LOC-B")) {
+        results.add(
+            pool.submit(
+                () -> {
+                  try {
+                    QuarkusTransaction.requiringNew()
+                        .run(
+                            () -> {
+                              Warehouse old = repository.findByBusinessUnitCode("BU-13");
+                              bothRead.countDown();
+                              await(bothRead);
+                              old.archivedAt = java.time.LocalDateTime.now();
+                              repository.replaceActive(
+                                  old, warehouse("BU-13", location, 200, 100));
+                            });
+                    return 201;
+                  } catch (DomainException e) {
+                    return e.status();
+                  }
+                }));
+      }
+
+      List<Integer> statuses = new ArrayList<>();
+      for (Future<Integer> result : results) {
+        statuses.add(result.get(30, TimeUnit.SECONDS));
+      }
+      statuses.sort(null);
+      assertEquals(List.of(201, 409), statuses);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                assertEquals(
+                    1,
+                    repository.count(
+                        "businessUnitCode = ?1 and archivedAt is null", "BU-13")));
+  }
+
+  @Test
+  void history_pages_newest_first_and_answers_as_of_lookups() {
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              for (int i = 0; i < 5; i++) {
+                var row = new DbWarehouse();
+                row.businessUnitCode = "BU-14";
+                row.location = "LOC-" + i;
+                row.capacity = 100;
+                row.stock = 10;
+                row.createdAt = start.plusDays(i);
+                row.archivedAt = i < 4 ? start.plusDays(i + 1) : null;
+                repository.persist(row);
+              }
+            });
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              List<Warehouse> first = repository.findHistoryPage("BU-14", null, 2);
+              assertEquals(List.of("LOC-4", "LOC-3"), first.stream().map(w -> w.location).toList());
+
+              List<Warehouse> second = repository.findHistoryPage("BU-14", first.get(1).id, 2);
+              assertEquals(
+                  List.of("LOC-2", "LOC-1"), second.stream().map(w -> w.location).toList());
+
+              List<Warehouse> last = repository.findHistoryPage("BU-14", second.get(1).id, 2);
+              assertEquals(List.of("LOC-0"), last.stream().map(w -> w.location).toList());
+
+              LocalDateTime midDayTwo = start.plusDays(2).plusHours(6);
+              assertEquals("LOC-2", repository.findActiveAt("BU-14", midDayTwo).location);
+              assertEquals("LOC-1", repository.findActiveAt("BU-14", start.plusDays(1)).location);
+              assertEquals("LOC-4", repository.findActiveAt("BU-14", start.plusYears(1)).location);
+              assertNull(repository.findActiveAt("BU-14", start.minusDays(1)));
+              assertTrue(repository.findHistoryPage("OTHER", first.get(1).id, 2).isEmpty());
+            });
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
   private Warehouse warehouse(String bu, String location, int capacity, int stock) {
     Warehouse warehouse = new Warehouse();
     warehouse.businessUnitCode = bu;
@@ -104,4 +398,15 @@ class WarehouseRepositoryCoverageTest {
     warehouse.stock = stock;
     return warehouse;
   }
+
+  private void execute(String sql) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate(sql);
+    }
+  }
+
+  private static <T> T inTransaction(Callable<T> work) {
+    return QuarkusTransaction.requiringNew().call(work);
+  }
 }
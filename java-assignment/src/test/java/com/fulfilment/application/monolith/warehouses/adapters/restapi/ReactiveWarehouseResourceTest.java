@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReactiveWarehouseResourceTest {
+
+  private ReactiveWarehouseResource resource;
+  private ReactiveWarehouseStore warehouseStore;
+
+  @BeforeEach
+  void setUp() {
+    warehouseStore = mock(ReactiveWarehouseStore.class);
+    resource = new ReactiveWarehouseResource();
+    resource.warehouseStore = warehouseStore;
+  }
+
+  @Test
+  void list_returns_page_mapped_to_api_beans() {
+    when(warehouseStore.findActivePage(10L, 2))
+        .thenReturn(
+            Uni.createFrom().item(List.of(warehouse(11L, "BU-11"), warehouse(12L, "BU-12"))));
+
+    List<com.warehouse.api.beans.Warehouse> page =
+        resource.listWarehouses("10", 2).await().indefinitely();
+
+    assertEquals(2, page.size());
+    assertEquals("11", page.get(0).getId());
+    assertEquals("BU-12", page.get(1).getBusinessUnitCode());
+  }
+
+  @Test
+  void list_defaults_to_first_page_of_default_size() {
+    when(warehouseStore.findActivePage(null, WarehouseResourceImpl.DEFAULT_PAGE_SIZE))
+        .thenReturn(Uni.createFrom().item(List.of()));
+
+    assertEquals(0, resource.listWarehouses(null, null).await().indefinitely().size());
+    verify(warehouseStore).findActivePage(null, WarehouseResourceImpl.DEFAULT_PAGE_SIZE);
+  }
+
+  @Test
+  void list_rejects_invalid_cursor_and_limit_before_querying() {
+    WebApplicationException badCursor =
+        assertThrows(WebApplicationException.class, () -> resource.listWarehouses("abc", 10));
+    WebApplicationException badLimit =
+        assertThrows(
+            WebApplicationException.class,
+            () -> resource.listWarehouses(null, WarehouseResourceImpl.MAX_PAGE_SIZE + 1));
+
+    assertEquals(400, badCursor.getResponse().getStatus());
+    assertEquals(400, badLimit.getResponse().getStatus());
+    verifyNoInteractions(warehouseStore);
+  }
+
+  @Test
+  void get_returns_active_warehouse() {
+    when(warehouseStore.findActiveById(5L))
+        .thenReturn(Uni.createFrom().item(warehouse(5L, "BU-5")));
+
+    var result = resource.getWarehouse("5").await().indefinitely();
+
+    assertEquals("5", result.getId());
+    assertEquals("BU-5", result.getBusinessUnitCode());
+  }
+
+  @Test
+  void get_fails_with_404_when_no_active_warehouse() {
+    when(warehouseStore.findActiveById(5L)).thenReturn(Uni.createFrom().nullItem());
+
+    WebApplicationException e =
+        assertThrows(
+            WebApplicationException.class,
+            () -> resource.getWarehouse("5").await().indefinitely());
+
+    assertEquals(404, e.getResponse().getStatus());
+  }
+
+  @Test
+  void get_rejects_non_numeric_id() {
+    WebApplicationException e =
+        assertThrows(WebApplicationException.class, () -> resource.getWarehouse("BU-5"));
+
+    assertEquals(400, e.getResponse().getStatus());
+    verifyNoInteractions(warehouseStore);
+  }
+
+  private static Warehouse warehouse(Long id, String buCode) {
+    var warehouse = new Warehouse();
+    warehouse.id = id;
+    warehouse.businessUnitCode = buCode;
+    warehouse.location = "AMSTERDAM-001";
+    warehouse.capacity = 50;
+    warehouse.stock = 10;
+    return warehouse;
+  }
+}
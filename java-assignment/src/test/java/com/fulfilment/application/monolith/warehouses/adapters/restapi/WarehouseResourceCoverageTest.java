@@ -29,6 +29,42 @@ public class WarehouseResourceCoverageTest {
             .statusCode(lessThan(500));
     }
 
+    @Test
+    @DisplayName("Should list one page of warehouses with a cursor")
+    public void testListWarehousesPage() {
+        given()
+            .queryParam("after", "0")
+            .queryParam("limit", 2)
+            .when()
+            .get(BASE_URL)
+            .then()
+            .statusCode(200)
+            .body("size()", lessThanOrEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid page size")
+    public void testListWarehousesInvalidLimit() {
+        given()
+            .queryParam("limit", 0)
+            .when()
+            .get(BASE_URL)
+            .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should stream active warehouses as NDJSON")
+    public void testStreamWarehouses() {
+        given()
+            .accept("application/x-ndjson")
+            .when()
+            .get(BASE_URL + "/stream")
+            .then()
+            .statusCode(200)
+            .contentType(startsWith("application/x-ndjson"));
+    }
+
     @Test
     @DisplayName("Should create warehouse with valid data")
     public void testCreateWarehouseValid() {
@@ -186,4 +222,40 @@ public class WarehouseResourceCoverageTest {
                 .statusCode(lessThan(500));
         }
     }
+
+    @Test
+    @DisplayName("Should report one result per warehouse of a bulk create")
+    public void testBulkCreateWarehouses() {
+        String code = "WH-BULK-" + System.currentTimeMillis();
+        String body = "[{\"businessUnitCode\": \"" + code + "\", \"location\": \"AMSTERDAM-001\", \"capacity\": 10, \"stock\": 5},"
+            + " {\"businessUnitCode\": \"" + code + "-X\", \"location\": \"NOWHERE-001\", \"capacity\": 10, \"stock\": 5}]";
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(body)
+            .when()
+            .post(BASE_URL + "/bulk")
+            .then()
+            .statusCode(200)
+            .body("results.size()", is(2))
+            .body("results[1].index", is(1))
+            .body("results[1].status", is(400))
+            .body("rejected", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Should report unknown business unit codes of a bulk replacement as not found")
+    public void testBulkReplaceUnknownWarehouse() {
+        String body = "[{\"businessUnitCode\": \"WH-UNKNOWN-BULK\", \"location\": \"AMSTERDAM-001\", \"capacity\": 10, \"stock\": 5}]";
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(body)
+            .when()
+            .post(BASE_URL + "/bulk/replacements")
+            .then()
+            .statusCode(200)
+            .body("succeeded", is(0))
+            .body("results[0].status", is(404));
+    }
 }
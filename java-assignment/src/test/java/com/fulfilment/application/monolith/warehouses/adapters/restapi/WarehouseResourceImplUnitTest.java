@@ -1,6 +1,7 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doNothing;
@@ -9,14 +10,18 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.conditional.ResourceVersions;
+import com.fulfilment.application.monolith.logging.BusinessEventLogger;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import com.warehouse.api.beans.WarehouseHistoryEntry;
 import jakarta.ws.rs.WebApplicationException;
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +46,8 @@ class WarehouseResourceImplTest {
     setField(resource, "createWarehouseUseCase", createWarehouseUseCase);
     setField(resource, "archiveWarehouseUseCase", archiveWarehouseUseCase);
     setField(resource, "replaceWarehouseUseCase", replaceWarehouseUseCase);
+    setField(resource, "events", new BusinessEventLogger(1));
+    setField(resource, "resourceVersions", mock(ResourceVersions.class));
   }
 
   @Test
@@ -48,7 +55,7 @@ class WarehouseResourceImplTest {
     Warehouse warehouse = domainWarehouse("BU-1", "LOC-1", 100, 10);
     when(warehouseRepository.getAll()).thenReturn(List.of(warehouse));
 
-    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits(null, null);
 
     assertEquals(1, result.size());
     assertEquals("BU-1", result.get(0).getBusinessUnitCode());
@@ -62,7 +69,7 @@ class WarehouseResourceImplTest {
     Warehouse wh3 = domainWarehouse(3L, "BU-3", "LOC-3", 300, 30);
     when(warehouseRepository.getAll()).thenReturn(List.of(wh1, wh2, wh3));
 
-    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits(null, null);
 
     assertEquals(3, result.size());
     assertEquals("1", result.get(0).getId());
@@ -77,17 +84,136 @@ class WarehouseResourceImplTest {
     archived.archivedAt = java.time.LocalDateTime.now();
     when(warehouseRepository.getAll()).thenReturn(List.of(active, archived));
 
-    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits(null, null);
 
     assertEquals(1, result.size());
     assertEquals("BU-1", result.get(0).getBusinessUnitCode());
   }
 
+  @Test
+  void list_warehouses_page_uses_cursor_and_limit() {
+    Warehouse wh3 = domainWarehouse(3L, "BU-3", "LOC-3", 300, 30);
+    Warehouse wh4 = domainWarehouse(4L, "BU-4", "LOC-4", 400, 40);
+    when(warehouseRepository.findActivePage(2L, 2)).thenReturn(List.of(wh3, wh4));
+
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits("2", 2);
+
+    assertEquals(2, result.size());
+    assertEquals("3", result.get(0).getId());
+    assertEquals("4", result.get(1).getId());
+  }
+
+  @Test
+  void list_warehouses_first_page_uses_default_limit() {
+    when(warehouseRepository.findActivePage(null, WarehouseResourceImpl.DEFAULT_PAGE_SIZE))
+        .thenReturn(List.of(domainWarehouse(1L, "BU-1", "LOC-1", 100, 10)));
+
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits("", null);
+
+    assertEquals(1, result.size());
+  }
+
+  @Test
+  void list_warehouses_invalid_cursor_maps_to_400() {
+    WebApplicationException ex =
+        assertThrows(
+            WebApplicationException.class, () -> resource.listAllWarehousesUnits("abc", 10));
+
+    assertEquals(400, ex.getResponse().getStatus());
+  }
+
+  @Test
+  void list_warehouses_limit_out_of_range_maps_to_400() {
+    WebApplicationException tooSmall =
+        assertThrows(
+            WebApplicationException.class, () -> resource.listAllWarehousesUnits(null, 0));
+    WebApplicationException tooLarge =
+        assertThrows(
+            WebApplicationException.class,
+            () ->
+                resource.listAllWarehousesUnits(
+                    null, WarehouseResourceImpl.MAX_PAGE_SIZE + 1));
+
+    assertEquals(400, tooSmall.getResponse().getStatus());
+    assertEquals(400, tooLarge.getResponse().getStatus());
+  }
+
+  @Test
+  void history_returns_page_newest_first() {
+    Warehouse current = domainWarehouse(7L, "BU-1", "LOC-2", 200, 10);
+    current.createdAt = LocalDateTime.of(2024, 6, 1, 9, 30);
+    Warehouse archived = domainWarehouse(3L, "BU-1", "LOC-1", 100, 10);
+    archived.createdAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+    archived.archivedAt = current.createdAt;
+    when(warehouseRepository.findHistoryPage("BU-1", null, WarehouseResourceImpl.DEFAULT_PAGE_SIZE))
+        .thenReturn(List.of(current, archived));
+
+    List<WarehouseHistoryEntry> result = resource.getWarehouseHistory("BU-1", null, null, null);
+
+    assertEquals(2, result.size());
+    assertEquals("7", result.get(0).getId());
+    assertNull(result.get(0).getArchivedAt());
+    assertEquals("2024-01-01T08:00", result.get(1).getCreatedAt());
+    assertEquals("2024-06-01T09:30", result.get(1).getArchivedAt());
+  }
+
+  @Test
+  void history_page_uses_cursor_and_limit() {
+    when(warehouseRepository.findHistoryPage("BU-1", 7L, 1))
+        .thenReturn(List.of(domainWarehouse(3L, "BU-1", "LOC-1", 100, 10)));
+
+    List<WarehouseHistoryEntry> result = resource.getWarehouseHistory("BU-1", null, "7", 1);
+
+    assertEquals(1, result.size());
+    assertEquals("3", result.get(0).getId());
+  }
+
+  @Test
+  void history_as_of_returns_the_warehouse_active_then() {
+    LocalDateTime instant = LocalDateTime.of(2024, 3, 1, 12, 0);
+    when(warehouseRepository.findActiveAt("BU-1", instant))
+        .thenReturn(domainWarehouse(3L, "BU-1", "LOC-1", 100, 10));
+
+    List<WarehouseHistoryEntry> result =
+        resource.getWarehouseHistory("BU-1", "2024-03-01T12:00:00", null, null);
+
+    assertEquals(1, result.size());
+    assertEquals("3", result.get(0).getId());
+  }
+
+  @Test
+  void history_as_of_before_first_warehouse_is_empty() {
+    List<WarehouseHistoryEntry> result =
+        resource.getWarehouseHistory("BU-1", "2000-01-01T00:00:00Z", null, null);
+
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void history_invalid_arguments_map_to_400() {
+    WebApplicationException badTimestamp =
+        assertThrows(
+            WebApplicationException.class,
+            () -> resource.getWarehouseHistory("BU-1", "yesterday", null, null));
+    WebApplicationException badCursor =
+        assertThrows(
+            WebApplicationException.class,
+            () -> resource.getWarehouseHistory("BU-1", null, "abc", null));
+    WebApplicationException badLimit =
+        assertThrows(
+            WebApplicationException.class,
+            () -> resource.getWarehouseHistory("BU-1", null, null, 0));
+
+    assertEquals(400, badTimestamp.getResponse().getStatus());
+    assertEquals(400, badCursor.getResponse().getStatus());
+    assertEquals(400, badLimit.getResponse().getStatus());
+  }
+
   @Test
   void list_all_warehouses_empty() {
     when(warehouseRepository.getAll()).thenReturn(List.of());
 
-    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits(null, null);
 
     assertEquals(0, result.size());
   }
@@ -97,7 +223,7 @@ class WarehouseResourceImplTest {
     when(warehouseRepository.getAll()).thenThrow(new RuntimeException("boom"));
 
     WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> resource.listAllWarehousesUnits());
+        assertThrows(WebApplicationException.class, () -> resource.listAllWarehousesUnits(null, null));
 
     assertEquals(500, ex.getResponse().getStatus());
   }
@@ -6,12 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -38,10 +38,10 @@ public class ArchiveWarehouseUseCaseQuarkusCoverageTest {
     Warehouse request = warehouse("MISSING", "LOC-1", 100, 10);
     when(warehouseStore.findByBusinessUnitCode("MISSING")).thenReturn(null);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.archive(request));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.archive(request));
 
-    assertEquals(404, ex.getResponse().getStatus());
+    assertEquals(404, ex.status());
   }
 
   private Warehouse warehouse(String bu, String location, int capacity, int stock) {
@@ -1,8 +1,8 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
-import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,6 +43,7 @@ public class ArchiveWarehouseUseCaseTest {
     // Then
     assertNotNull(activeWarehouse.archivedAt);
     verify(warehouseStore).update(activeWarehouse);
+    verify(warehouseStore).releaseLocationCapacity("ZWOLLE-001", 200);
   }
 
   @Test
@@ -190,7 +191,7 @@ public class ArchiveWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("INVALID-WH")).thenReturn(null);
 
     // When & Then
-    Exception exception = assertThrows(WebApplicationException.class, () -> {
+    Exception exception = assertThrows(DomainException.class, () -> {
       useCase.archive(warehouse);
     });
     assertTrue(exception.getMessage().contains("not found"));
@@ -206,10 +207,10 @@ public class ArchiveWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("NOT-EXIST")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.archive(warehouse);
     });
-    assertEquals(404, exception.getResponse().getStatus());
+    assertEquals(404, exception.status());
   }
 
   @Test
@@ -222,7 +223,7 @@ public class ArchiveWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("ERROR-CODE-123")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.archive(warehouse);
     });
     assertTrue(exception.getMessage().contains("ERROR-CODE-123"));
@@ -3,19 +3,22 @@ package com.fulfilment.application.monolith.warehouses.domain.usecases;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.WebApplicationException;
-import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -27,6 +30,11 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
 
   @InjectMock LocationResolver locationResolver;
 
+  @BeforeEach
+  void allowLocationCapacity() {
+    when(warehouseStore.reserveLocationCapacity(any(), anyInt(), anyInt())).thenReturn(true);
+  }
+
   @Test
   void create_success() {
     Warehouse warehouse = warehouse("WH-1", "LOC-1", 200, 100);
@@ -34,7 +42,6 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("LOC-1")).thenReturn(location);
-    when(warehouseStore.getAll()).thenReturn(List.of());
 
     useCase.create(warehouse);
 
@@ -49,10 +56,10 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(warehouse("WH-1", "LOC-1", 100, 20));
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.create(warehouse));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.create(warehouse));
 
-    assertEquals(409, ex.getResponse().getStatus());
+    assertEquals(409, ex.status());
     verify(warehouseStore, never()).create(warehouse);
   }
 
@@ -63,10 +70,10 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("BAD-LOC")).thenReturn(null);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.create(warehouse));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.create(warehouse));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -77,10 +84,10 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("LOC-1")).thenReturn(location);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.create(warehouse));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.create(warehouse));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -91,10 +98,10 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("LOC-1")).thenReturn(location);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.create(warehouse));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.create(warehouse));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -107,12 +114,13 @@ public class CreateWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-3")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("LOC-1")).thenReturn(location);
-    when(warehouseStore.getAll()).thenReturn(List.of(existing1, existing2));
+    when(warehouseStore.reserveLocationCapacity(location, 1, 200)).thenReturn(false);
+    when(warehouseStore.findLocationOccupancy("LOC-1")).thenReturn(new LocationOccupancy(2, 300));
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.create(warehouse));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.create(warehouse));
 
-    assertEquals(409, ex.getResponse().getStatus());
+    assertEquals(409, ex.status());
   }
 
   private Warehouse warehouse(String bu, String location, int capacity, int stock) {
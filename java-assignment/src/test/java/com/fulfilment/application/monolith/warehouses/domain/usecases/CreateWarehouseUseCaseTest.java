@@ -1,10 +1,12 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseResult;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
-import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,8 +14,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @DisplayName("CreateWarehouseUseCase Tests")
 public class CreateWarehouseUseCaseTest {
@@ -27,6 +30,7 @@ public class CreateWarehouseUseCaseTest {
     warehouseStore = mock(WarehouseStore.class);
     locationResolver = mock(LocationResolver.class);
     useCase = new CreateWarehouseUseCase(warehouseStore, locationResolver);
+    when(warehouseStore.reserveLocationCapacity(any(), anyInt(), anyInt())).thenReturn(true);
   }
 
   // ============== SUCCESSFUL CREATION TESTS ==============
@@ -44,7 +48,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(null);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.create(warehouse);
@@ -68,7 +71,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
     when(warehouseStore.findByBusinessUnitCode("WH-002")).thenReturn(null);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.create(warehouse);
@@ -91,7 +93,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
     when(warehouseStore.findByBusinessUnitCode("WH-003")).thenReturn(null);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.create(warehouse);
@@ -113,7 +114,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
     when(warehouseStore.findByBusinessUnitCode("WH-004")).thenReturn(null);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.create(warehouse);
@@ -139,7 +139,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
     when(warehouseStore.findByBusinessUnitCode("WH-005")).thenReturn(null);
-    when(warehouseStore.getAll()).thenReturn(List.of(existingWarehouse));
 
     // When
     useCase.create(newWarehouse);
@@ -164,10 +163,10 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("INVALID-LOC")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("Location"));
     assertTrue(exception.getMessage().contains("not valid"));
   }
@@ -184,7 +183,7 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("UNKNOWN-LOC")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
     assertTrue(exception.getMessage().contains("UNKNOWN-LOC"));
@@ -209,10 +208,10 @@ public class CreateWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(existingWarehouse);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("already exists"));
   }
 
@@ -229,7 +228,7 @@ public class CreateWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("DUPLICATE-WH")).thenReturn(existing);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
     assertTrue(exception.getMessage().contains("DUPLICATE-WH"));
@@ -252,10 +251,10 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("capacity"));
     assertTrue(exception.getMessage().contains("exceeds"));
   }
@@ -275,7 +274,7 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
     assertTrue(exception.getMessage().contains("150"));
@@ -299,10 +298,10 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("stock"));
   }
 
@@ -321,7 +320,7 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(warehouse);
     });
     assertTrue(exception.getMessage().contains("250"));
@@ -348,16 +347,43 @@ public class CreateWarehouseUseCaseTest {
     
     when(warehouseStore.findByBusinessUnitCode("WH-002")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
-    when(warehouseStore.getAll()).thenReturn(List.of(existingWarehouse));
+    when(warehouseStore.reserveLocationCapacity(validLocation, 1, 200)).thenReturn(false);
+    when(warehouseStore.findLocationOccupancy("ZWOLLE-001")).thenReturn(new LocationOccupancy(1, 100));
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.create(newWarehouse);
     });
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("Maximum number"));
   }
 
+  @Test
+  @DisplayName("Should reject when location capacity would be exceeded (409)")
+  void testCreateWarehouseLocationCapacityExceeded() {
+    // Given
+    Location validLocation = new Location("ZWOLLE-001", 3, 500);
+
+    Warehouse newWarehouse = new Warehouse();
+    newWarehouse.businessUnitCode = "WH-002";
+    newWarehouse.stock = 100;
+    newWarehouse.capacity = 200;
+    newWarehouse.location = "ZWOLLE-001";
+
+    when(warehouseStore.findByBusinessUnitCode("WH-002")).thenReturn(null);
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
+    when(warehouseStore.reserveLocationCapacity(validLocation, 1, 200)).thenReturn(false);
+    when(warehouseStore.findLocationOccupancy("ZWOLLE-001")).thenReturn(new LocationOccupancy(2, 400));
+
+    // When & Then
+    DomainException exception = assertThrows(DomainException.class, () -> {
+      useCase.create(newWarehouse);
+    });
+    assertEquals(409, exception.status());
+    assertTrue(exception.getMessage().contains("400 of its maximum capacity 500"));
+    verify(warehouseStore, never()).create(any());
+  }
+
   @Test
   @DisplayName("Should allow creating warehouse when below location limit")
   void testCreateWarehouseBelowMaximumAtLocation() {
@@ -380,12 +406,12 @@ public class CreateWarehouseUseCaseTest {
     
     when(warehouseStore.findByBusinessUnitCode("WH-003")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
-    when(warehouseStore.getAll()).thenReturn(List.of(existing1, existing2));
 
     // When
     useCase.create(newWarehouse);
 
     // Then
+    verify(warehouseStore).reserveLocationCapacity(validLocation, 1, 200);
     verify(warehouseStore).create(newWarehouse);
   }
 
@@ -402,7 +428,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     LocalDateTime beforeCreate = LocalDateTime.now();
 
@@ -431,7 +456,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(validLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.create(warehouse);
@@ -459,7 +483,6 @@ public class CreateWarehouseUseCaseTest {
     
     when(warehouseStore.findByBusinessUnitCode("WH-002")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("LOCATION-002")).thenReturn(location2);
-    when(warehouseStore.getAll()).thenReturn(List.of(warehouseAtLocation1));
 
     // When
     useCase.create(newWarehouse);
@@ -467,4 +490,90 @@ public class CreateWarehouseUseCaseTest {
     // Then
     verify(warehouseStore).create(newWarehouse);
   }
+
+  // ============== BULK CREATION TESTS ==============
+
+  @Test
+  @DisplayName("Should validate a batch with one result per warehouse, in input order")
+  void testValidateAllResultPerWarehouse() {
+    // Given
+    Location location = new Location("ZWOLLE-001", 3, 500);
+    Warehouse existing = warehouse("WH-EXISTING", 100, 50);
+    Warehouse first = warehouse("WH-001", 100, 50);
+    Warehouse second = warehouse("WH-002", 100, 50);
+    Warehouse tooMuchStock = warehouse("WH-003", 100, 150);
+    Warehouse oneTooMany = warehouse("WH-004", 100, 50);
+
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(location);
+    when(warehouseStore.findActiveByBusinessUnitCodes(any()))
+        .thenReturn(Map.of("WH-EXISTING", existing));
+    when(warehouseStore.findLocationOccupancies(List.of("ZWOLLE-001")))
+        .thenReturn(Map.of("ZWOLLE-001", new LocationOccupancy(1, 100)));
+
+    // When
+    List<WarehouseResult> results =
+        useCase.validateAll(
+            Arrays.asList(existing, first, null, second, tooMuchStock, oneTooMany));
+
+    // Then
+    assertEquals(
+        List.of(409, 201, 400, 201, 400, 409), results.stream().map(r -> r.status).toList());
+    assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(r -> r.index).toList());
+    assertSame(first, results.get(1).warehouse);
+    assertNull(results.get(5).warehouse);
+    assertTrue(results.get(5).message.contains("Maximum number of warehouses (3)"));
+    verify(warehouseStore, never()).create(any());
+  }
+
+  @Test
+  @DisplayName("Should count warehouses accepted earlier in a batch against location capacity")
+  void testValidateAllCountsAcceptedCapacity() {
+    // Given
+    Location location = new Location("ZWOLLE-001", 5, 300);
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(location);
+    when(warehouseStore.findActiveByBusinessUnitCodes(any())).thenReturn(Map.of());
+    when(warehouseStore.findLocationOccupancies(any()))
+        .thenReturn(Map.of("ZWOLLE-001", new LocationOccupancy(0, 0)));
+
+    // When
+    List<WarehouseResult> results =
+        useCase.validateAll(
+            List.of(
+                warehouse("WH-001", 200, 0),
+                warehouse("WH-001", 50, 0),
+                warehouse("WH-002", 200, 0),
+                warehouse("WH-003", 100, 0)));
+
+    // Then
+    assertEquals(List.of(201, 409, 409, 201), results.stream().map(r -> r.status).toList());
+    assertEquals("Business Unit Code 'WH-001' already exists.", results.get(1).message);
+  }
+
+  @Test
+  @DisplayName("Should create accepted warehouses, claiming their locations")
+  void testCreateAccepted() {
+    // Given
+    Location location = new Location("ZWOLLE-001", 2, 500);
+    Warehouse first = warehouse("WH-001", 100, 50);
+    Warehouse second = warehouse("WH-002", 100, 50);
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(location);
+
+    // When
+    useCase.createAccepted(List.of(first, second));
+
+    // Then
+    verify(warehouseStore, times(2)).reserveLocationCapacity(location, 1, 100);
+    verify(warehouseStore).create(first);
+    verify(warehouseStore).create(second);
+    assertNotNull(second.createdAt);
+  }
+
+  private static Warehouse warehouse(String businessUnitCode, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = "ZWOLLE-001";
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
 }
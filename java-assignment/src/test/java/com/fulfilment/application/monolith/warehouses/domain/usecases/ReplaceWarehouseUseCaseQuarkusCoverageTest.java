@@ -4,19 +4,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.WebApplicationException;
-import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -28,6 +31,11 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
 
   @InjectMock LocationResolver locationResolver;
 
+  @BeforeEach
+  void allowLocationCapacity() {
+    when(warehouseStore.reserveLocationCapacity(any(), anyInt(), anyInt())).thenReturn(true);
+  }
+
   @Test
   void replace_success() {
     Warehouse oldWarehouse = warehouse("WH-1", "OLD", 200, 100);
@@ -36,15 +44,13 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("NEW")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(List.of(oldWarehouse));
 
     useCase.replace(replacement);
 
     assertNotNull(oldWarehouse.archivedAt);
     assertNotNull(replacement.createdAt);
     assertEquals(null, replacement.archivedAt);
-    verify(warehouseStore).update(oldWarehouse);
-    verify(warehouseStore).create(replacement);
+    verify(warehouseStore).replaceActive(oldWarehouse, replacement);
   }
 
   @Test
@@ -52,11 +58,11 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
     Warehouse replacement = warehouse("MISSING", "NEW", 250, 100);
     when(warehouseStore.findByBusinessUnitCode("MISSING")).thenReturn(null);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.replace(replacement));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.replace(replacement));
 
-    assertEquals(404, ex.getResponse().getStatus());
-    verify(warehouseStore, never()).create(replacement);
+    assertEquals(404, ex.status());
+    verify(warehouseStore, never()).replaceActive(any(), any());
   }
 
   @Test
@@ -66,10 +72,10 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(oldWarehouse);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.replace(replacement));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.replace(replacement));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -79,10 +85,10 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(oldWarehouse);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.replace(replacement));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.replace(replacement));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -93,10 +99,10 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("NEW")).thenReturn(null);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.replace(replacement));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.replace(replacement));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -108,10 +114,10 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("NEW")).thenReturn(newLocation);
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.replace(replacement));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.replace(replacement));
 
-    assertEquals(400, ex.getResponse().getStatus());
+    assertEquals(400, ex.status());
   }
 
   @Test
@@ -125,12 +131,13 @@ public class ReplaceWarehouseUseCaseQuarkusCoverageTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-1")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("NEW")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(List.of(existing1, existing2));
+    when(warehouseStore.reserveLocationCapacity(newLocation, 1, 250)).thenReturn(false);
+    when(warehouseStore.findLocationOccupancy("NEW")).thenReturn(new LocationOccupancy(2, 330));
 
-    WebApplicationException ex =
-        assertThrows(WebApplicationException.class, () -> useCase.replace(replacement));
+    DomainException ex =
+        assertThrows(DomainException.class, () -> useCase.replace(replacement));
 
-    assertEquals(409, ex.getResponse().getStatus());
+    assertEquals(409, ex.status());
     assertTrue(ex.getMessage().contains("Maximum number of warehouses"));
   }
 
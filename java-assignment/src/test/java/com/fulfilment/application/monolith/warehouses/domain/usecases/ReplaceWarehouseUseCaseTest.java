@@ -1,10 +1,12 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.errors.DomainException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseResult;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
-import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,8 +14,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @DisplayName("ReplaceWarehouseUseCase Tests")
 public class ReplaceWarehouseUseCaseTest {
@@ -27,6 +29,7 @@ public class ReplaceWarehouseUseCaseTest {
     warehouseStore = mock(WarehouseStore.class);
     locationResolver = mock(LocationResolver.class);
     useCase = new ReplaceWarehouseUseCase(warehouseStore, locationResolver);
+    when(warehouseStore.reserveLocationCapacity(any(), anyInt(), anyInt())).thenReturn(true);
   }
 
   // ============== SUCCESSFUL REPLACEMENT TESTS ==============
@@ -52,15 +55,13 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
     assertNotNull(oldWarehouse.archivedAt);
-    verify(warehouseStore).update(oldWarehouse);
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   @Test
@@ -84,15 +85,15 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(location);
-    when(warehouseStore.getAll()).thenReturn(List.of(oldWarehouse));
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
     assertNotNull(oldWarehouse.archivedAt);
-    verify(warehouseStore).update(oldWarehouse);
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
+    verify(warehouseStore).reserveLocationCapacity(location, 0, 50);
+    verify(warehouseStore, never()).releaseLocationCapacity(anyString(), anyInt());
   }
 
   @Test
@@ -115,13 +116,12 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   @Test
@@ -143,13 +143,12 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-002")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   @Test
@@ -173,7 +172,6 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     LocalDateTime beforeReplace = LocalDateTime.now();
 
@@ -208,7 +206,6 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
@@ -232,10 +229,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
-    assertEquals(404, exception.getResponse().getStatus());
+    assertEquals(404, exception.status());
     assertTrue(exception.getMessage().contains("not found"));
   }
 
@@ -249,7 +246,7 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("INVALID-CODE")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
     assertTrue(exception.getMessage().contains("INVALID-CODE"));
@@ -275,10 +272,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("stock"));
   }
 
@@ -298,7 +295,7 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
     assertTrue(exception.getMessage().contains("100"));
@@ -325,13 +322,12 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   // ============== CAPACITY CONSTRAINT TESTS ==============
@@ -357,10 +353,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("accommodate"));
   }
 
@@ -381,7 +377,7 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
     assertTrue(exception.getMessage().contains("50"));
@@ -407,13 +403,12 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   // ============== LOCATION VALIDATION TESTS ==============
@@ -437,10 +432,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("INVALID-LOC")).thenReturn(null);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("Location"));
   }
 
@@ -465,10 +460,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
-    assertEquals(400, exception.getResponse().getStatus());
+    assertEquals(400, exception.status());
     assertTrue(exception.getMessage().contains("exceeds"));
   }
 
@@ -502,16 +497,50 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(List.of(oldWarehouse, otherWarehouse1, otherWarehouse2));
+    when(warehouseStore.reserveLocationCapacity(newLocation, 1, 200)).thenReturn(false);
+    when(warehouseStore.findLocationOccupancy("AMSTERDAM-001")).thenReturn(new LocationOccupancy(2, 400));
 
     // When & Then
-    WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       useCase.replace(newWarehouse);
     });
-    assertEquals(409, exception.getResponse().getStatus());
+    assertEquals(409, exception.status());
     assertTrue(exception.getMessage().contains("Maximum number"));
   }
 
+  @Test
+  @DisplayName("Should reject growing a warehouse in place past the location capacity (409)")
+  void testReplaceWarehouseInPlaceExceedsLocationCapacity() {
+    // Given
+    Warehouse oldWarehouse = new Warehouse();
+    oldWarehouse.businessUnitCode = "WH-001";
+    oldWarehouse.stock = 100;
+    oldWarehouse.capacity = 200;
+    oldWarehouse.location = "AMSTERDAM-001";
+
+    Location location = new Location("AMSTERDAM-001", 2, 500);
+
+    Warehouse newWarehouse = new Warehouse();
+    newWarehouse.businessUnitCode = "WH-001";
+    newWarehouse.stock = 100;
+    newWarehouse.capacity = 300;
+    newWarehouse.location = "AMSTERDAM-001";
+
+    when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
+    when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(location);
+    when(warehouseStore.reserveLocationCapacity(location, 0, 100)).thenReturn(false);
+    when(warehouseStore.findLocationOccupancy("AMSTERDAM-001")).thenReturn(new LocationOccupancy(2, 450));
+
+    // When & Then
+    DomainException exception = assertThrows(DomainException.class, () -> {
+      useCase.replace(newWarehouse);
+    });
+    assertEquals(409, exception.status());
+    assertTrue(exception.getMessage().contains("cannot take a further 100"));
+    assertNull(oldWarehouse.archivedAt);
+    verify(warehouseStore, never()).replaceActive(any(), any());
+  }
+
   @Test
   @DisplayName("Should allow replace when location has space for replacement")
   void testReplaceWarehouseLocationHasSpace() {
@@ -536,13 +565,14 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(List.of(oldWarehouse, otherWarehouse));
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).reserveLocationCapacity(newLocation, 1, 200);
+    verify(warehouseStore).releaseLocationCapacity("ZWOLLE-001", 200);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   // ============== VERIFICATION TESTS ==============
@@ -568,15 +598,13 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then - Verify both operations
     assertNotNull(oldWarehouse.archivedAt);
-    verify(warehouseStore).update(oldWarehouse);
-    verify(warehouseStore).create(newWarehouse);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
   }
 
   @Test
@@ -599,14 +627,98 @@ public class ReplaceWarehouseUseCaseTest {
 
     when(warehouseStore.findByBusinessUnitCode("WH-001")).thenReturn(oldWarehouse);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(newLocation);
-    when(warehouseStore.getAll()).thenReturn(new ArrayList<>());
 
     // When
     useCase.replace(newWarehouse);
 
     // Then
-    verify(warehouseStore, times(1)).update(oldWarehouse);
-    verify(warehouseStore, times(1)).create(newWarehouse);
+    verify(warehouseStore, times(1)).replaceActive(oldWarehouse, newWarehouse);
+    verify(warehouseStore, never()).update(any());
+    verify(warehouseStore, never()).replaceActive(any(), any());
   }
-}
 
+  // ============== BULK REPLACEMENT TESTS ==============
+
+  @Test
+  @DisplayName("Should validate a batch of replacements with one result each, in input order")
+  void testValidateAllResultPerReplacement() {
+    // Given
+    Location amsterdam = new Location("AMSTERDAM-001", 5, 500);
+    Location zwolle = new Location("ZWOLLE-001", 1, 100);
+    Warehouse old1 = warehouse("WH-001", "AMSTERDAM-001", 100, 50);
+    Warehouse old2 = warehouse("WH-002", "AMSTERDAM-001", 100, 50);
+
+    when(locationResolver.resolveByIdentifier("AMSTERDAM-001")).thenReturn(amsterdam);
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(zwolle);
+    when(warehouseStore.findActiveByBusinessUnitCodes(any()))
+        .thenReturn(Map.of("WH-001", old1, "WH-002", old2));
+    when(warehouseStore.findLocationOccupancies(any()))
+        .thenReturn(
+            Map.of(
+                "AMSTERDAM-001", new LocationOccupancy(2, 200),
+                "ZWOLLE-001", new LocationOccupancy(0, 0)));
+
+    Warehouse moveToZwolle = warehouse("WH-001", "ZWOLLE-001", 80, 50);
+    Warehouse replacedTwice = warehouse("WH-001", "AMSTERDAM-001", 100, 50);
+    Warehouse unknown = warehouse("WH-404", "AMSTERDAM-001", 100, 50);
+    Warehouse stockMismatch = warehouse("WH-002", "AMSTERDAM-001", 100, 60);
+    Warehouse zwolleFull = warehouse("WH-002", "ZWOLLE-001", 50, 50);
+    Warehouse inPlace = warehouse("WH-002", "AMSTERDAM-001", 400, 50);
+
+    // When
+    List<WarehouseResult> results =
+        useCase.validateAll(
+            List.of(moveToZwolle, replacedTwice, unknown, stockMismatch, zwolleFull, inPlace));
+
+    // Then
+    assertEquals(
+        List.of(200, 409, 404, 400, 409, 200), results.stream().map(r -> r.status).toList());
+    assertSame(moveToZwolle, results.get(0).warehouse);
+    assertTrue(results.get(4).message.contains("Maximum number of warehouses (1)"));
+    verify(warehouseStore, never()).replaceActive(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should replace accepted warehouses after reading them again")
+  void testReplaceAccepted() {
+    // Given
+    Location location = new Location("ZWOLLE-001", 2, 500);
+    Warehouse oldWarehouse = warehouse("WH-001", "ZWOLLE-001", 100, 50);
+    Warehouse newWarehouse = warehouse("WH-001", "ZWOLLE-001", 150, 50);
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001")).thenReturn(location);
+    when(warehouseStore.findActiveByBusinessUnitCodes(List.of("WH-001")))
+        .thenReturn(Map.of("WH-001", oldWarehouse));
+
+    // When
+    useCase.replaceAccepted(List.of(newWarehouse));
+
+    // Then
+    verify(warehouseStore).reserveLocationCapacity(location, 0, 50);
+    verify(warehouseStore).replaceActive(oldWarehouse, newWarehouse);
+    assertNotNull(oldWarehouse.archivedAt);
+  }
+
+  @Test
+  @DisplayName("Should fail accepted replacements whose warehouse was archived since validation")
+  void testReplaceAcceptedArchivedMeanwhile() {
+    // Given
+    Warehouse newWarehouse = warehouse("WH-001", "ZWOLLE-001", 150, 50);
+    when(warehouseStore.findActiveByBusinessUnitCodes(any())).thenReturn(Map.of());
+
+    // When / Then
+    DomainException e =
+        assertThrows(DomainException.class, () -> useCase.replaceAccepted(List.of(newWarehouse)));
+    assertEquals(404, e.status());
+    verify(warehouseStore, never()).replaceActive(any(), any());
+  }
+
+  private static Warehouse warehouse(
+      String businessUnitCode, String location, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+}